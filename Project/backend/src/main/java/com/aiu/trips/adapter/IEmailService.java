@@ -1,9 +1,23 @@
 package com.aiu.trips.adapter;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * IEmailService interface as per Notification.pu diagram
  * Target interface for email adapter
  */
 public interface IEmailService {
     void sendEmail(String to, String subject, String body);
+
+    /**
+     * Send several emails over one connection to the provider
+     * @return The emails that were rejected, with the reason; empty when all were accepted
+     */
+    Map<OutgoingEmail, Exception> sendBatch(List<OutgoingEmail> emails);
+
+    /**
+     * Name of the provider the emails go to, used to apply its send limits
+     */
+    String getProviderKey();
 }
@@ -0,0 +1,23 @@
+package com.aiu.trips.adapter;
+
+/**
+ * One plain-text email handed to an IEmailService
+ */
+public class OutgoingEmail {
+
+    private final String to;
+    private final String subject;
+    private final String body;
+
+    public OutgoingEmail(String to, String subject, String body) {
+        this.to = to;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    public String getTo() { return to; }
+
+    public String getSubject() { return subject; }
+
+    public String getBody() { return body; }
+}
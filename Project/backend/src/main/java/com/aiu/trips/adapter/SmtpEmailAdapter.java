@@ -1,32 +1,89 @@
 package com.aiu.trips.adapter;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * SmtpEmailAdapter as per Notification.pu diagram
  * Adapter Pattern - Adapts external email service to our interface
- * 
- * Note: In production, this would use JavaMailSender from Spring Boot
- * For now, we'll use a simplified implementation
+ *
+ * Sends through JavaMailSender when spring.mail.host is configured; a batch goes
+ * over a single SMTP connection. Without a mail server the emails are only logged.
  */
 @Service
 public class SmtpEmailAdapter implements IEmailService {
 
+    private static final Logger logger = LoggerFactory.getLogger(SmtpEmailAdapter.class);
+
+    @Autowired(required = false)
+    private JavaMailSender mailSender;
+
+    @Value("${mail.from:noreply@aiu.edu}")
+    private String from;
+
+    @Value("${spring.mail.host:log}")
+    private String providerKey;
+
     @Override
     public void sendEmail(String to, String subject, String body) {
-        // In production, use JavaMailSender:
-        // MimeMessage message = mailSender.createMimeMessage();
-        // message.setFrom("noreply@aiu.edu");
-        // message.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
-        // message.setSubject(subject);
-        // message.setText(body);
-        // mailSender.send(message);
-        
-        // Simplified implementation for development
-        System.out.println("=== EMAIL ===");
-        System.out.println("To: " + to);
-        System.out.println("Subject: " + subject);
-        System.out.println("Body: " + body);
-        System.out.println("=============");
+        Map<OutgoingEmail, Exception> failures = sendBatch(List.of(new OutgoingEmail(to, subject, body)));
+        if (!failures.isEmpty()) {
+            throw new MailSendException("Email to " + to + " was rejected", failures.values().iterator().next());
+        }
+    }
+
+    @Override
+    public Map<OutgoingEmail, Exception> sendBatch(List<OutgoingEmail> emails) {
+        Map<OutgoingEmail, Exception> failures = new IdentityHashMap<>();
+        if (emails.isEmpty()) {
+            return failures;
+        }
+        if (mailSender == null) {
+            emails.forEach(email -> logger.info("EMAIL to {} - {}: {}", email.getTo(), email.getSubject(),
+                    email.getBody()));
+            return failures;
+        }
+
+        Map<SimpleMailMessage, OutgoingEmail> messages = new IdentityHashMap<>();
+        for (OutgoingEmail email : emails) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(from);
+            message.setTo(email.getTo());
+            message.setSubject(email.getSubject());
+            message.setText(email.getBody());
+            messages.put(message, email);
+        }
+
+        try {
+            // One connection for the whole batch
+            mailSender.send(messages.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            // Rejected messages are listed; a failure to connect lists none and fails them all
+            if (e.getFailedMessages().isEmpty()) {
+                throw e;
+            }
+            e.getFailedMessages().forEach((message, cause) -> {
+                OutgoingEmail email = messages.get(message);
+                if (email != null) {
+                    failures.put(email, cause);
+                }
+            });
+        }
+        return failures;
+    }
+
+    @Override
+    public String getProviderKey() {
+        return providerKey;
     }
 }
@@ -1,21 +1,30 @@
 package com.aiu.trips.bridge;
 
-import com.aiu.trips.adapter.IEmailService;
+import com.aiu.trips.service.EmailOutboxService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
  * EmailChannel as per Notification.pu diagram
  * Bridge Pattern - Email channel implementation
+ *
+ * Emails go through the outbox and are delivered by its dispatcher after commit
  */
 @Component
 public class EmailChannel implements NotificationChannel {
 
+    private static final String SUBJECT = "AIU Notification";
+
     @Autowired
-    private IEmailService emailService;
+    private EmailOutboxService emailOutboxService;
 
     @Override
     public void send(String recipient, String content) {
-        emailService.sendEmail(recipient, "AIU Notification", content);
+        emailOutboxService.enqueue(recipient, SUBJECT, content);
+    }
+
+    @Override
+    public void sendToAll(String content) {
+        emailOutboxService.enqueueForAllUsers(SUBJECT, content);
     }
 }
@@ -1,6 +1,6 @@
 package com.aiu.trips.bridge;
 
-import com.aiu.trips.factory.IModelFactory;
+import com.aiu.trips.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -12,12 +12,16 @@ import org.springframework.stereotype.Component;
 public class InAppChannel implements NotificationChannel {
 
     @Autowired
-    private IModelFactory modelFactory;
+    private NotificationService notificationService;
 
     @Override
     public void send(String recipient, String content) {
-        // Store notification in database via model factory
-        // For now, just log it
-        System.out.println("IN-APP notification to " + recipient + ": " + content);
+        // Stored like any other notification, which also pushes it to the recipient's open streams
+        notificationService.notifyUser(recipient, content, "INFO");
+    }
+
+    @Override
+    public void sendToAll(String content) {
+        notificationService.notifyAllUsers(content, "INFO");
     }
 }
@@ -6,4 +6,6 @@ package com.aiu.trips.bridge;
  */
 public interface NotificationChannel {
     void send(String recipient, String content);
+
+    void sendToAll(String content);
 }
@@ -17,5 +17,9 @@ public abstract class NotificationMessage {
         channel.send(recipient, content);
     }
 
+    public void sendToAll() {
+        channel.sendToAll(formatContent());
+    }
+
     protected abstract String formatContent();
 }
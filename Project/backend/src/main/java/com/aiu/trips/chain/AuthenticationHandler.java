@@ -1,6 +1,7 @@
 package com.aiu.trips.chain;
 
 import com.aiu.trips.security.JwtUtil;
+import com.aiu.trips.security.RoutePermissionTable;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -15,22 +16,23 @@ public class AuthenticationHandler extends RequestHandler {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private RoutePermissionTable routePermissionTable;
+
     @Override
     public void handle(HttpServletRequest request) throws Exception {
-        String authHeader = request.getHeader("Authorization");
+        String token = jwtUtil.resolveToken(request);
 
         // Skip authentication for public endpoints (e.g., public event listings)
-        String requestURI = request.getRequestURI();
-        if (isPublicEndpoint(requestURI, request.getMethod())) {
+        if (routePermissionTable.lookup(request).isPublic()) {
             handleNext(request);
             return;
         }
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (token == null) {
             throw new SecurityException("Missing or invalid authentication token");
         }
 
-        String token = authHeader.substring(7);
         try {
             String email = jwtUtil.extractEmail(token);
             if (!jwtUtil.validateToken(token, email)) {
@@ -42,16 +44,4 @@ public class AuthenticationHandler extends RequestHandler {
 
         handleNext(request);
     }
-
-    private boolean isPublicEndpoint(String uri, String method) {
-        // Allow unauthenticated GET access to public event listings
-        boolean isPublicEventGet = "GET".equalsIgnoreCase(method) && uri.startsWith("/api/events");
-
-        return isPublicEventGet ||
-                uri.contains("/api/auth/login") ||
-                uri.contains("/api/auth/register") ||
-                uri.contains("/h2-console") ||
-                uri.contains("/swagger") ||
-                uri.contains("/actuator");
-    }
 }
@@ -1,62 +1,111 @@
 package com.aiu.trips.chain;
 
+import com.aiu.trips.enums.UserRole;
+import com.aiu.trips.exception.RateLimitExceededException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.UrlPathHelper;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * RateLimitHandler as per Controller.pu diagram
- * Chain of Responsibility Pattern - Rate limiting for requests
+ * Chain of Responsibility Pattern - Rate limiting for requests.
+ * Sensitive routes have their own limits; everything else is limited by the
+ * caller's role. Authenticated users are keyed by account, anonymous ones by IP.
+ * The IP is the remote address only: X-Forwarded-For is set by the client, so it is
+ * trusted solely through server.forward-headers-strategy, which applies it for known proxies.
  */
 @Component
 public class RateLimitHandler extends RequestHandler {
 
-    private static final int MAX_REQUESTS_PER_MINUTE = 60;
-    private static final long WINDOW_SIZE_MS = 60000; // 1 minute
+    private static final String ANONYMOUS = "ANONYMOUS";
+    private static final int ANONYMOUS_REQUESTS_PER_MINUTE = 60;
 
-    private final Map<String, RateLimitInfo> clientRequests = new ConcurrentHashMap<>();
+    // Keyed on the enum, so a limit cannot be set for a role that does not exist
+    private static final Map<UserRole, Integer> ROLE_REQUESTS_PER_MINUTE = Map.of(
+            UserRole.STUDENT, 120,
+            UserRole.ADMIN, 600);
+
+    // First matching rule wins; a null method matches every method
+    private static final List<RouteLimit> ROUTE_LIMITS = List.of(
+            new RouteLimit("/api/auth/login", null, 10),
+            new RouteLimit("/api/auth/register", null, 5),
+            new RouteLimit("/api/admin/reports/jobs", "POST", 10),
+            new RouteLimit("/api/admin/reports/export", null, 10));
+
+    private static final int MAX_TRACKED_CLIENTS = 100_000;
+    private static final long IDLE_EVICT_MS = 120_000;
+
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(MAX_TRACKED_CLIENTS, IDLE_EVICT_MS);
 
     @Override
     public void handle(HttpServletRequest request) throws Exception {
-        String clientId = getClientId(request);
-        RateLimitInfo info = clientRequests.computeIfAbsent(clientId, k -> new RateLimitInfo());
-
-        long currentTime = System.currentTimeMillis();
-        
-        // Reset if window has passed
-        if (currentTime - info.windowStart > WINDOW_SIZE_MS) {
-            info.reset(currentTime);
+        // Decoded and normalized, so an encoded segment cannot slip past a route limit
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        RouteLimit route = findRouteLimit(path, request.getMethod());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+
+        String client = authenticated ? "user:" + authentication.getName() : "ip:" + request.getRemoteAddr();
+        String key;
+        int requestsPerMinute;
+        if (route != null) {
+            key = route.prefix + "|" + client;
+            requestsPerMinute = route.requestsPerMinute;
+        } else {
+            String role = authenticated ? getRole(authentication) : ANONYMOUS;
+            key = role + "|" + client;
+            requestsPerMinute = roleRequestsPerMinute(role);
         }
 
-        // Check rate limit
-        if (info.requestCount >= MAX_REQUESTS_PER_MINUTE) {
-            throw new RuntimeException("Rate limit exceeded. Please try again later.");
+        // A full minute's allowance may be used at once
+        if (!limiter.tryAcquire(key, requestsPerMinute, requestsPerMinute)) {
+            throw new RateLimitExceededException("Rate limit exceeded. Please try again later.");
         }
 
-        info.requestCount++;
         handleNext(request);
     }
 
-    private String getClientId(HttpServletRequest request) {
-        // Use IP address as client identifier
-        String clientIp = request.getRemoteAddr();
-        // In production, you might want to use X-Forwarded-For header for proxied requests
-        String forwardedFor = request.getHeader("X-Forwarded-For");
-        return forwardedFor != null ? forwardedFor : clientIp;
+    private RouteLimit findRouteLimit(String path, String method) {
+        for (RouteLimit route : ROUTE_LIMITS) {
+            if (path.startsWith(route.prefix) && (route.method == null || route.method.equalsIgnoreCase(method))) {
+                return route;
+            }
+        }
+        return null;
     }
 
-    private static class RateLimitInfo {
-        long windowStart;
-        int requestCount;
+    private static int roleRequestsPerMinute(String role) {
+        for (UserRole userRole : UserRole.values()) {
+            if (userRole.name().equals(role)) {
+                return ROLE_REQUESTS_PER_MINUTE.getOrDefault(userRole, ANONYMOUS_REQUESTS_PER_MINUTE);
+            }
+        }
+        return ANONYMOUS_REQUESTS_PER_MINUTE;
+    }
 
-        RateLimitInfo() {
-            reset(System.currentTimeMillis());
+    private String getRole(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            return authority.getAuthority();
         }
+        return ANONYMOUS;
+    }
+
+    private static final class RouteLimit {
+        final String prefix;
+        final String method;
+        final int requestsPerMinute;
 
-        void reset(long time) {
-            this.windowStart = time;
-            this.requestCount = 0;
+        RouteLimit(String prefix, String method, int requestsPerMinute) {
+            this.prefix = prefix;
+            this.method = method;
+            this.requestsPerMinute = requestsPerMinute;
         }
     }
 }
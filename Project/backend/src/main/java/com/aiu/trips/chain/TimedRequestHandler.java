@@ -0,0 +1,69 @@
+package com.aiu.trips.chain;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorator that times one stage of the request handler chain.
+ * Stages call the next stage from inside handle(), so each wrapper leaves its total
+ * time on the request and the wrapper before it subtracts that; a stage's timer
+ * therefore measures only its own work. A rejection propagates back through every
+ * earlier wrapper, so the wrapper of the stage that threw marks the request and the
+ * earlier stages are still recorded as passed.
+ */
+public class TimedRequestHandler extends RequestHandler {
+
+    private static final String DOWNSTREAM_NANOS_ATTRIBUTE = TimedRequestHandler.class.getName() + ".downstreamNanos";
+    private static final String REJECTED_DOWNSTREAM_ATTRIBUTE = TimedRequestHandler.class.getName() + ".rejectedDownstream";
+
+    private final RequestHandler stage;
+    private final Timer passedTimer;
+    private final Timer rejectedTimer;
+
+    public TimedRequestHandler(RequestHandler stage, MeterRegistry meterRegistry) {
+        this.stage = stage;
+        String stageName = stage.getClass().getSimpleName();
+        this.passedTimer = timer(meterRegistry, stageName, "passed");
+        this.rejectedTimer = timer(meterRegistry, stageName, "rejected");
+    }
+
+    @Override
+    public RequestHandler setNext(RequestHandler handler) {
+        this.next = handler;
+        stage.setNext(handler);
+        return handler;
+    }
+
+    @Override
+    public void handle(HttpServletRequest request) throws Exception {
+        request.removeAttribute(DOWNSTREAM_NANOS_ATTRIBUTE);
+        request.removeAttribute(REJECTED_DOWNSTREAM_ATTRIBUTE);
+        long start = System.nanoTime();
+        boolean rejected = false;
+        try {
+            stage.handle(request);
+        } catch (Exception | Error e) {
+            rejected = request.getAttribute(REJECTED_DOWNSTREAM_ATTRIBUTE) == null;
+            request.setAttribute(REJECTED_DOWNSTREAM_ATTRIBUTE, Boolean.TRUE);
+            throw e;
+        } finally {
+            long total = System.nanoTime() - start;
+            Object downstream = request.getAttribute(DOWNSTREAM_NANOS_ATTRIBUTE);
+            long own = downstream instanceof Long ? Math.max(0, total - (Long) downstream) : total;
+            (rejected ? rejectedTimer : passedTimer).record(own, TimeUnit.NANOSECONDS);
+            request.setAttribute(DOWNSTREAM_NANOS_ATTRIBUTE, total);
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String stageName, String outcome) {
+        return Timer.builder("trips.request.chain")
+                .description("Time spent in one request handler stage, excluding later stages")
+                .tag("stage", stageName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
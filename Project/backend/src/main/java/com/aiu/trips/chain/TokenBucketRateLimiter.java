@@ -0,0 +1,125 @@
+package com.aiu.trips.chain;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket keyed by client.
+ * Each bucket is a single AtomicLong holding its theoretical arrival time (GCRA),
+ * so an acquire is one CAS. Buckets idle long enough to be full again are evicted,
+ * and the number of tracked keys is capped: once the cap is reached, untracked
+ * clients share one overflow bucket, so memory stays bounded under an address spray.
+ */
+public class TokenBucketRateLimiter {
+
+    static final String OVERFLOW_KEY = "overflow";
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long FORCED_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxTrackedKeys;
+    private final long idleEvictNanos;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep;
+    private final AtomicLong nextForcedSweep;
+
+    public TokenBucketRateLimiter(int maxTrackedKeys, long idleEvictMillis) {
+        this(maxTrackedKeys, idleEvictMillis, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int maxTrackedKeys, long idleEvictMillis, LongSupplier nanoClock) {
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.idleEvictNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictMillis);
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        this.nextSweep = new AtomicLong(now + SWEEP_INTERVAL_NANOS);
+        this.nextForcedSweep = new AtomicLong(now);
+    }
+
+    /**
+     * Take one permit for the key
+     * @param permitsPerMinute Sustained rate
+     * @param burst Permits available at once to a client that has been idle
+     * @return false when the key is over its limit
+     */
+    public boolean tryAcquire(String key, int permitsPerMinute, int burst) {
+        long now = nanoClock.getAsLong();
+        maybeSweep(now);
+
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = track(key, now);
+        }
+
+        long interval = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+        return bucket.tryAcquire(now, interval, interval * (burst - 1));
+    }
+
+    /**
+     * Number of keys currently tracked
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    private Bucket track(String key, long now) {
+        if (buckets.size() >= maxTrackedKeys) {
+            forceSweep(now);
+            if (buckets.size() >= maxTrackedKeys) {
+                return buckets.computeIfAbsent(OVERFLOW_KEY, k -> new Bucket(now));
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(now));
+    }
+
+    private void maybeSweep(long now) {
+        long due = nextSweep.get();
+        if (now - due >= 0 && nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            evictIdle(now);
+        }
+    }
+
+    private void forceSweep(long now) {
+        // A spray can hit the cap on every request; sweep at most once a second
+        long due = nextForcedSweep.get();
+        if (now - due >= 0 && nextForcedSweep.compareAndSet(due, now + FORCED_SWEEP_INTERVAL_NANOS)) {
+            evictIdle(now);
+        }
+    }
+
+    private void evictIdle(long now) {
+        long cutoff = now - idleEvictNanos;
+        buckets.values().removeIf(bucket -> bucket.idleSince(cutoff));
+    }
+
+    private static final class Bucket {
+        // Time at which the bucket is full again; later than now while permits are in use
+        private final AtomicLong theoreticalArrival;
+
+        Bucket(long now) {
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        boolean tryAcquire(long now, long interval, long tolerance) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long base = Math.max(current, now);
+                if (base - now > tolerance) {
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(current, base + interval)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean idleSince(long cutoff) {
+            return theoreticalArrival.get() - cutoff < 0;
+        }
+    }
+}
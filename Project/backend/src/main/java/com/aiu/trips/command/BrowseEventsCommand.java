@@ -1,6 +1,8 @@
 package com.aiu.trips.command;
 
 import com.aiu.trips.dto.EventFilterDTO;
+import com.aiu.trips.enums.ActivityStatus;
+import com.aiu.trips.enums.ActivityType;
 import com.aiu.trips.service.interfaces.IBookingTicketingSystem;
 import org.springframework.http.ResponseEntity;
 import java.util.Map;
@@ -15,10 +17,33 @@ public class BrowseEventsCommand implements IControllerCommand {
     @Override
     public ResponseEntity<?> execute(Map<String, Object> requestData) {
         try {
-            EventFilterDTO filters = new EventFilterDTO();
-            return ResponseEntity.ok(bookingService.browseEvents(filters));
+            return ResponseEntity.ok(bookingService.browseEvents(toFilters(requestData)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    /**
+     * Builds browsing filters from request parameters; absent parameters leave the filter unset
+     */
+    static EventFilterDTO toFilters(Map<String, Object> requestData) {
+        EventFilterDTO filters = new EventFilterDTO();
+        Object type = requestData.get("type");
+        if (type != null) {
+            filters.setType(ActivityType.valueOf(type.toString().toUpperCase()));
+        }
+        Object status = requestData.get("status");
+        if (status != null) {
+            filters.setStatus(ActivityStatus.valueOf(status.toString().toUpperCase()));
+        }
+        filters.setLocation((String) requestData.get("location"));
+        filters.setStartDate((String) requestData.get("startDate"));
+        filters.setEndDate((String) requestData.get("endDate"));
+        filters.setCursor((String) requestData.get("cursor"));
+        Object size = requestData.get("size");
+        if (size != null) {
+            filters.setSize(Integer.valueOf(size.toString()));
+        }
+        return filters;
+    }
 }
@@ -0,0 +1,63 @@
+package com.aiu.trips.command;
+
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution count, failures and latency of one command type
+ * Counters are striped adders, so recording never contends between request threads.
+ * When a meter registry is present the same samples also feed its timers.
+ */
+public class CommandMetrics {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    // Null when metrics are not exported
+    private final Timer succeededTimer;
+    private final Timer failedTimer;
+
+    CommandMetrics() {
+        this(null, null);
+    }
+
+    CommandMetrics(Timer succeededTimer, Timer failedTimer) {
+        this.succeededTimer = succeededTimer;
+        this.failedTimer = failedTimer;
+    }
+
+    void record(long nanos, boolean failed) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (failed) {
+            failures.increment();
+        }
+        Timer timer = failed ? failedTimer : succeededTimer;
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public double getAverageMillis() {
+        long executions = count.sum();
+        return executions == 0 ? 0 : totalNanos.sum() / (double) executions / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -1,50 +1,110 @@
 package com.aiu.trips.command;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ControllerCommandInvoker as per Controller.pu diagram
- * Command Pattern - Manages a queue of commands to execute sequentially
+ * Command Pattern - Executes controller commands and records per-command latency.
+ * The invoker is a shared singleton, so it keeps no per-request state: execute() runs
+ * a command directly, and the queue used by pushToQueue/executeNext is confined to
+ * the calling thread.
  */
 @Component
 public class ControllerCommandInvoker {
 
-    private final Queue<IControllerCommand> commandQueue = new LinkedList<>();
+    private final ThreadLocal<Deque<IControllerCommand>> commandQueue = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final Map<String, CommandMetrics> metrics = new ConcurrentHashMap<>();
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Execute a command for the current request
+     */
+    public ResponseEntity<?> execute(IControllerCommand command, Map<String, Object> requestData) {
+        if (command == null) {
+            throw new IllegalArgumentException("Command cannot be null");
+        }
+        CommandMetrics commandMetrics = metrics.computeIfAbsent(
+                command.getClass().getSimpleName(), this::newMetrics);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            ResponseEntity<?> response = command.execute(requestData);
+            failed = response == null || response.getStatusCode().isError();
+            return response;
+        } finally {
+            commandMetrics.record(System.nanoTime() - start, failed);
+        }
+    }
 
     /**
-     * Push a command to the queue
+     * Push a command to the calling thread's queue
      */
     public void pushToQueue(IControllerCommand command) {
         if (command == null) {
             throw new IllegalArgumentException("Command cannot be null");
         }
-        commandQueue.offer(command);
+        commandQueue.get().offer(command);
     }
 
     /**
-     * Execute the next command in the queue
+     * Execute the next command in the calling thread's queue
      */
     public ResponseEntity<?> executeNext(Map<String, Object> requestData) {
-        IControllerCommand command = commandQueue.poll();
+        Deque<IControllerCommand> queue = commandQueue.get();
+        IControllerCommand command = queue.poll();
+        if (queue.isEmpty()) {
+            // Pooled request threads must not carry an empty queue into the next request
+            commandQueue.remove();
+        }
         if (command == null) {
             throw new IllegalStateException("No command in queue to execute");
         }
-        return command.execute(requestData);
+        return execute(command, requestData);
     }
 
     /**
-     * Check if there are more commands in the queue
+     * Check if there are more commands in the calling thread's queue
      */
     public boolean hasNext() {
-        return !commandQueue.isEmpty();
+        return !commandQueue.get().isEmpty();
     }
 
     /**
-     * Clear all commands from the queue
+     * Clear all commands from the calling thread's queue
      */
     public void clear() {
-        commandQueue.clear();
+        commandQueue.remove();
+    }
+
+    private CommandMetrics newMetrics(String commandName) {
+        if (meterRegistry == null) {
+            return new CommandMetrics();
+        }
+        return new CommandMetrics(timer(commandName, "success"), timer(commandName, "failure"));
+    }
+
+    private Timer timer(String commandName, String outcome) {
+        return Timer.builder("trips.command")
+                .description("Controller command execution time")
+                .tag("command", commandName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Latency metrics keyed by command class name
+     */
+    public Map<String, CommandMetrics> getMetrics() {
+        return Collections.unmodifiableMap(metrics);
     }
 }
@@ -1,6 +1,12 @@
 package com.aiu.trips.command;
 
+import com.aiu.trips.constants.AppConstants;
+import com.aiu.trips.service.EventCatalogCache;
 import com.aiu.trips.service.interfaces.IActivityManagement;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import java.util.Map;
 
@@ -14,9 +20,47 @@ public class GetAllActivitiesCommand implements IControllerCommand {
     @Override
     public ResponseEntity<?> execute(Map<String, Object> requestData) {
         try {
-            return ResponseEntity.ok(activityService.getAllActivities());
+            EventCatalogCache.Snapshot page = activityService.getCatalogPage(BrowseEventsCommand.toFilters(requestData));
+            return catalogResponse(page, (String) requestData.get(HttpHeaders.IF_NONE_MATCH));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    /**
+     * Serve a cached catalogue page, or 304 when the client already holds it.
+     * The body stays a plain list; the cursor for the next page travels in a header.
+     */
+    static ResponseEntity<?> catalogResponse(EventCatalogCache.Snapshot page, String ifNoneMatch) {
+        if (matches(ifNoneMatch, page.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(page.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(page.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON);
+        if (page.getNextCursor() != null) {
+            response.header(AppConstants.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBody());
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
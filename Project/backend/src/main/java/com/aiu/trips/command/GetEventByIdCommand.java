@@ -0,0 +1,27 @@
+package com.aiu.trips.command;
+
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.service.interfaces.IActivityManagement;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+
+public class GetEventByIdCommand implements IControllerCommand {
+    private final IActivityManagement activityService;
+
+    public GetEventByIdCommand(IActivityManagement activityService) {
+        this.activityService = activityService;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(Map<String, Object> requestData) {
+        try {
+            Long id = Long.valueOf(requestData.get("id").toString());
+            return ResponseEntity.ok(activityService.getActivity(id));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
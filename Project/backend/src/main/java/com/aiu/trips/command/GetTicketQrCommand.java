@@ -0,0 +1,61 @@
+package com.aiu.trips.command;
+
+import com.aiu.trips.service.QrCodeRenderingService;
+import com.aiu.trips.service.interfaces.IBookingTicketingSystem;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GetTicketQrCommand - Implements Command Pattern for fetching a booking's
+ * QR image lazily, with ETag revalidation
+ */
+public class GetTicketQrCommand implements IControllerCommand {
+
+    // The image for a booking never changes, so clients may keep it for a day
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(1, TimeUnit.DAYS).cachePrivate();
+
+    private final IBookingTicketingSystem bookingService;
+    private final QrCodeRenderingService qrCodeRenderingService;
+
+    public GetTicketQrCommand(IBookingTicketingSystem bookingService, QrCodeRenderingService qrCodeRenderingService) {
+        this.bookingService = bookingService;
+        this.qrCodeRenderingService = qrCodeRenderingService;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(Map<String, Object> data) {
+        try {
+            String bookingCode = (String) data.get("bookingCode");
+            String payload = bookingService.getTicketQrPayload(bookingCode);
+            String etag = qrCodeRenderingService.etagFor(payload);
+
+            if (matches((String) data.get("ifNoneMatch"), etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CACHE_CONTROL).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CACHE_CONTROL)
+                    .contentType(MediaType.IMAGE_PNG)
+                    .body(qrCodeRenderingService.getPng(payload));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
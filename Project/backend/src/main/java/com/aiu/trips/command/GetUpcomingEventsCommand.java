@@ -1,7 +1,10 @@
 package com.aiu.trips.command;
 
 import com.aiu.trips.command.IControllerCommand;
+import com.aiu.trips.dto.EventFilterDTO;
+import com.aiu.trips.enums.ActivityStatus;
 import com.aiu.trips.service.interfaces.IActivityManagement;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import java.util.Map;
 
@@ -20,7 +23,11 @@ public class GetUpcomingEventsCommand implements IControllerCommand {
     @Override
     public ResponseEntity<?> execute(Map<String, Object> data) {
         try {
-            return ResponseEntity.ok(activityService.getUpcomingEvents());
+            // Upcoming events are a catalogue page filtered to active events that have not started
+            EventFilterDTO filters = BrowseEventsCommand.toFilters(data);
+            filters.setStatus(ActivityStatus.UPCOMING);
+            return GetAllActivitiesCommand.catalogResponse(activityService.getCatalogPage(filters),
+                    (String) data.get(HttpHeaders.IF_NONE_MATCH));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
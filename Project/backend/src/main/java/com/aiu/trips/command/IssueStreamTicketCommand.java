@@ -0,0 +1,35 @@
+package com.aiu.trips.command;
+
+import com.aiu.trips.security.StreamTicketStore;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+
+/**
+ * IssueStreamTicketCommand - Implements Command Pattern for issuing the single-use
+ * ticket that opens the notification stream
+ */
+public class IssueStreamTicketCommand implements IControllerCommand {
+
+    private final StreamTicketStore streamTicketStore;
+
+    public IssueStreamTicketCommand(StreamTicketStore streamTicketStore) {
+        this.streamTicketStore = streamTicketStore;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(Map<String, Object> data) {
+        try {
+            String userEmail = (String) data.get("userEmail");
+            if (userEmail == null) {
+                return ResponseEntity.status(401).body("Authentication required");
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(Map.of("ticket", streamTicketStore.issue(userEmail),
+                            "expiresIn", streamTicketStore.getTtlSeconds()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
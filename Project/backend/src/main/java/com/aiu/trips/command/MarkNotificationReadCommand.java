@@ -0,0 +1,38 @@
+package com.aiu.trips.command;
+
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.service.interfaces.INotificationSystem;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+
+/**
+ * MarkNotificationReadCommand - Implements Command Pattern for marking one
+ * notification, or all of a user's notifications when no id is given, as read
+ */
+public class MarkNotificationReadCommand implements IControllerCommand {
+
+    private final INotificationSystem notificationService;
+
+    public MarkNotificationReadCommand(INotificationSystem notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(Map<String, Object> data) {
+        try {
+            String userEmail = (String) data.get("userEmail");
+            Object id = data.get("id");
+            if (id == null) {
+                notificationService.markAllAsRead(userEmail);
+            } else {
+                notificationService.markAsRead(Long.valueOf(id.toString()), userEmail);
+            }
+            return ResponseEntity.ok(Map.of("count", notificationService.getUnreadCount(userEmail)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
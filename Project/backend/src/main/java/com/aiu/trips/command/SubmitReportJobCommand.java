@@ -0,0 +1,35 @@
+package com.aiu.trips.command;
+
+import com.aiu.trips.dto.ReportDTO;
+import com.aiu.trips.enums.ExportFormat;
+import com.aiu.trips.enums.ReportType;
+import com.aiu.trips.service.ReportJobService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.util.Map;
+
+public class SubmitReportJobCommand implements IControllerCommand {
+    private final ReportJobService reportJobService;
+
+    public SubmitReportJobCommand(ReportJobService reportJobService) {
+        this.reportJobService = reportJobService;
+    }
+
+    @Override
+    public ResponseEntity<?> execute(Map<String, Object> requestData) {
+        try {
+            ReportType type = ReportType.valueOf((String) requestData.getOrDefault("reportType", "PARTICIPANTS"));
+            ExportFormat format = ExportFormat.valueOf((String) requestData.getOrDefault("format", "PDF"));
+            Object eventId = requestData.get("eventId");
+            String userEmail = (String) requestData.get("userEmail");
+
+            ReportDTO job = reportJobService.submit(type, format,
+                    eventId != null ? Long.valueOf(eventId.toString()) : null, userEmail);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
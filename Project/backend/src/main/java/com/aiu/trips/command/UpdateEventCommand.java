@@ -24,11 +24,16 @@ public class UpdateEventCommand implements IControllerCommand {
         }
     }
 
+    // Only the fields present in the request are changed; the frontend sends 'title' for the name
     private ActivityDTO mapToActivityDTO(Map<String, Object> data) {
         ActivityDTO dto = new ActivityDTO();
-        if (data.containsKey("name")) dto.setName((String) data.get("name"));
+        if (data.containsKey("title") || data.containsKey("name"))
+            dto.setName((String) data.getOrDefault("title", data.get("name")));
         if (data.containsKey("description")) dto.setDescription((String) data.get("description"));
         if (data.containsKey("location")) dto.setLocation((String) data.get("location"));
+        if (data.get("price") != null) dto.setPrice(new java.math.BigDecimal(data.get("price").toString()));
+        if (data.get("startDate") != null)
+            dto.setActivityDate(java.time.LocalDateTime.parse(data.get("startDate").toString()));
         return dto;
     }
 }
@@ -0,0 +1,60 @@
+package com.aiu.trips.config;
+
+import com.aiu.trips.service.SyntheticDataGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk Seeder - Fills the database with a production-sized synthetic data set
+ * Only runs with the loadtest profile, after DataInitializer and DatabaseSeeder
+ */
+@Component
+@Order(3)
+@Profile("loadtest")
+public class BulkDataSeeder implements CommandLineRunner {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Value("${seed.bulk.users:10000}")
+    private int users;
+
+    @Value("${seed.bulk.events:1000}")
+    private int events;
+
+    @Value("${seed.bulk.bookings:100000}")
+    private int bookings;
+
+    @Value("${seed.bulk.feedbacks:20000}")
+    private int feedbacks;
+
+    @Value("${seed.bulk.notifications:200000}")
+    private int notifications;
+
+    @Value("${seed.bulk.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${seed.bulk.random-seed:42}")
+    private long randomSeed;
+
+    @Override
+    public void run(String... args) {
+        if (generator.isSeeded()) {
+            System.out.println("Synthetic data already present. Skipping bulk seeding...");
+            return;
+        }
+
+        System.out.println("Starting bulk seeding...");
+        long start = System.currentTimeMillis();
+        SyntheticDataGenerator.Summary summary = generator.generate(users, events, bookings, feedbacks,
+                notifications, batchSize, randomSeed);
+        System.out.println("Bulk seeding completed in " + (System.currentTimeMillis() - start) + " ms: " + summary);
+        System.out.println("Synthetic credentials: " + SyntheticDataGenerator.EMAIL_PREFIX + "<n>"
+                + SyntheticDataGenerator.EMAIL_DOMAIN + " / " + SyntheticDataGenerator.PASSWORD
+                + " (every 100th account, starting with 0, is an admin)");
+    }
+}
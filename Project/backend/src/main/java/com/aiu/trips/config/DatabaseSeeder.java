@@ -20,6 +20,7 @@ import java.util.List;
 /**
  * Database Seeder - Populates the database with sample data for testing and development
  * This runs after DataInitializer to add comprehensive sample data
+ * Each kind of row is written with one saveAll, so Hibernate sends it as a JDBC batch
  */
 @Component
 @Order(2)
@@ -86,7 +87,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         student1.setFullName("John Doe");
         student1.setPhoneNumber("555-0101");
         student1.setRole(UserRole.STUDENT);
-        users.add(userRepository.save(student1));
+        users.add(student1);
 
         User student2 = new User();
         student2.setEmail("jane.smith@aiu.edu");
@@ -94,7 +95,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         student2.setFullName("Jane Smith");
         student2.setPhoneNumber("555-0102");
         student2.setRole(UserRole.STUDENT);
-        users.add(userRepository.save(student2));
+        users.add(student2);
 
         User student3 = new User();
         student3.setEmail("mike.johnson@aiu.edu");
@@ -102,7 +103,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         student3.setFullName("Mike Johnson");
         student3.setPhoneNumber("555-0103");
         student3.setRole(UserRole.STUDENT);
-        users.add(userRepository.save(student3));
+        users.add(student3);
 
         User student4 = new User();
         student4.setEmail("sarah.williams@aiu.edu");
@@ -110,7 +111,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         student4.setFullName("Sarah Williams");
         student4.setPhoneNumber("555-0104");
         student4.setRole(UserRole.STUDENT);
-        users.add(userRepository.save(student4));
+        users.add(student4);
 
         // Create organizer (using ADMIN role)
         User organizer = new User();
@@ -119,8 +120,9 @@ public class DatabaseSeeder implements CommandLineRunner {
         organizer.setFullName("Event Organizer");
         organizer.setPhoneNumber("555-0201");
         organizer.setRole(UserRole.ADMIN);
-        users.add(userRepository.save(organizer));
+        users.add(organizer);
 
+        users = userRepository.saveAll(users);
         System.out.println("Created " + users.size() + " users");
         return users;
     }
@@ -143,7 +145,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         event1.setImageUrl("/images/ai-conference.jpg");
         event1.setCreatedBy(organizer);
         // status will be set by @PrePersist
-        events.add(eventRepository.save(event1));
+        events.add(event1);
 
         // Event 2 - Mountain Trip
         Event event2 = new Event();
@@ -159,7 +161,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         event2.setImageUrl("/images/mountain-trip.jpg");
         event2.setCreatedBy(organizer);
         // status will be set by @PrePersist
-        events.add(eventRepository.save(event2));
+        events.add(event2);
 
         // Event 3 - Career Fair
         Event event3 = new Event();
@@ -175,7 +177,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         event3.setImageUrl("/images/career-fair.jpg");
         event3.setCreatedBy(organizer);
         // status will be set by @PrePersist
-        events.add(eventRepository.save(event3));
+        events.add(event3);
 
         // Event 4 - Beach Trip
         Event event4 = new Event();
@@ -191,7 +193,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         event4.setImageUrl("/images/beach-trip.jpg");
         event4.setCreatedBy(organizer);
         // status will be set by @PrePersist
-        events.add(eventRepository.save(event4));
+        events.add(event4);
 
         // Event 5 - Workshop
         Event event5 = new Event();
@@ -207,7 +209,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         event5.setImageUrl("/images/web-workshop.jpg");
         event5.setCreatedBy(organizer);
         // status will be set by @PrePersist
-        events.add(eventRepository.save(event5));
+        events.add(event5);
 
         // Event 6 - Cultural Festival
         Event event6 = new Event();
@@ -223,8 +225,9 @@ public class DatabaseSeeder implements CommandLineRunner {
         event6.setImageUrl("/images/cultural-festival.jpg");
         event6.setCreatedBy(organizer);
         // status will be set by @PrePersist
-        events.add(eventRepository.save(event6));
+        events.add(event6);
 
+        events = eventRepository.saveAll(events);
         System.out.println("Created " + events.size() + " events");
         return events;
     }
@@ -239,12 +242,11 @@ public class DatabaseSeeder implements CommandLineRunner {
         booking1.setBookingCode("BK-" + System.currentTimeMillis() + "-1");
         booking1.setStatus(BookingStatus.CONFIRMED);
         booking1.setAmountPaid(events.get(0).getPrice());
-        bookings.add(bookingRepository.save(booking1));
+        bookings.add(booking1);
 
         // Update available seats
         Event event = events.get(0);
         event.setAvailableSeats(event.getAvailableSeats() - 1);
-        eventRepository.save(event);
 
         // Student 2 bookings
         Booking booking2 = new Booking();
@@ -253,11 +255,10 @@ public class DatabaseSeeder implements CommandLineRunner {
         booking2.setBookingCode("BK-" + System.currentTimeMillis() + "-2");
         booking2.setStatus(BookingStatus.CONFIRMED);
         booking2.setAmountPaid(events.get(1).getPrice());
-        bookings.add(bookingRepository.save(booking2));
+        bookings.add(booking2);
 
         event = events.get(1);
         event.setAvailableSeats(event.getAvailableSeats() - 1);
-        eventRepository.save(event);
 
         // Student 3 bookings
         Booking booking3 = new Booking();
@@ -266,12 +267,13 @@ public class DatabaseSeeder implements CommandLineRunner {
         booking3.setBookingCode("BK-" + System.currentTimeMillis() + "-3");
         booking3.setStatus(BookingStatus.CONFIRMED);
         booking3.setAmountPaid(events.get(2).getPrice());
-        bookings.add(bookingRepository.save(booking3));
+        bookings.add(booking3);
 
         event = events.get(2);
         event.setAvailableSeats(event.getAvailableSeats() - 1);
-        eventRepository.save(event);
 
+        bookingRepository.saveAll(bookings);
+        eventRepository.saveAll(events.subList(0, 3));
         System.out.println("Created " + bookings.size() + " bookings");
     }
 
@@ -284,7 +286,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         feedback1.setEvent(events.get(0));
         feedback1.setRating(5);
         feedback1.setComment("Excellent conference! Learned a lot about AI and ML. The speakers were very knowledgeable.");
-        feedbackList.add(feedbackRepository.save(feedback1));
+        feedbackList.add(feedback1);
 
         // Feedback 2
         Feedback feedback2 = new Feedback();
@@ -292,7 +294,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         feedback2.setEvent(events.get(1));
         feedback2.setRating(4);
         feedback2.setComment("Great hiking experience. The views were breathtaking. Would recommend to everyone!");
-        feedbackList.add(feedbackRepository.save(feedback2));
+        feedbackList.add(feedback2);
 
         // Feedback 3
         Feedback feedback3 = new Feedback();
@@ -300,8 +302,9 @@ public class DatabaseSeeder implements CommandLineRunner {
         feedback3.setEvent(events.get(2));
         feedback3.setRating(5);
         feedback3.setComment("Amazing career fair! Met with several companies and got two job interviews.");
-        feedbackList.add(feedbackRepository.save(feedback3));
+        feedbackList.add(feedback3);
 
+        feedbackRepository.saveAll(feedbackList);
         System.out.println("Created " + feedbackList.size() + " feedback entries");
     }
 
@@ -315,7 +318,7 @@ public class DatabaseSeeder implements CommandLineRunner {
             notification.setMessage("Welcome to AIU Trips and Events! Explore upcoming events and trips.");
             notification.setType("INFO");
             notification.setIsRead(false);
-            notifications.add(notificationRepository.save(notification));
+            notifications.add(notification);
         }
 
         // Event reminder notification
@@ -324,8 +327,9 @@ public class DatabaseSeeder implements CommandLineRunner {
         reminder.setMessage("Reminder: AI and Machine Learning Conference starts in 30 days!");
         reminder.setType("INFO");
         reminder.setIsRead(false);
-        notifications.add(notificationRepository.save(reminder));
+        notifications.add(reminder);
 
+        notificationRepository.saveAll(notifications);
         System.out.println("Created " + notifications.size() + " notifications");
     }
 }
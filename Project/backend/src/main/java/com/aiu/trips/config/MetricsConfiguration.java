@@ -0,0 +1,122 @@
+package com.aiu.trips.config;
+
+import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.security.JwtUtil;
+import com.aiu.trips.service.EmailOutboxService;
+import com.aiu.trips.service.EventCatalogCache;
+import com.aiu.trips.service.NotificationFanoutService;
+import com.aiu.trips.service.NotificationStreamService;
+import com.aiu.trips.service.QrCodeRenderingService;
+import com.aiu.trips.util.CacheMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Gauges for seat inventory, notification backlog and cache effectiveness
+ * Timers are registered where the work happens: the command invoker, the request
+ * handler chain and @Timed services; controller routes and repositories are timed by Spring Boot.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    // Gauges backed by a query are read at most this often, however often they are scraped
+    private static final long QUERY_SAMPLE_NANOS = TimeUnit.SECONDS.toNanos(15);
+
+    @Bean
+    public MeterBinder seatInventoryMetrics(EventRepository eventRepository) {
+        return registry -> {
+            Sampled<EventRepository.CapacityTotals> totals = new Sampled<>(eventRepository::sumCapacity);
+            Gauge.builder("trips.seats.capacity", totals, t -> t.get().getCapacity())
+                    .description("Seats across all events")
+                    .register(registry);
+            Gauge.builder("trips.seats.booked", totals, t -> t.get().getBooked())
+                    .description("Seats taken across all events")
+                    .register(registry);
+            Gauge.builder("trips.seats.available", totals, t -> t.get().getCapacity() - t.get().getBooked())
+                    .description("Seats still available across all events")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder notificationBacklogMetrics(NotificationFanoutService fanoutService,
+                                                  NotificationStreamService streamService,
+                                                  EmailOutboxService emailOutboxService) {
+        return registry -> {
+            Gauge.builder("trips.notifications.fanout.queued", fanoutService,
+                            NotificationFanoutService::getQueuedJobCount)
+                    .description("Fan-out jobs waiting for the worker")
+                    .register(registry);
+            Gauge.builder("trips.notifications.stream.subscribers", streamService,
+                            NotificationStreamService::getSubscriberCount)
+                    .description("Open notification streams")
+                    .register(registry);
+            Gauge.builder("trips.notifications.stream.pending", streamService,
+                            NotificationStreamService::getPendingEventCount)
+                    .description("Stream events not yet sent to the client")
+                    .register(registry);
+            Sampled<Long> pendingEmails = new Sampled<>(emailOutboxService::getPendingCount);
+            Gauge.builder("trips.email.outbox.pending", pendingEmails, Sampled::get)
+                    .description("Emails waiting in the outbox")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder cacheMetrics(EventCatalogCache eventCatalogCache,
+                                    QrCodeRenderingService qrCodeRenderingService,
+                                    JwtUtil jwtUtil) {
+        return registry -> {
+            bindCache(registry, "event-catalog", eventCatalogCache.getMetrics());
+            bindCache(registry, "qr-images", qrCodeRenderingService.getMetrics());
+            bindCache(registry, "jwt-claims", jwtUtil.getClaimsCacheMetrics());
+        };
+    }
+
+    private static void bindCache(MeterRegistry registry, String name, CacheMetrics metrics) {
+        // Same names and tags as Micrometer's own cache binders
+        FunctionCounter.builder("cache.gets", metrics, CacheMetrics::getHits)
+                .tag("cache", name)
+                .tag("result", "hit")
+                .description("Cache lookups served from the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", metrics, CacheMetrics::getMisses)
+                .tag("cache", name)
+                .tag("result", "miss")
+                .description("Cache lookups that had to load the value")
+                .register(registry);
+        Gauge.builder("trips.cache.hit.ratio", metrics, CacheMetrics::getHitRatio)
+                .tag("cache", name)
+                .description("Share of lookups served from the cache since startup")
+                .register(registry);
+    }
+
+    /**
+     * Last value read by a query, refreshed when older than QUERY_SAMPLE_NANOS
+     */
+    private static final class Sampled<T> {
+        private final Supplier<T> query;
+        private T value;
+        private long readAt;
+
+        Sampled(Supplier<T> query) {
+            this.query = query;
+        }
+
+        synchronized T get() {
+            long now = System.nanoTime();
+            if (value == null || now - readAt > QUERY_SAMPLE_NANOS) {
+                value = query.get();
+                readAt = now;
+            }
+            return value;
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.aiu.trips.config;
 import com.aiu.trips.chain.*;
 import com.aiu.trips.decorator.*;
 import com.aiu.trips.strategy.*;
+import com.aiu.trips.util.QrCodeSigner;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -14,33 +17,48 @@ public class PatternConfiguration {
 
     /**
      * Configure Chain of Responsibility
+     * Each stage is wrapped so its own latency is recorded
      */
     @Bean
     public RequestHandler requestHandlerChain(
             AuthenticationHandler authHandler,
             AuthorizationHandler authzHandler,
             ValidationHandler validationHandler,
-            RateLimitHandler rateLimitHandler) {
-        
+            RateLimitHandler rateLimitHandler,
+            MeterRegistry meterRegistry) {
+
+        RequestHandler authStage = new TimedRequestHandler(authHandler, meterRegistry);
+        RequestHandler authzStage = new TimedRequestHandler(authzHandler, meterRegistry);
+        RequestHandler validationStage = new TimedRequestHandler(validationHandler, meterRegistry);
+        RequestHandler rateLimitStage = new TimedRequestHandler(rateLimitHandler, meterRegistry);
+
         // Build the chain
-        authHandler.setNext(authzHandler);
-        authzHandler.setNext(validationHandler);
-        validationHandler.setNext(rateLimitHandler);
-        
-        return authHandler;
+        authStage.setNext(authzStage);
+        authzStage.setNext(validationStage);
+        validationStage.setNext(rateLimitStage);
+
+        return authStage;
     }
 
     /**
      * Configure Ticket Service with Decorators
      */
     @Bean
-    public ITicketService ticketService(BaseTicketService baseService) {
+    public ITicketService ticketService(BaseTicketService baseService, QrCodeSigner qrCodeSigner) {
         // Wrap with decorators
-        ITicketService signed = new SignedQrDecorator(baseService);
+        ITicketService signed = new SignedQrDecorator(baseService, qrCodeSigner);
         ITicketService audited = new AuditLogDecorator(signed);
         return audited;
     }
 
+    /**
+     * Shared signer for ticket and booking QR payloads
+     */
+    @Bean
+    public QrCodeSigner qrCodeSigner(@Value("${qr.signing-key}") String signingKey) {
+        return new QrCodeSigner(signingKey);
+    }
+
     /**
      * Configure default Pricing Strategy
      */
@@ -0,0 +1,93 @@
+package com.aiu.trips.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Points PostgreSQL id columns at the sequence their entity now uses: tables created
+ * while the entities used IDENTITY ids, and notifications, which moved from a pooled
+ * sequence to a single-step one. ddl-auto=update creates the sequences but leaves the
+ * old column defaults alone, so Hibernate and set-based SQL inserts would draw ids from
+ * two different counters. Runs once per table, before the first request or runner;
+ * fresh schemas already get the sequence as the column default.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SequenceIdMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenceIdMigration.class);
+
+    // Each table and the sequence its entity ids come from
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "users", "users_seq",
+            "events", "events_seq",
+            "bookings", "bookings_seq",
+            "feedbacks", "feedbacks_seq",
+            "notifications", "notification_ids_seq",
+            "booking_rollups", "booking_rollups_seq");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void migrate() throws SQLException {
+        if (!isPostgres()) {
+            return;
+        }
+        SEQUENCES.forEach((table, sequence) ->
+                transactionTemplate.executeWithoutResult(status -> migrate(table, sequence)));
+    }
+
+    private void migrate(String table, String sequence) {
+        // Null for identity columns, nextval('<sequence>'::regclass) for serial and sequence ones
+        String columnDefault = jdbcTemplate.queryForObject(
+                "SELECT column_default FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = ? AND column_name = 'id'",
+                String.class, table);
+        if (columnDefault != null && columnDefault.contains("'" + sequence + "'")) {
+            return;
+        }
+        // Set for identity and serial columns, which own their sequence
+        String legacySequence = jdbcTemplate.queryForObject(
+                "SELECT pg_get_serial_sequence(?, 'id')", String.class, table);
+        Boolean identity = jdbcTemplate.queryForObject(
+                "SELECT is_identity = 'YES' FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = ? AND column_name = 'id'",
+                Boolean.class, table);
+        if (Boolean.TRUE.equals(identity)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY");
+        } else if (legacySequence != null) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + legacySequence + " OWNED BY NONE");
+        }
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+        // The next value is above the current maximum: Hibernate takes a pooled value as the top of
+        // its block of 50 and a single-step one as the id itself, so every id handed out is free
+        jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', GREATEST(COALESCE(MAX(id), 0), 1)) FROM " + table,
+                Long.class);
+        logger.info("Moved {}.id from {} to {}", table,
+                legacySequence != null ? legacySequence : columnDefault, sequence);
+    }
+
+    private boolean isPostgres() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        }
+    }
+}
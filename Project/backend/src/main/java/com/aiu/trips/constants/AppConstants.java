@@ -12,6 +12,7 @@ public final class AppConstants {
     public static final String BOOKING_NOT_FOUND = "Booking not found with id: ";
     public static final String FEEDBACK_NOT_FOUND = "Feedback not found with id: ";
     public static final String NOTIFICATION_NOT_FOUND = "Notification not found with id: ";
+    public static final String REPORT_NOT_FOUND = "Report not found with id: ";
     
     // Booking Messages
     public static final String NO_SEATS_AVAILABLE = "No seats available for this event";
@@ -20,10 +21,21 @@ public final class AppConstants {
     public static final String BOOKING_ALREADY_VALIDATED = "Ticket has already been validated";
     public static final String CANNOT_VALIDATE_CANCELLED = "Cannot validate a cancelled booking";
     
+    // Report Messages
+    public static final String REPORT_QUEUE_FULL = "Too many reports are being generated, please try again later";
+    public static final String REPORT_NOT_READY = "Report has not finished generating";
+
     // Feedback Messages
     public static final String FEEDBACK_ALREADY_EXISTS = "You have already submitted feedback for this event";
     public static final String MUST_ATTEND_TO_FEEDBACK = "You must attend the event before submitting feedback";
     public static final String INVALID_RATING = "Rating must be between 1 and 5";
+
+    // Event Browsing Messages
+    public static final String INVALID_PAGE_CURSOR = "Invalid page cursor";
+    public static final String INVALID_DATE = "Invalid date: ";
+
+    // Response Headers
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     
     // Success Messages
     public static final String BOOKING_CREATED = "Booking created successfully";
@@ -36,8 +36,7 @@ public class AuthController {
 
             // Use Command Pattern
             IControllerCommand command = new RegisterCommand(authService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(requestData);
+            return commandInvoker.execute(command, requestData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -49,8 +48,7 @@ public class AuthController {
             handlerChain.handle(request);
 
             IControllerCommand command = new LoginCommand(authService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(requestData);
+            return commandInvoker.execute(command, requestData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
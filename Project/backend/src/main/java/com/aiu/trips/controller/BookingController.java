@@ -2,6 +2,7 @@ package com.aiu.trips.controller;
 
 import com.aiu.trips.chain.RequestHandler;
 import com.aiu.trips.command.*;
+import com.aiu.trips.service.QrCodeRenderingService;
 import com.aiu.trips.service.interfaces.IBookingTicketingSystem;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,17 +28,19 @@ public class BookingController {
     @Autowired
     private IBookingTicketingSystem bookingService;
 
+    @Autowired
+    private QrCodeRenderingService qrCodeRenderingService;
+
     @Autowired
     @Qualifier("requestHandlerChain")
     private RequestHandler handlerChain;
 
     @GetMapping("/browse")
-    public ResponseEntity<?> browseEvents(HttpServletRequest request) {
+    public ResponseEntity<?> browseEvents(@RequestParam Map<String, Object> filters, HttpServletRequest request) {
         try {
             handlerChain.handle(request);
             IControllerCommand command = new BrowseEventsCommand(bookingService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(new HashMap<>());
+            return commandInvoker.execute(command, new HashMap<>(filters));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -54,8 +57,7 @@ public class BookingController {
             data.put("userEmail", userEmail);
 
             IControllerCommand command = new GetUserBookingsCommand(bookingService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(data);
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -73,8 +75,22 @@ public class BookingController {
             data.put("userEmail", userEmail);
 
             IControllerCommand command = new BookEventCommand(bookingService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(data);
+            return commandInvoker.execute(command, data);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{code}/qr")
+    public ResponseEntity<?> getTicketQr(@PathVariable String code, HttpServletRequest request) {
+        try {
+            handlerChain.handle(request);
+            Map<String, Object> data = new HashMap<>();
+            data.put("bookingCode", code);
+            data.put("ifNoneMatch", request.getHeader("If-None-Match"));
+
+            IControllerCommand command = new GetTicketQrCommand(bookingService, qrCodeRenderingService);
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -85,8 +101,7 @@ public class BookingController {
         try {
             handlerChain.handle(request);
             IControllerCommand command = new ValidateTicketCommand(bookingService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(requestData);
+            return commandInvoker.execute(command, requestData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -6,6 +6,7 @@ import com.aiu.trips.service.interfaces.IActivityManagement;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -32,24 +33,26 @@ public class EventController {
     private RequestHandler handlerChain;
 
     @GetMapping
-    public ResponseEntity<?> getAllEvents(HttpServletRequest request) {
+    public ResponseEntity<?> getAllEvents(@RequestParam Map<String, Object> filters, HttpServletRequest request) {
         try {
             handlerChain.handle(request);
+            Map<String, Object> data = new HashMap<>(filters);
+            data.put(HttpHeaders.IF_NONE_MATCH, request.getHeader(HttpHeaders.IF_NONE_MATCH));
             IControllerCommand command = new GetAllActivitiesCommand(activityService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(new HashMap<>());
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<?> getUpcomingEvents(HttpServletRequest request) {
+    public ResponseEntity<?> getUpcomingEvents(@RequestParam Map<String, Object> filters, HttpServletRequest request) {
         try {
             handlerChain.handle(request);
+            Map<String, Object> data = new HashMap<>(filters);
+            data.put(HttpHeaders.IF_NONE_MATCH, request.getHeader(HttpHeaders.IF_NONE_MATCH));
             IControllerCommand command = new GetUpcomingEventsCommand(activityService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(new HashMap<>());
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -59,8 +62,10 @@ public class EventController {
     public ResponseEntity<?> getEventById(@PathVariable Long id, HttpServletRequest request) {
         try {
             handlerChain.handle(request);
-            // Using GetAllActivitiesCommand and filtering (simplified)
-            return getAllEvents(request);
+            Map<String, Object> data = new HashMap<>();
+            data.put("id", id);
+            IControllerCommand command = new GetEventByIdCommand(activityService);
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -71,8 +76,7 @@ public class EventController {
         try {
             handlerChain.handle(request);
             IControllerCommand command = new CreateEventCommand(activityService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(eventData);
+            return commandInvoker.execute(command, eventData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -85,8 +89,7 @@ public class EventController {
             handlerChain.handle(request);
             eventData.put("id", id);
             IControllerCommand command = new UpdateEventCommand(activityService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(eventData);
+            return commandInvoker.execute(command, eventData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -99,8 +102,7 @@ public class EventController {
             Map<String, Object> data = new HashMap<>();
             data.put("id", id);
             IControllerCommand command = new DeleteEventCommand(activityService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(data);
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
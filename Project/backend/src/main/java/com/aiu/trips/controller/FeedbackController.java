@@ -1,6 +1,7 @@
 package com.aiu.trips.controller;
 
 import com.aiu.trips.dto.FeedbackRequest;
+import com.aiu.trips.dto.FeedbackSummaryDTO;
 import com.aiu.trips.model.Feedback;
 import com.aiu.trips.service.FeedbackService;
 import jakarta.validation.Valid;
@@ -31,12 +32,12 @@ public class FeedbackController {
     }
 
     @GetMapping("/event/{eventId}")
-    public ResponseEntity<List<Feedback>> getEventFeedbacks(@PathVariable Long eventId) {
+    public ResponseEntity<List<FeedbackSummaryDTO>> getEventFeedbacks(@PathVariable Long eventId) {
         return ResponseEntity.ok(feedbackService.getEventFeedbacks(eventId));
     }
 
     @GetMapping("/my-feedbacks")
-    public ResponseEntity<List<Feedback>> getMyFeedbacks(Authentication authentication) {
+    public ResponseEntity<List<FeedbackSummaryDTO>> getMyFeedbacks(Authentication authentication) {
         return ResponseEntity.ok(feedbackService.getUserFeedbacks(authentication.getName()));
     }
 
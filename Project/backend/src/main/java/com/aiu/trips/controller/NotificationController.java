@@ -2,12 +2,17 @@ package com.aiu.trips.controller;
 
 import com.aiu.trips.chain.RequestHandler;
 import com.aiu.trips.command.*;
+import com.aiu.trips.security.StreamTicketStore;
 import com.aiu.trips.service.interfaces.INotificationSystem;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -26,6 +31,9 @@ public class NotificationController {
     @Autowired
     private INotificationSystem notificationService;
 
+    @Autowired
+    private StreamTicketStore streamTicketStore;
+
     @Autowired
     @Qualifier("requestHandlerChain")
     private RequestHandler handlerChain;
@@ -41,8 +49,7 @@ public class NotificationController {
             data.put("userEmail", userEmail);
 
             IControllerCommand command = new GetNotificationsCommand(notificationService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(data);
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -59,8 +66,107 @@ public class NotificationController {
             data.put("userEmail", userEmail);
 
             IControllerCommand command = new GetUnreadNotificationsCommand(notificationService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(data);
+            return commandInvoker.execute(command, data);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/unread/count")
+    public ResponseEntity<?> getUnreadCount(HttpServletRequest request) {
+        try {
+            handlerChain.handle(request);
+            String userEmail = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : null;
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("userEmail", userEmail);
+
+            IControllerCommand command = new GetUnreadCountCommand(notificationService);
+            return commandInvoker.execute(command, data);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Single-use ticket for opening the notification stream, valid for a few seconds
+     */
+    @PostMapping("/stream/ticket")
+    public ResponseEntity<?> issueStreamTicket(HttpServletRequest request) {
+        try {
+            handlerChain.handle(request);
+            String userEmail = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : null;
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("userEmail", userEmail);
+
+            IControllerCommand command = new IssueStreamTicketCommand(streamTicketStore);
+            return commandInvoker.execute(command, data);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Server-Sent Events stream of new notifications, opened with a ticket from
+     * POST /stream/ticket rather than a bearer token. A client that reconnects with a
+     * new ticket passes the last event id it saw, as the Last-Event-ID header or the
+     * lastEventId parameter, and receives what it missed. The emitter is returned
+     * directly rather than through a command, since the body outlives this call.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(
+            @RequestParam(name = "ticket", required = false) String ticket,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(name = "lastEventId", required = false) String lastEventIdParameter,
+            HttpServletRequest request) {
+        try {
+            handlerChain.handle(request);
+            String userEmail = streamTicketStore.redeem(ticket);
+            if (userEmail == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParameter;
+            SseEmitter emitter = notificationService.streamNotifications(userEmail, lastEventId);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    // Keeps reverse proxies from buffering the stream
+                    .header("X-Accel-Buffering", "no")
+                    .body(emitter);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PutMapping("/{id}/read")
+    public ResponseEntity<?> markAsRead(@PathVariable Long id, HttpServletRequest request) {
+        try {
+            handlerChain.handle(request);
+            String userEmail = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : null;
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("userEmail", userEmail);
+            data.put("id", id);
+
+            IControllerCommand command = new MarkNotificationReadCommand(notificationService);
+            return commandInvoker.execute(command, data);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/read-all")
+    public ResponseEntity<?> markAllAsRead(HttpServletRequest request) {
+        try {
+            handlerChain.handle(request);
+            String userEmail = request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : null;
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("userEmail", userEmail);
+
+            IControllerCommand command = new MarkNotificationReadCommand(notificationService);
+            return commandInvoker.execute(command, data);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -72,8 +178,7 @@ public class NotificationController {
         try {
             handlerChain.handle(request);
             IControllerCommand command = new SendNotificationCommand(notificationService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(requestData);
+            return commandInvoker.execute(command, requestData);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
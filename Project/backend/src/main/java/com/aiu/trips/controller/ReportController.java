@@ -2,20 +2,31 @@ package com.aiu.trips.controller;
 
 import com.aiu.trips.chain.RequestHandler;
 import com.aiu.trips.command.*;
+import com.aiu.trips.enums.BreakdownDimension;
 import com.aiu.trips.enums.ExportFormat;
 import com.aiu.trips.service.AdvancedAnalyticsService;
+import com.aiu.trips.service.EmailOutboxService;
+import com.aiu.trips.service.NotificationFanoutService;
+import com.aiu.trips.service.ReportExportService;
+import com.aiu.trips.service.ReportJobService;
 import com.aiu.trips.service.ReportService;
 import com.aiu.trips.service.interfaces.IReportsAnalytics;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * ReportController - Uses Command Pattern and Chain of Responsibility for all
@@ -37,6 +48,18 @@ public class ReportController {
     @Autowired
     private AdvancedAnalyticsService analyticsService;
 
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private NotificationFanoutService notificationFanoutService;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
     @Autowired
     @Qualifier("requestHandlerChain")
     private RequestHandler handlerChain;
@@ -46,8 +69,51 @@ public class ReportController {
         try {
             handlerChain.handle(request);
             IControllerCommand command = new GenerateReportCommand(reportService);
-            commandInvoker.pushToQueue(command);
-            return commandInvoker.executeNext(requestData);
+            return commandInvoker.execute(command, requestData);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Queue a report for background rendering; poll the returned job until it is COMPLETED
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<?> submitReportJob(@RequestBody Map<String, Object> requestData, HttpServletRequest request) {
+        try {
+            handlerChain.handle(request);
+            Map<String, Object> data = new HashMap<>(requestData);
+            data.put("userEmail", request.getUserPrincipal() != null ? request.getUserPrincipal().getName() : null);
+
+            IControllerCommand command = new SubmitReportJobCommand(reportJobService);
+            return commandInvoker.execute(command, data);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/jobs/{reportId}")
+    public ResponseEntity<?> getReportJob(@PathVariable Long reportId, HttpServletRequest request) {
+        try {
+            handlerChain.handle(request);
+            return ResponseEntity.ok(reportJobService.getJob(reportId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/jobs/{reportId}/download")
+    public ResponseEntity<?> downloadReportJob(@PathVariable Long reportId, HttpServletRequest request) {
+        try {
+            handlerChain.handle(request);
+            Path file = reportJobService.getResultFile(reportId);
+            ExportFormat exportFormat = reportJobService.getJob(reportId).getFormat();
+
+            // A finished report never changes, so clients may keep their copy
+            return ResponseEntity.ok()
+                    .headers(exportHeaders(exportFormat, "report_" + reportId))
+                    .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePrivate())
+                    .body(new FileSystemResource(file));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -142,6 +208,69 @@ public class ReportController {
         }
     }
 
+    /**
+     * Per-booking export, written to the response while bookings are paged from the database
+     */
+    @GetMapping("/export/bookings")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "CSV") String format,
+            @RequestParam(required = false) Long eventId,
+            HttpServletRequest request) {
+        try {
+            handlerChain.handle(request);
+
+            ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase());
+            String reportTitle = eventId != null
+                    ? "AIU Trips & Events - Bookings for Event " + eventId
+                    : "AIU Trips & Events - All Bookings";
+            String filename = (eventId != null ? "event_" + eventId + "_bookings_" : "bookings_")
+                    + System.currentTimeMillis();
+
+            StreamingResponseBody body = out -> reportExportService.exportBookings(
+                    eventId, exportFormat, reportTitle, out);
+
+            return ResponseEntity.ok()
+                    .headers(exportHeaders(exportFormat, filename))
+                    .body(body);
+        } catch (Exception e) {
+            // The streaming return value handler only accepts StreamingResponseBody bodies
+            byte[] message = ("Error exporting bookings: " + e.getMessage()).getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.internalServerError()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write(message));
+        }
+    }
+
+    @GetMapping("/metrics/commands")
+    public ResponseEntity<?> getCommandMetrics(HttpServletRequest request) {
+        try {
+            handlerChain.handle(request);
+            return ResponseEntity.ok(commandInvoker.getMetrics());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/metrics/notifications")
+    public ResponseEntity<?> getNotificationFanoutMetrics(HttpServletRequest request) {
+        try {
+            handlerChain.handle(request);
+            return ResponseEntity.ok(notificationFanoutService.getMetrics());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/metrics/email")
+    public ResponseEntity<?> getEmailDispatchMetrics(HttpServletRequest request) {
+        try {
+            handlerChain.handle(request);
+            return ResponseEntity.ok(emailOutboxService.getMetrics());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/analytics/trends")
     public ResponseEntity<?> getBookingTrends(
             @RequestParam(defaultValue = "30") int days,
@@ -179,6 +308,22 @@ public class ReportController {
         }
     }
 
+    @GetMapping("/analytics/breakdown")
+    public ResponseEntity<?> getBreakdown(
+            @RequestParam(defaultValue = "TYPE") String dimension,
+            HttpServletRequest request) {
+        try {
+            handlerChain.handle(request);
+            return ResponseEntity.ok(analyticsService.getBreakdown(
+                    BreakdownDimension.valueOf(dimension.toUpperCase())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Unknown breakdown dimension: " + dimension);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body("Error analyzing breakdown: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/analytics/attendance")
     public ResponseEntity<?> getAttendancePatterns(HttpServletRequest request) {
         try {
@@ -211,4 +356,23 @@ public class ReportController {
                     .body("Error generating comprehensive analytics: " + e.getMessage());
         }
     }
+
+    private HttpHeaders exportHeaders(ExportFormat exportFormat, String filename) {
+        HttpHeaders headers = new HttpHeaders();
+        switch (exportFormat) {
+            case PDF:
+                headers.setContentType(MediaType.APPLICATION_PDF);
+                headers.setContentDispositionFormData("attachment", filename + ".pdf");
+                break;
+            case CSV:
+                headers.setContentType(MediaType.parseMediaType("text/csv"));
+                headers.setContentDispositionFormData("attachment", filename + ".csv");
+                break;
+            case JSON:
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                headers.setContentDispositionFormData("attachment", filename + ".json");
+                break;
+        }
+        return headers;
+    }
 }
@@ -0,0 +1,31 @@
+package com.aiu.trips.dto;
+
+import java.util.List;
+
+/**
+ * ActivityPageDTO for one page of browsed activities
+ * nextCursor is passed back as the cursor filter to fetch the following page
+ */
+public class ActivityPageDTO {
+    private List<ActivityDTO> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public ActivityPageDTO() {}
+
+    public ActivityPageDTO(List<ActivityDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    // Getters and Setters
+    public List<ActivityDTO> getItems() { return items; }
+    public void setItems(List<ActivityDTO> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,72 @@
+package com.aiu.trips.dto;
+
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.EventStatus;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.enums.PaymentMethod;
+
+import java.time.LocalDateTime;
+
+/**
+ * BookingSummaryDTO for booking listings
+ * Built directly by a JPQL constructor expression, so a listing is one query
+ * and never loads the user or event entities
+ */
+public class BookingSummaryDTO {
+    private Long id;
+    private String bookingCode;
+    private BookingStatus status;
+    private LocalDateTime bookingDate;
+    private Double amountPaid;
+    private PaymentMethod paymentMethod;
+    private LocalDateTime validatedAt;
+    private EventSummaryDTO event;
+    private UserSummaryDTO user;
+
+    public BookingSummaryDTO() {}
+
+    public BookingSummaryDTO(Long id, String bookingCode, BookingStatus status, LocalDateTime bookingDate,
+            Double amountPaid, PaymentMethod paymentMethod, LocalDateTime validatedAt,
+            Long eventId, String eventTitle, EventType eventType, LocalDateTime eventStartDate,
+            LocalDateTime eventEndDate, String eventLocation, EventStatus eventStatus,
+            Long userId, String userFullName, String userEmail) {
+        this.id = id;
+        this.bookingCode = bookingCode;
+        this.status = status;
+        this.bookingDate = bookingDate;
+        this.amountPaid = amountPaid;
+        this.paymentMethod = paymentMethod;
+        this.validatedAt = validatedAt;
+        this.event = new EventSummaryDTO(eventId, eventTitle, eventType, eventStartDate, eventEndDate,
+                eventLocation, eventStatus);
+        this.user = new UserSummaryDTO(userId, userFullName, userEmail);
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getBookingCode() { return bookingCode; }
+    public void setBookingCode(String bookingCode) { this.bookingCode = bookingCode; }
+
+    public BookingStatus getStatus() { return status; }
+    public void setStatus(BookingStatus status) { this.status = status; }
+
+    public LocalDateTime getBookingDate() { return bookingDate; }
+    public void setBookingDate(LocalDateTime bookingDate) { this.bookingDate = bookingDate; }
+
+    public Double getAmountPaid() { return amountPaid; }
+    public void setAmountPaid(Double amountPaid) { this.amountPaid = amountPaid; }
+
+    public PaymentMethod getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(PaymentMethod paymentMethod) { this.paymentMethod = paymentMethod; }
+
+    public LocalDateTime getValidatedAt() { return validatedAt; }
+    public void setValidatedAt(LocalDateTime validatedAt) { this.validatedAt = validatedAt; }
+
+    public EventSummaryDTO getEvent() { return event; }
+    public void setEvent(EventSummaryDTO event) { this.event = event; }
+
+    public UserSummaryDTO getUser() { return user; }
+    public void setUser(UserSummaryDTO user) { this.user = user; }
+}
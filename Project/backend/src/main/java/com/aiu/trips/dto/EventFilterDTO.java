@@ -12,6 +12,8 @@ public class EventFilterDTO {
     private String location;
     private String startDate;
     private String endDate;
+    private String cursor;
+    private Integer size;
 
     public EventFilterDTO() {}
 
@@ -30,4 +32,10 @@ public class EventFilterDTO {
 
     public String getEndDate() { return endDate; }
     public void setEndDate(String endDate) { this.endDate = endDate; }
+
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
 }
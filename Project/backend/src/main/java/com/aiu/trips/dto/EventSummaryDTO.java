@@ -0,0 +1,54 @@
+package com.aiu.trips.dto;
+
+import com.aiu.trips.enums.EventStatus;
+import com.aiu.trips.enums.EventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * EventSummaryDTO - the event columns shown next to a booking or feedback
+ */
+public class EventSummaryDTO {
+    private Long id;
+    private String title;
+    private EventType type;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private String location;
+    private EventStatus status;
+
+    public EventSummaryDTO() {}
+
+    public EventSummaryDTO(Long id, String title, EventType type, LocalDateTime startDate, LocalDateTime endDate,
+            String location, EventStatus status) {
+        this.id = id;
+        this.title = title;
+        this.type = type;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.location = location;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public EventType getType() { return type; }
+    public void setType(EventType type) { this.type = type; }
+
+    public LocalDateTime getStartDate() { return startDate; }
+    public void setStartDate(LocalDateTime startDate) { this.startDate = startDate; }
+
+    public LocalDateTime getEndDate() { return endDate; }
+    public void setEndDate(LocalDateTime endDate) { this.endDate = endDate; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public EventStatus getStatus() { return status; }
+    public void setStatus(EventStatus status) { this.status = status; }
+}
@@ -0,0 +1,52 @@
+package com.aiu.trips.dto;
+
+import com.aiu.trips.enums.EventStatus;
+import com.aiu.trips.enums.EventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * FeedbackSummaryDTO for feedback listings, built by a JPQL constructor expression
+ */
+public class FeedbackSummaryDTO {
+    private Long id;
+    private Integer rating;
+    private String comment;
+    private LocalDateTime createdAt;
+    private EventSummaryDTO event;
+    private UserSummaryDTO user;
+
+    public FeedbackSummaryDTO() {}
+
+    public FeedbackSummaryDTO(Long id, Integer rating, String comment, LocalDateTime createdAt,
+            Long eventId, String eventTitle, EventType eventType, LocalDateTime eventStartDate,
+            LocalDateTime eventEndDate, String eventLocation, EventStatus eventStatus,
+            Long userId, String userFullName, String userEmail) {
+        this.id = id;
+        this.rating = rating;
+        this.comment = comment;
+        this.createdAt = createdAt;
+        this.event = new EventSummaryDTO(eventId, eventTitle, eventType, eventStartDate, eventEndDate,
+                eventLocation, eventStatus);
+        this.user = new UserSummaryDTO(userId, userFullName, userEmail);
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public EventSummaryDTO getEvent() { return event; }
+    public void setEvent(EventSummaryDTO event) { this.event = event; }
+
+    public UserSummaryDTO getUser() { return user; }
+    public void setUser(UserSummaryDTO user) { this.user = user; }
+}
@@ -0,0 +1,47 @@
+package com.aiu.trips.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * NotificationDTO for a personal or broadcast notification
+ * Broadcasts carry a negative id (minus the broadcast id) so both kinds share one id space
+ */
+public class NotificationDTO {
+    private Long id;
+    private String message;
+    private String type;
+    private Boolean isRead;
+    private LocalDateTime createdAt;
+    private boolean broadcast;
+
+    public NotificationDTO() {}
+
+    public NotificationDTO(Long id, String message, String type, Boolean isRead, LocalDateTime createdAt,
+            boolean broadcast) {
+        this.id = id;
+        this.message = message;
+        this.type = type;
+        this.isRead = isRead;
+        this.createdAt = createdAt;
+        this.broadcast = broadcast;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Boolean getIsRead() { return isRead; }
+    public void setIsRead(Boolean isRead) { this.isRead = isRead; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public boolean isBroadcast() { return broadcast; }
+    public void setBroadcast(boolean broadcast) { this.broadcast = broadcast; }
+}
@@ -1,6 +1,7 @@
 package com.aiu.trips.dto;
 
 import com.aiu.trips.enums.ExportFormat;
+import com.aiu.trips.enums.ReportStatus;
 import com.aiu.trips.enums.ReportType;
 
 import java.time.LocalDateTime;
@@ -18,6 +19,11 @@ public class ReportDTO {
     private byte[] data;
     private Map<String, Object> reportData;
     private LocalDateTime generatedAt;
+    private ReportStatus status;
+    private Long eventId;
+    private LocalDateTime completedAt;
+    private Long sizeBytes;
+    private String errorMessage;
 
     public ReportDTO() {}
 
@@ -45,4 +51,19 @@ public class ReportDTO {
 
     public LocalDateTime getGeneratedAt() { return generatedAt; }
     public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+
+    public ReportStatus getStatus() { return status; }
+    public void setStatus(ReportStatus status) { this.status = status; }
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public Long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(Long sizeBytes) { this.sizeBytes = sizeBytes; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
 }
@@ -0,0 +1,29 @@
+package com.aiu.trips.dto;
+
+/**
+ * UserSummaryDTO - the user columns shown next to a booking or feedback;
+ * never carries the password hash, phone number or role
+ */
+public class UserSummaryDTO {
+    private Long id;
+    private String fullName;
+    private String email;
+
+    public UserSummaryDTO() {}
+
+    public UserSummaryDTO(Long id, String fullName, String email) {
+        this.id = id;
+        this.fullName = fullName;
+        this.email = email;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getFullName() { return fullName; }
+    public void setFullName(String fullName) { this.fullName = fullName; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+}
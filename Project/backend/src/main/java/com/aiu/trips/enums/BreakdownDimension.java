@@ -0,0 +1,10 @@
+package com.aiu.trips.enums;
+
+/**
+ * Event attribute that analytics breakdowns can group by
+ */
+public enum BreakdownDimension {
+    TYPE,
+    LOCATION,
+    CREATOR
+}
@@ -0,0 +1,11 @@
+package com.aiu.trips.enums;
+
+/**
+ * Lifecycle of a message in the email outbox
+ */
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
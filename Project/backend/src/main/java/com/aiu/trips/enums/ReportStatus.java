@@ -0,0 +1,11 @@
+package com.aiu.trips.enums;
+
+/**
+ * Lifecycle of an asynchronous report job
+ */
+public enum ReportStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.aiu.trips.enums;
+
+/**
+ * Bucket size of a booking analytics rollup
+ */
+public enum RollupGranularity {
+    HOURLY,
+    DAILY
+}
@@ -0,0 +1,8 @@
+package com.aiu.trips.exception;
+
+public class RateLimitExceededException extends RuntimeException {
+    public RateLimitExceededException(String message) {
+        // Thrown for every rejected request during a flood, so skip the stack trace
+        super(message, null, false, false);
+    }
+}
@@ -3,6 +3,7 @@ package com.aiu.trips.model;
 import com.aiu.trips.enums.BookingStatus;
 import com.aiu.trips.enums.PaymentMethod;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 // Lombok temporarily removed due to Java 25 compatibility
 import java.time.LocalDateTime;
 
@@ -26,15 +27,19 @@ public class Booking {
         this.validatedBy = validatedBy;
     }
     
+    // Pooled sequence: ids are handed out 50 at a time, so inserts can be batched.
+    // The column default lets set-based SQL inserts that omit the id draw from it too.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
+    @ColumnDefault("nextval('bookings_seq')")
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id", nullable = false)
     private Event event;
     
@@ -48,8 +53,8 @@ public class Booking {
     @Column
     private LocalDateTime bookingDate;
     
-    @Column(columnDefinition = "TEXT")
-    private String qrCodePath;
+    @Column(length = 512)
+    private String qrCodePath; // Signed QR payload; the PNG is rendered on demand
     
     @Column
     private Double amountPaid;
@@ -0,0 +1,52 @@
+package com.aiu.trips.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A notification addressed to every user, stored once.
+ * Users see broadcasts created after they registered; whether one has been read
+ * comes from the user's NotificationReadCursor.
+ */
+@Entity
+@Table(name = "broadcast_notifications", indexes = @Index(columnList = "created_at"))
+public class BroadcastNotification {
+
+    public BroadcastNotification() {}
+
+    public BroadcastNotification(String message, String type) {
+        this.message = message;
+        this.type = type;
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String message;
+
+    @Column(nullable = false)
+    private String type; // INFO, WARNING, SUCCESS
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -3,11 +3,18 @@ package com.aiu.trips.model;
 import com.aiu.trips.enums.EventStatus;
 import com.aiu.trips.enums.EventType;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 // Lombok temporarily removed due to Java 25 compatibility
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "events")
+// Catalogue browsing filters on one of these columns and pages in (start_date, id) order
+@Table(name = "events", indexes = {
+        @Index(columnList = "start_date, id"),
+        @Index(columnList = "type, start_date, id"),
+        @Index(columnList = "status, start_date, id"),
+        @Index(columnList = "location, start_date, id")
+})
 public class Event {
     
     public Event() {}
@@ -30,7 +37,9 @@ public class Event {
     }
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
+    @ColumnDefault("nextval('events_seq')")
     private Long id;
     
     @Column(nullable = false)
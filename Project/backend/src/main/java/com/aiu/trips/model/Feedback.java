@@ -1,6 +1,7 @@
 package com.aiu.trips.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 // Lombok temporarily removed due to Java 25 compatibility
 import java.time.LocalDateTime;
 
@@ -20,14 +21,16 @@ public class Feedback {
     }
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feedbacks_seq")
+    @SequenceGenerator(name = "feedbacks_seq", sequenceName = "feedbacks_seq", allocationSize = 50)
+    @ColumnDefault("nextval('feedbacks_seq')")
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id", nullable = false)
     private Event event;
     
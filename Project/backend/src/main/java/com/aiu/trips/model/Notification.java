@@ -1,11 +1,12 @@
 package com.aiu.trips.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 // Lombok temporarily removed due to Java 25 compatibility
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = @Index(columnList = "user_id, stream_position"))
 public class Notification {
     
     public Notification() {}
@@ -19,11 +20,14 @@ public class Notification {
         this.createdAt = createdAt;
     }
     
+    // One value per row from the sequence the set-based inserts use too, so ids follow insertion order
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_ids_seq")
+    @SequenceGenerator(name = "notification_ids_seq", sequenceName = "notification_ids_seq", allocationSize = 1)
+    @ColumnDefault("nextval('notification_ids_seq')")
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
     
@@ -39,6 +43,11 @@ public class Notification {
     @Column
     private LocalDateTime createdAt;
     
+    // The user's counter position when the row was written; unlike ids these follow commit
+    // order, so notification streams resume from the last position they sent
+    @Column
+    private Long streamPosition;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -63,4 +72,7 @@ public class Notification {
     
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public Long getStreamPosition() { return streamPosition; }
+    public void setStreamPosition(Long streamPosition) { this.streamPosition = streamPosition; }
 }
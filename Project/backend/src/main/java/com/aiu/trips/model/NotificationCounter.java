@@ -0,0 +1,43 @@
+package com.aiu.trips.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Number of unread personal notifications a user has.
+ * Kept in step with the notifications table by single-statement increments and
+ * decrements, so the unread badge never has to count rows. The row also numbers the
+ * user's notifications: each writer moves the stream position while holding the row
+ * lock, so positions follow commit order even when sequence ids do not.
+ */
+@Entity
+@Table(name = "notification_counters")
+public class NotificationCounter {
+
+    public NotificationCounter() {}
+
+    public NotificationCounter(Long userId, Long unreadCount) {
+        this.userId = userId;
+        this.unreadCount = unreadCount;
+    }
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long unreadCount;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long streamPosition = 0L;
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getUnreadCount() { return unreadCount; }
+    public void setUnreadCount(Long unreadCount) { this.unreadCount = unreadCount; }
+
+    public Long getStreamPosition() { return streamPosition; }
+    public void setStreamPosition(Long streamPosition) { this.streamPosition = streamPosition; }
+}
@@ -0,0 +1,32 @@
+package com.aiu.trips.model;
+
+import jakarta.persistence.*;
+
+/**
+ * How far one user has read the broadcast stream: every broadcast with an id up to
+ * lastReadBroadcastId counts as read for that user
+ */
+@Entity
+@Table(name = "notification_read_cursors")
+public class NotificationReadCursor {
+
+    public NotificationReadCursor() {}
+
+    public NotificationReadCursor(Long userId, Long lastReadBroadcastId) {
+        this.userId = userId;
+        this.lastReadBroadcastId = lastReadBroadcastId;
+    }
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long lastReadBroadcastId;
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getLastReadBroadcastId() { return lastReadBroadcastId; }
+    public void setLastReadBroadcastId(Long lastReadBroadcastId) { this.lastReadBroadcastId = lastReadBroadcastId; }
+}
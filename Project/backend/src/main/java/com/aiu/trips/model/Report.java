@@ -1,6 +1,7 @@
 package com.aiu.trips.model;
 
 import com.aiu.trips.enums.ExportFormat;
+import com.aiu.trips.enums.ReportStatus;
 import com.aiu.trips.enums.ReportType;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -36,9 +37,28 @@ public class Report {
     @Column(nullable = false)
     private ExportFormat format;
 
+    @Enumerated(EnumType.STRING)
+    @Column
+    private ReportStatus status; // PENDING, RUNNING, COMPLETED, FAILED
+
+    @Column
+    private Long eventId; // Optional filter; null covers all events
+
+    @Column
+    private LocalDateTime completedDate;
+
+    @Column
+    private Long sizeBytes;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
     @PrePersist
     protected void onCreate() {
         generatedDate = LocalDateTime.now();
+        if (status == null) {
+            status = ReportStatus.PENDING;
+        }
     }
 
     // Constructors
@@ -108,4 +128,44 @@ public class Report {
     public void setFormat(ExportFormat format) {
         this.format = format;
     }
+
+    public ReportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReportStatus status) {
+        this.status = status;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public LocalDateTime getCompletedDate() {
+        return completedDate;
+    }
+
+    public void setCompletedDate(LocalDateTime completedDate) {
+        this.completedDate = completedDate;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
 }
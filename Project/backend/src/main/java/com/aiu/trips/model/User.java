@@ -1,7 +1,9 @@
 package com.aiu.trips.model;
 
 import com.aiu.trips.enums.UserRole;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 // Lombok temporarily removed due to Java 25 compatibility
 import java.time.LocalDateTime;
 
@@ -22,12 +24,15 @@ public class User {
     }
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
+    @ColumnDefault("nextval('users_seq')")
     private Long id;
     
     @Column(unique = true, nullable = false)
     private String email;
     
+    @JsonIgnore
     @Column(nullable = false)
     private String password;
     
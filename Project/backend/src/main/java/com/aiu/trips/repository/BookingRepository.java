@@ -1,8 +1,18 @@
 package com.aiu.trips.repository;
 
+import com.aiu.trips.dto.BookingSummaryDTO;
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.enums.PaymentMethod;
 import com.aiu.trips.model.Booking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +23,86 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByUser_IdAndEvent_Id(Long userId, Long eventId);
     Optional<Booking> findByBookingCode(String bookingCode);
     boolean existsByUser_IdAndEvent_Id(Long userId, Long eventId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Booking b SET b.qrCodePath = :qrCode WHERE b.id = :bookingId")
+    int updateQrCodePath(@Param("bookingId") Long bookingId, @Param("qrCode") String qrCode);
+
+    /**
+     * Booking count and amount paid for one status
+     */
+    interface StatusTotals {
+        BookingStatus getStatus();
+        Long getBookings();
+        Double getAmount();
+    }
+
+    @Query("SELECT b.status AS status, COUNT(b) AS bookings, COALESCE(SUM(b.amountPaid), 0) AS amount " +
+           "FROM Booking b GROUP BY b.status")
+    List<StatusTotals> sumByStatus();
+
+    @Query("SELECT b.status AS status, COUNT(b) AS bookings, COALESCE(SUM(b.amountPaid), 0) AS amount " +
+           "FROM Booking b WHERE b.event.id = :eventId GROUP BY b.status")
+    List<StatusTotals> sumByStatusForEvent(@Param("eventId") Long eventId);
+
+    /**
+     * Flat booking row for exports, so paging never loads the user and event entities
+     */
+    interface ExportRow {
+        Long getId();
+        String getBookingCode();
+        BookingStatus getStatus();
+        LocalDateTime getBookingDate();
+        Double getAmountPaid();
+        PaymentMethod getPaymentMethod();
+        String getEventTitle();
+        String getUserEmail();
+        LocalDateTime getValidatedAt();
+    }
+
+    String EXPORT_ROW_SELECT = "SELECT b.id AS id, b.bookingCode AS bookingCode, b.status AS status, " +
+            "b.bookingDate AS bookingDate, b.amountPaid AS amountPaid, b.paymentMethod AS paymentMethod, " +
+            "e.title AS eventTitle, u.email AS userEmail, b.validatedAt AS validatedAt " +
+            "FROM Booking b JOIN b.event e JOIN b.user u ";
+
+    // Keyset pages: pass the last id of the previous page, starting from 0
+    @Query(EXPORT_ROW_SELECT + "WHERE b.id > :afterId ORDER BY b.id")
+    List<ExportRow> findExportPage(@Param("afterId") Long afterId, Pageable page);
+
+    @Query(EXPORT_ROW_SELECT + "WHERE b.id > :afterId AND e.id = :eventId ORDER BY b.id")
+    List<ExportRow> findExportPageForEvent(@Param("afterId") Long afterId, @Param("eventId") Long eventId,
+                                           Pageable page);
+
+    /**
+     * The booking columns the analytics rollups are built from
+     */
+    interface RollupRow {
+        Long getId();
+        Long getEventId();
+        EventType getEventType();
+        BookingStatus getStatus();
+        LocalDateTime getBookingDate();
+        Double getAmountPaid();
+    }
+
+    // Keyset pages: pass the last id of the previous page, starting from 0
+    @Query("SELECT b.id AS id, e.id AS eventId, e.type AS eventType, b.status AS status, " +
+           "b.bookingDate AS bookingDate, b.amountPaid AS amountPaid " +
+           "FROM Booking b JOIN b.event e WHERE b.id > :afterId ORDER BY b.id")
+    List<RollupRow> findRollupPage(@Param("afterId") Long afterId, Pageable page);
+
+    String SUMMARY_SELECT = "SELECT new com.aiu.trips.dto.BookingSummaryDTO(b.id, b.bookingCode, b.status, " +
+            "b.bookingDate, b.amountPaid, b.paymentMethod, b.validatedAt, e.id, e.title, e.type, e.startDate, " +
+            "e.endDate, e.location, e.status, u.id, u.fullName, u.email) " +
+            "FROM Booking b JOIN b.event e JOIN b.user u ";
+
+    /**
+     * Booking listings in one query, without loading the user and event entities
+     */
+    @Query(SUMMARY_SELECT + "WHERE u.id = :userId ORDER BY b.id")
+    List<BookingSummaryDTO> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query(SUMMARY_SELECT + "WHERE e.id = :eventId ORDER BY b.id")
+    List<BookingSummaryDTO> findSummariesByEventId(@Param("eventId") Long eventId);
 }
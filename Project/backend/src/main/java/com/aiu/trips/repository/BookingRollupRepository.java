@@ -0,0 +1,90 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.enums.RollupGranularity;
+import com.aiu.trips.model.BookingRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BookingRollupRepository extends JpaRepository<BookingRollup, Long> {
+
+    /**
+     * Totals of one bucket (or of a range of buckets)
+     */
+    interface BucketTotals {
+        LocalDateTime getBucketStart();
+        Long getBookings();
+        Long getCancellations();
+        Double getRevenue();
+    }
+
+    /**
+     * Totals grouped by a calendar key (day of week or hour of day)
+     */
+    interface KeyedCount {
+        Integer getCalendarKey();
+        Long getBookings();
+    }
+
+    /**
+     * Totals over all history
+     */
+    interface OverallTotals {
+        LocalDateTime getFirstBucket();
+        Long getBookings();
+        Double getRevenue();
+    }
+
+    // Native: for JPQL arithmetic on parameters Hibernate emits casts that H2 cannot parse
+    @Modifying
+    @Query(value = "UPDATE booking_rollups SET " +
+           "booking_count = booking_count + :bookings, " +
+           "cancellation_count = cancellation_count + :cancellations, " +
+           "attended_count = attended_count + :attended, " +
+           "booked_amount = booked_amount + :bookedAmount, " +
+           "cancelled_amount = cancelled_amount + :cancelledAmount " +
+           "WHERE granularity = :#{#granularity.name()} AND bucket_start = :bucketStart AND event_id = :eventId",
+           nativeQuery = true)
+    int applyDelta(@Param("granularity") RollupGranularity granularity,
+                   @Param("bucketStart") LocalDateTime bucketStart,
+                   @Param("eventId") Long eventId,
+                   @Param("bookings") long bookings,
+                   @Param("cancellations") long cancellations,
+                   @Param("attended") long attended,
+                   @Param("bookedAmount") double bookedAmount,
+                   @Param("cancelledAmount") double cancelledAmount);
+
+    @Query("SELECT r.bucketStart AS bucketStart, SUM(r.bookingCount) AS bookings, " +
+           "SUM(r.cancellationCount) AS cancellations, SUM(r.bookedAmount - r.cancelledAmount) AS revenue " +
+           "FROM BookingRollup r WHERE r.granularity = :granularity " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<BucketTotals> sumByBucket(@Param("granularity") RollupGranularity granularity,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(r.bucketStart) AS firstBucket, SUM(r.bookingCount) AS bookings, " +
+           "SUM(r.bookedAmount - r.cancelledAmount) AS revenue " +
+           "FROM BookingRollup r WHERE r.granularity = :granularity")
+    OverallTotals sumAll(@Param("granularity") RollupGranularity granularity);
+
+    @Query("SELECT COALESCE(SUM(r.bookedAmount - r.cancelledAmount), 0) FROM BookingRollup r " +
+           "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to")
+    Double sumRevenue(@Param("granularity") RollupGranularity granularity,
+                      @Param("from") LocalDateTime from,
+                      @Param("to") LocalDateTime to);
+
+    @Query("SELECT r.dayOfWeek AS calendarKey, SUM(r.bookingCount) AS bookings FROM BookingRollup r " +
+           "WHERE r.granularity = :granularity GROUP BY r.dayOfWeek")
+    List<KeyedCount> sumByDayOfWeek(@Param("granularity") RollupGranularity granularity);
+
+    @Query("SELECT r.hourOfDay AS calendarKey, SUM(r.bookingCount) AS bookings FROM BookingRollup r " +
+           "WHERE r.granularity = :granularity GROUP BY r.hourOfDay")
+    List<KeyedCount> sumByHourOfDay(@Param("granularity") RollupGranularity granularity);
+}
@@ -0,0 +1,21 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.model.BroadcastNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BroadcastNotificationRepository extends JpaRepository<BroadcastNotification, Long> {
+    List<BroadcastNotification> findByCreatedAtGreaterThanEqualOrderByCreatedAtDesc(LocalDateTime since);
+    List<BroadcastNotification> findByIdGreaterThanAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+            Long afterId, LocalDateTime since);
+    List<BroadcastNotification> findTop100ByIdGreaterThanAndCreatedAtGreaterThanEqualOrderByIdAsc(
+            Long afterId, LocalDateTime since);
+    long countByIdGreaterThanAndCreatedAtGreaterThanEqual(Long afterId, LocalDateTime since);
+
+    @Query("SELECT MAX(b.id) FROM BroadcastNotification b")
+    Long findMaxId();
+}
@@ -0,0 +1,48 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.enums.EmailStatus;
+import com.aiu.trips.model.EmailOutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Messages due for sending, oldest first: pending ones and ones whose claim has lapsed
+     */
+    @Query("SELECT m.id FROM EmailOutboxMessage m WHERE m.status IN :statuses AND m.nextAttemptAt <= :now " +
+           "ORDER BY m.nextAttemptAt, m.id")
+    List<Long> findDueIds(@Param("statuses") Collection<EmailStatus> statuses, @Param("now") LocalDateTime now,
+            Pageable page);
+
+    /**
+     * Take a due message for sending until the lease runs out; returns 0 if another dispatcher got it first
+     */
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = :sending, m.nextAttemptAt = :leaseUntil " +
+           "WHERE m.id = :id AND m.status IN :statuses AND m.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("statuses") Collection<EmailStatus> statuses,
+            @Param("sending") EmailStatus sending, @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = :sent, m.sentAt = :now, " +
+           "m.attempts = m.attempts + 1, m.lastError = NULL WHERE m.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sent") EmailStatus sent,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = :sent AND m.sentAt < :before")
+    int deleteSentBefore(@Param("sent") EmailStatus sent, @Param("before") LocalDateTime before);
+
+    long countByStatus(EmailStatus status);
+}
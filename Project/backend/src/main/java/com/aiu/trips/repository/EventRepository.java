@@ -1,17 +1,86 @@
 package com.aiu.trips.repository;
 
+import com.aiu.trips.enums.BookingStatus;
 import com.aiu.trips.enums.EventStatus;
 import com.aiu.trips.enums.EventType;
 import com.aiu.trips.model.Event;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
     List<Event> findByType(EventType type);
     List<Event> findByStatus(EventStatus status);
     List<Event> findByStartDateAfter(LocalDateTime date);
     List<Event> findByCreatedBy_Id(Long userId);
+
+    /**
+     * Atomically takes one seat; returns 0 when the event is sold out or missing
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.availableSeats = e.availableSeats - 1 " +
+           "WHERE e.id = :eventId AND e.availableSeats > 0")
+    int decrementAvailableSeats(@Param("eventId") Long eventId);
+
+    /**
+     * Atomically gives one seat back, never exceeding the event capacity
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.availableSeats = e.availableSeats + 1 " +
+           "WHERE e.id = :eventId AND e.availableSeats < e.capacity")
+    int incrementAvailableSeats(@Param("eventId") Long eventId);
+
+    /**
+     * Event count for one status
+     */
+    interface StatusCount {
+        EventStatus getStatus();
+        Long getEvents();
+    }
+
+    /**
+     * Event count with total capacity and booked seats across all events
+     */
+    interface CapacityTotals {
+        Long getEvents();
+        Long getCapacity();
+        Long getBooked();
+    }
+
+    @Query("SELECT e.status AS status, COUNT(e) AS events FROM Event e GROUP BY e.status")
+    List<StatusCount> countByStatus();
+
+    @Query("SELECT COUNT(e) AS events, COALESCE(SUM(e.capacity), 0) AS capacity, " +
+           "COALESCE(SUM(e.capacity - e.availableSeats), 0) AS booked FROM Event e")
+    CapacityTotals sumCapacity();
+
+    /**
+     * Event count, booking count and revenue for one value of a breakdown dimension
+     */
+    interface DimensionTotals {
+        Object getDimension();
+        Long getEvents();
+        Long getBookings();
+        Double getRevenue();
+    }
+
+    // Shared by the breakdown queries below; revenue excludes the status passed as :excluded
+    String BREAKDOWN_TOTALS = "COUNT(DISTINCT e.id) AS events, COUNT(b.id) AS bookings, " +
+            "COALESCE(SUM(CASE WHEN b.status <> :excluded THEN b.amountPaid ELSE 0 END), 0) AS revenue " +
+            "FROM Event e LEFT JOIN Booking b ON b.event = e ";
+
+    @Query("SELECT e.type AS dimension, " + BREAKDOWN_TOTALS + "GROUP BY e.type")
+    List<DimensionTotals> sumByType(@Param("excluded") BookingStatus excluded);
+
+    @Query("SELECT e.location AS dimension, " + BREAKDOWN_TOTALS + "GROUP BY e.location")
+    List<DimensionTotals> sumByLocation(@Param("excluded") BookingStatus excluded);
+
+    @Query("SELECT c.email AS dimension, " + BREAKDOWN_TOTALS + "LEFT JOIN e.createdBy c GROUP BY c.email")
+    List<DimensionTotals> sumByCreator(@Param("excluded") BookingStatus excluded);
 }
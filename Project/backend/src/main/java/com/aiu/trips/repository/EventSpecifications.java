@@ -0,0 +1,46 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.enums.EventStatus;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.model.Event;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event predicates for catalogue browsing. Only the filters a request sets are
+ * combined, so each query carries just the conditions the event indexes can serve.
+ */
+public final class EventSpecifications {
+
+    private EventSpecifications() {}
+
+    public static Specification<Event> hasType(EventType type) {
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Event> hasStatus(EventStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Event> atLocation(String location) {
+        return (root, query, cb) -> cb.equal(root.get("location"), location);
+    }
+
+    public static Specification<Event> startsFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("startDate"), from);
+    }
+
+    public static Specification<Event> startsBefore(LocalDateTime before) {
+        return (root, query, cb) -> cb.lessThan(root.get("startDate"), before);
+    }
+
+    /**
+     * Events ordered after the given position in (startDate, id) order
+     */
+    public static Specification<Event> after(LocalDateTime startDate, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("startDate"), startDate),
+                cb.and(cb.equal(root.get("startDate"), startDate), cb.greaterThan(root.get("id"), id)));
+    }
+}
@@ -1,14 +1,32 @@
 package com.aiu.trips.repository;
 
+import com.aiu.trips.dto.FeedbackSummaryDTO;
 import com.aiu.trips.model.Feedback;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
-    List<Feedback> findByEvent_Id(Long eventId);
-    List<Feedback> findByUser_Id(Long userId);
     boolean existsByUser_IdAndEvent_Id(Long userId, Long eventId);
+
+    @Query("SELECT AVG(f.rating) FROM Feedback f WHERE f.event.id = :eventId")
+    Double averageRatingForEvent(@Param("eventId") Long eventId);
+
+    String SUMMARY_SELECT = "SELECT new com.aiu.trips.dto.FeedbackSummaryDTO(f.id, f.rating, f.comment, " +
+            "f.createdAt, e.id, e.title, e.type, e.startDate, e.endDate, e.location, e.status, " +
+            "u.id, u.fullName, u.email) " +
+            "FROM Feedback f JOIN f.event e JOIN f.user u ";
+
+    /**
+     * Feedback listings in one query, without loading the user and event entities
+     */
+    @Query(SUMMARY_SELECT + "WHERE e.id = :eventId ORDER BY f.id")
+    List<FeedbackSummaryDTO> findSummariesByEventId(@Param("eventId") Long eventId);
+
+    @Query(SUMMARY_SELECT + "WHERE u.id = :userId ORDER BY f.id")
+    List<FeedbackSummaryDTO> findSummariesByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,50 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.model.NotificationCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, Long> {
+
+    /**
+     * Creates the counters these users do not have yet, starting from their unread rows. A counter
+     * another transaction is creating is left to it rather than failing on the primary key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notification_counters (user_id, unread_count) " +
+           "SELECT u.id, (SELECT COUNT(*) FROM notifications n WHERE n.user_id = u.id AND n.is_read = FALSE) " +
+           "FROM users u WHERE u.id IN (:userIds) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int createMissing(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * One more unread notification at the next stream position. Run before the notification is
+     * inserted: the row lock it takes holds back other writers for the user until this commits.
+     */
+    @Modifying
+    @Query("UPDATE NotificationCounter c SET c.unreadCount = c.unreadCount + 1, " +
+           "c.streamPosition = c.streamPosition + 1 WHERE c.userId = :userId")
+    int increment(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE NotificationCounter c SET c.unreadCount = c.unreadCount + 1, " +
+           "c.streamPosition = c.streamPosition + 1 WHERE c.userId IN :userIds")
+    int incrementAll(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT c.streamPosition FROM NotificationCounter c WHERE c.userId = :userId")
+    Long findStreamPosition(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE NotificationCounter c SET c.unreadCount = c.unreadCount - 1 " +
+           "WHERE c.userId = :userId AND c.unreadCount > 0")
+    int decrement(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE NotificationCounter c SET c.unreadCount = 0 WHERE c.userId = :userId")
+    int reset(@Param("userId") Long userId);
+}
@@ -0,0 +1,29 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.model.NotificationReadCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationReadCursorRepository extends JpaRepository<NotificationReadCursor, Long> {
+
+    /**
+     * Starts the user's cursor before the first broadcast unless it already exists
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notification_read_cursors (user_id, last_read_broadcast_id) " +
+           "VALUES (:userId, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int createIfMissing(@Param("userId") Long userId);
+
+    /**
+     * Moves the user's cursor forward; never moves it back. Returns 0 when the user has no cursor yet
+     * or it is already further along.
+     */
+    @Modifying
+    @Query("UPDATE NotificationReadCursor c SET c.lastReadBroadcastId = :broadcastId " +
+           "WHERE c.userId = :userId AND c.lastReadBroadcastId < :broadcastId")
+    int advance(@Param("userId") Long userId, @Param("broadcastId") Long broadcastId);
+}
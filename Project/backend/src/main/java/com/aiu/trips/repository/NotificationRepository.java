@@ -1,12 +1,57 @@
 package com.aiu.trips.repository;
 
+import com.aiu.trips.dto.NotificationDTO;
 import com.aiu.trips.model.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByUser_IdOrderByCreatedAtDesc(Long userId);
-    List<Notification> findByUser_IdAndIsReadFalse(Long userId);
+    String DTO_SELECT = "SELECT new com.aiu.trips.dto.NotificationDTO(n.id, n.message, n.type, n.isRead, " +
+            "n.createdAt, false) FROM Notification n ";
+
+    /**
+     * The user's personal notifications as DTOs, without loading the entities
+     */
+    @Query(DTO_SELECT + "WHERE n.user.id = :userId ORDER BY n.createdAt DESC")
+    List<NotificationDTO> findDTOsByUserId(@Param("userId") Long userId);
+
+    @Query(DTO_SELECT + "WHERE n.user.id = :userId AND n.isRead = false ORDER BY n.createdAt DESC")
+    List<NotificationDTO> findUnreadDTOsByUserId(@Param("userId") Long userId);
+
+    /**
+     * The user's notifications written after a stream position, in commit order
+     */
+    List<Notification> findTop100ByUser_IdAndStreamPositionGreaterThanOrderByStreamPositionAsc(Long userId,
+            Long afterPosition);
+
+    /**
+     * One notification for each of the users with a counter, at the stream position the counter
+     * was just moved to; ids come from the column default
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notifications (user_id, message, type, is_read, created_at, stream_position) " +
+            "SELECT c.user_id, :message, :type, FALSE, :createdAt, c.stream_position " +
+            "FROM notification_counters c WHERE c.user_id IN (:userIds)",
+            nativeQuery = true)
+    int insertForUsers(@Param("userIds") Collection<Long> userIds, @Param("message") String message,
+            @Param("type") String type, @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Marks one of the user's notifications read; returns 0 if it was already read or is not theirs
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.id = :id AND n.user.id = :userId AND n.isRead = false")
+    int markRead(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllRead(@Param("userId") Long userId);
 }
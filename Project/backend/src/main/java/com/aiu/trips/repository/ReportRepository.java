@@ -0,0 +1,28 @@
+package com.aiu.trips.repository;
+
+import com.aiu.trips.enums.ReportStatus;
+import com.aiu.trips.model.Report;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReportRepository extends JpaRepository<Report, Long> {
+    List<Report> findByStatusIn(Collection<ReportStatus> statuses);
+    List<Report> findByGeneratedByOrderByGeneratedDateDesc(Long generatedBy);
+
+    /**
+     * Moves a job from PENDING to RUNNING; returns 0 if another worker already claimed it
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Report r SET r.status = com.aiu.trips.enums.ReportStatus.RUNNING " +
+           "WHERE r.reportId = :reportId AND r.status = com.aiu.trips.enums.ReportStatus.PENDING")
+    int claimPending(@Param("reportId") Long reportId);
+}
@@ -1,29 +1,57 @@
 package com.aiu.trips.security;
 
+import com.aiu.trips.util.CacheMetrics;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Issues and verifies JWTs.
+ * A token is verified once: its claims are kept on the current request and in a
+ * bounded global cache keyed by the token's SHA-256, until the token expires.
+ */
 @Component
 public class JwtUtil {
 
+    private static final int MAX_CACHED_TOKENS = 10_000;
+    private static final String REQUEST_CLAIMS_ATTRIBUTE = JwtUtil.class.getName() + ".claims";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    private final Map<String, Claims> claimsCache = new ConcurrentHashMap<>();
+
+    private final CacheMetrics claimsCacheMetrics = new CacheMetrics();
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     public String generateToken(String email, String role) {
@@ -38,10 +66,21 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Bearer token of the request, or null when it carries none
+     */
+    public String resolveToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        return null;
+    }
+
     public String extractEmail(String token) {
         return extractAllClaims(token).getSubject();
     }
@@ -51,18 +90,85 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            Object cached = request.getAttribute(REQUEST_CLAIMS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (cached instanceof VerifiedToken && ((VerifiedToken) cached).token.equals(token)) {
+                return ((VerifiedToken) cached).claims;
+            }
+        }
+
+        String key = hash(token);
+        Claims claims = claimsCache.get(key);
+        if (claims == null || isExpired(claims)) {
+            claimsCacheMetrics.recordMiss();
+            if (claims != null) {
+                claimsCache.remove(key);
+            }
+            // Throws for a bad signature, a malformed token or an expired token
+            claims = parser.parseSignedClaims(token).getPayload();
+            cache(key, claims);
+        } else {
+            claimsCacheMetrics.recordHit();
+        }
+
+        if (request != null) {
+            request.setAttribute(REQUEST_CLAIMS_ATTRIBUTE, new VerifiedToken(token, claims),
+                    RequestAttributes.SCOPE_REQUEST);
+        }
+        return claims;
+    }
+
+    /**
+     * Hits and misses of the verified-claims cache; repeat lookups within one request are not counted
+     */
+    public CacheMetrics getClaimsCacheMetrics() {
+        return claimsCacheMetrics;
     }
 
     public boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
+        return isExpired(extractAllClaims(token));
     }
 
     public boolean validateToken(String token, String email) {
-        return (email.equals(extractEmail(token)) && !isTokenExpired(token));
+        Claims claims = extractAllClaims(token);
+        return email.equals(claims.getSubject()) && !isExpired(claims);
+    }
+
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
+    }
+
+    private void cache(String key, Claims claims) {
+        if (claimsCache.size() >= MAX_CACHED_TOKENS) {
+            claimsCache.values().removeIf(this::isExpired);
+            // Still full of live tokens: drop an arbitrary tenth rather than grow
+            Iterator<String> keys = claimsCache.keySet().iterator();
+            for (int i = 0; i < MAX_CACHED_TOKENS / 10 && claimsCache.size() >= MAX_CACHED_TOKENS
+                    && keys.hasNext(); i++) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        claimsCache.put(key, claims);
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class VerifiedToken {
+        final String token;
+        final Claims claims;
+
+        VerifiedToken(String token, Claims claims) {
+            this.token = token;
+            this.claims = claims;
+        }
     }
 }
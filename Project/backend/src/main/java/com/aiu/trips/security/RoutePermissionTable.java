@@ -0,0 +1,203 @@
+package com.aiu.trips.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Route permission table shared by SecurityConfig and the RequestHandler chain.
+ * Rules are compiled once into a trie of path segments, so a lookup walks the path
+ * once without allocating. A pattern ending in "/**" covers the path itself and everything
+ * below it; the deepest matching rule wins, and a method-specific rule beats one for
+ * any method at the same depth. Paths with no rule require authentication.
+ */
+@Component
+public class RoutePermissionTable {
+
+    private static final String SUBTREE = "**";
+    private static final String[] METHODS = { "GET", "POST", "PUT", "PATCH", "DELETE" };
+    // Slot for rules that apply to any method; other methods only ever match this slot
+    private static final int ANY_METHOD = METHODS.length;
+
+    private final Node root = new Node();
+
+    public RoutePermissionTable() {
+        rule(null, "/api/auth/**", Access.PUBLIC);
+        rule(null, "/h2-console/**", Access.PUBLIC);
+        rule("GET", "/api/events/**", Access.PUBLIC);
+        rule(null, "/api/events/**", Access.roles("ADMIN"));
+        rule(null, "/api/admin/**", Access.roles("ADMIN"));
+        // Opened with a single-use ticket that the controller redeems, not a bearer token
+        rule("GET", "/api/notifications/stream", Access.PUBLIC);
+        rule("GET", "/actuator/health/**", Access.PUBLIC);
+        rule(null, "/actuator/**", Access.roles("ADMIN"));
+    }
+
+    /**
+     * Access rule for a request, looked up on the decoded path that Spring MVC dispatches on,
+     * so an encoded segment such as "%61dmin" cannot slip past the rule for "admin"
+     */
+    public Access lookup(HttpServletRequest request) {
+        return lookup(request.getMethod(), UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+    }
+
+    /**
+     * Access rule for a decoded request path (without the context path)
+     */
+    public Access lookup(String method, String path) {
+        int methodSlot = methodSlot(method);
+        Node node = root;
+        Access match = node.subtreeAccess(methodSlot);
+        int start = 0;
+        int length = path.length();
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                node = node.child(path, start, end - start);
+                if (node == null) {
+                    return match != null ? match : Access.AUTHENTICATED;
+                }
+                Access subtree = node.subtreeAccess(methodSlot);
+                if (subtree != null) {
+                    match = subtree;
+                }
+            }
+            start = end + 1;
+        }
+        Access exact = node.exactAccess(methodSlot);
+        if (exact != null) {
+            return exact;
+        }
+        return match != null ? match : Access.AUTHENTICATED;
+    }
+
+    private void rule(String method, String pattern, Access access) {
+        Node node = root;
+        boolean subtree = false;
+        for (String segment : pattern.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (SUBTREE.equals(segment)) {
+                subtree = true;
+                break;
+            }
+            node = node.addChild(segment);
+        }
+        int slot = method == null ? ANY_METHOD : methodSlot(method);
+        (subtree ? node.subtree : node.exact)[slot] = access;
+    }
+
+    private static int methodSlot(String method) {
+        for (int i = 0; i < METHODS.length; i++) {
+            if (METHODS[i].equalsIgnoreCase(method)) {
+                return i;
+            }
+        }
+        return ANY_METHOD;
+    }
+
+    /**
+     * Trie node; routes fan out to a handful of children, so a linear scan compared in place
+     * beats hashing a freshly cut substring for every segment
+     */
+    private static final class Node {
+        String[] segments = new String[0];
+        Node[] children = new Node[0];
+        final Access[] exact = new Access[ANY_METHOD + 1];
+        final Access[] subtree = new Access[ANY_METHOD + 1];
+
+        Node child(String path, int offset, int length) {
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.length() == length && path.regionMatches(offset, segment, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node addChild(String segment) {
+            Node existing = child(segment, 0, segment.length());
+            if (existing != null) {
+                return existing;
+            }
+            Node node = new Node();
+            segments = Arrays.copyOf(segments, segments.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            segments[segments.length - 1] = segment;
+            children[children.length - 1] = node;
+            return node;
+        }
+
+        Access exactAccess(int methodSlot) {
+            return forMethod(exact, methodSlot);
+        }
+
+        Access subtreeAccess(int methodSlot) {
+            return forMethod(subtree, methodSlot);
+        }
+
+        private static Access forMethod(Access[] rules, int methodSlot) {
+            Access access = rules[methodSlot];
+            return access != null ? access : rules[ANY_METHOD];
+        }
+    }
+
+    /**
+     * Who may call a route: anyone, any authenticated user, or users holding one of the roles
+     */
+    public static final class Access {
+        public static final Access PUBLIC = new Access(true, Collections.emptySet());
+        public static final Access AUTHENTICATED = new Access(false, Collections.emptySet());
+
+        private final boolean isPublic;
+        private final Set<String> roles;
+
+        private Access(boolean isPublic, Set<String> roles) {
+            this.isPublic = isPublic;
+            this.roles = roles;
+        }
+
+        public static Access roles(String... roles) {
+            return new Access(false, Set.of(roles));
+        }
+
+        public boolean isPublic() {
+            return isPublic;
+        }
+
+        public boolean allowsRole(String role) {
+            return roles.isEmpty() || (role != null && roles.contains(role));
+        }
+
+        public boolean isGranted(Authentication authentication) {
+            if (isPublic) {
+                return true;
+            }
+            if (authentication == null || !authentication.isAuthenticated()
+                    || authentication instanceof AnonymousAuthenticationToken) {
+                return false;
+            }
+            if (roles.isEmpty()) {
+                return true;
+            }
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                if (roles.contains(authority.getAuthority())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
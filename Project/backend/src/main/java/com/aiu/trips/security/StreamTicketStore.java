@@ -0,0 +1,84 @@
+package com.aiu.trips.security;
+
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived, single-use tickets for opening the notification stream.
+ * EventSource cannot send an Authorization header, and a JWT in the query string
+ * would end up in access logs and browser history. A ticket is issued to an
+ * authenticated request instead and opens one stream within a few seconds;
+ * after that it is worthless to whoever finds it in a log.
+ */
+@Component
+public class StreamTicketStore {
+
+    static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final int MAX_OUTSTANDING_TICKETS = 10_000;
+    private static final int TICKET_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+
+    public StreamTicketStore() {
+        this(System::nanoTime);
+    }
+
+    StreamTicketStore(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * New ticket for the user
+     */
+    public String issue(String email) {
+        long now = nanoClock.getAsLong();
+        if (tickets.size() >= MAX_OUTSTANDING_TICKETS) {
+            tickets.values().removeIf(ticket -> now - ticket.issuedAt > TTL_NANOS);
+            if (tickets.size() >= MAX_OUTSTANDING_TICKETS) {
+                throw new IllegalStateException("Too many stream tickets outstanding; try again shortly");
+            }
+        }
+        byte[] bytes = new byte[TICKET_BYTES];
+        random.nextBytes(bytes);
+        String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(value, new Ticket(email, now));
+        return value;
+    }
+
+    /**
+     * Email of the user the ticket was issued to, or null when it is unknown, expired or
+     * already used; a ticket is consumed by its first redemption either way
+     */
+    public String redeem(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Ticket ticket = tickets.remove(value);
+        if (ticket == null || nanoClock.getAsLong() - ticket.issuedAt > TTL_NANOS) {
+            return null;
+        }
+        return ticket.email;
+    }
+
+    public long getTtlSeconds() {
+        return TimeUnit.NANOSECONDS.toSeconds(TTL_NANOS);
+    }
+
+    private static final class Ticket {
+        final String email;
+        final long issuedAt;
+
+        Ticket(String email, long issuedAt) {
+            this.email = email;
+            this.issuedAt = issuedAt;
+        }
+    }
+}
@@ -1,29 +1,34 @@
 package com.aiu.trips.service;
 
-import com.aiu.trips.model.Booking;
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.BreakdownDimension;
+import com.aiu.trips.enums.RollupGranularity;
 import com.aiu.trips.model.Event;
-import com.aiu.trips.repository.BookingRepository;
+import com.aiu.trips.repository.BookingRollupRepository;
 import com.aiu.trips.repository.EventRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Advanced Analytics Service
- * Provides trend analysis, forecasting, and predictive insights
+ * Provides trend analysis, forecasting, and predictive insights.
+ * Time-based figures are read from the booking rollups maintained by BookingRollupService.
  */
 @Service
+@Timed(value = "trips.service", histogram = true)
 public class AdvancedAnalyticsService {
 
     @Autowired
     private EventRepository eventRepository;
 
     @Autowired
-    private BookingRepository bookingRepository;
+    private BookingRollupRepository rollupRepository;
 
     /**
      * Get booking trends over time (last 30 days)
@@ -33,28 +38,24 @@ public class AdvancedAnalyticsService {
         LocalDateTime endDate = LocalDateTime.now();
         LocalDateTime startDate = endDate.minusDays(days);
 
-        List<Booking> bookings = bookingRepository.findAll().stream()
-                .filter(b -> b.getBookingDate() != null && 
-                       b.getBookingDate().isAfter(startDate) &&
-                       b.getBookingDate().isBefore(endDate))
-                .collect(Collectors.toList());
-
-        // Group bookings by date
-        Map<String, Long> bookingsByDate = bookings.stream()
-                .collect(Collectors.groupingBy(
-                    b -> b.getBookingDate().toLocalDate().toString(),
-                    Collectors.counting()
-                ));
+        // Group bookings by date (one daily rollup bucket per day)
+        Map<String, Long> bookingsByDate = new LinkedHashMap<>();
+        long totalBookings = 0;
+        for (BookingRollupRepository.BucketTotals bucket : rollupRepository.sumByBucket(
+                RollupGranularity.DAILY, startDate.truncatedTo(ChronoUnit.DAYS), endDate)) {
+            bookingsByDate.put(bucket.getBucketStart().toLocalDate().toString(), bucket.getBookings());
+            totalBookings += bucket.getBookings();
+        }
 
         // Calculate trend direction
         List<Long> counts = new ArrayList<>(bookingsByDate.values());
         String trendDirection = calculateTrendDirection(counts);
 
         trends.put("period", days + " days");
-        trends.put("totalBookings", bookings.size());
+        trends.put("totalBookings", totalBookings);
         trends.put("bookingsByDate", bookingsByDate);
         trends.put("trendDirection", trendDirection);
-        trends.put("averageBookingsPerDay", bookings.size() / (double) days);
+        trends.put("averageBookingsPerDay", totalBookings / (double) days);
         trends.put("peakBookingDay", findPeakDay(bookingsByDate));
 
         return trends;
@@ -66,27 +67,24 @@ public class AdvancedAnalyticsService {
     public Map<String, Object> forecastRevenue(int futureDays) {
         Map<String, Object> forecast = new HashMap<>();
         
-        List<Booking> historicalBookings = bookingRepository.findAll();
-        
+        BookingRollupRepository.OverallTotals totals = rollupRepository.sumAll(RollupGranularity.DAILY);
+        long historicalBookings = totals != null && totals.getBookings() != null ? totals.getBookings() : 0;
+
         // Calculate historical average revenue per day
-        if (historicalBookings.isEmpty()) {
+        if (historicalBookings == 0) {
             forecast.put("forecastedRevenue", 0.0);
             forecast.put("confidence", "LOW");
             forecast.put("message", "Insufficient historical data");
             return forecast;
         }
 
-        double totalRevenue = historicalBookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .mapToDouble(Booking::getAmountPaid)
-                .sum();
+        // Revenue excludes cancelled bookings
+        double totalRevenue = totals.getRevenue() != null ? totals.getRevenue() : 0.0;
 
-        // Find earliest booking date
-        LocalDateTime earliestDate = historicalBookings.stream()
-                .map(Booking::getBookingDate)
-                .filter(Objects::nonNull)
-                .min(LocalDateTime::compareTo)
-                .orElse(LocalDateTime.now().minusDays(30));
+        // Earliest daily bucket is the earliest booking date
+        LocalDateTime earliestDate = totals.getFirstBucket() != null
+                ? totals.getFirstBucket()
+                : LocalDateTime.now().minusDays(30);
 
         long historicalDays = ChronoUnit.DAYS.between(earliestDate, LocalDateTime.now());
         if (historicalDays == 0) historicalDays = 1;
@@ -102,7 +100,7 @@ public class AdvancedAnalyticsService {
         forecast.put("baseForecasted Revenue", forecastedRevenue);
         forecast.put("growthRate", trendMultiplier * 100 + "%");
         forecast.put("adjustedForecastedRevenue", adjustedForecast);
-        forecast.put("confidence", getConfidenceLevel(historicalBookings.size()));
+        forecast.put("confidence", getConfidenceLevel(historicalBookings));
         forecast.put("historicalAveragePerDay", averageRevenuePerDay);
 
         return forecast;
@@ -112,48 +110,57 @@ public class AdvancedAnalyticsService {
      * Identify popular event categories (based on EventType: EVENT vs TRIP)
      */
     public Map<String, Object> getPopularCategories() {
+        Map<String, Object> breakdown = getBreakdown(BreakdownDimension.TYPE);
+
         Map<String, Object> analysis = new HashMap<>();
-        List<Event> events = eventRepository.findAll();
+        analysis.put("eventsByType", breakdown.get("events"));
+        analysis.put("revenueByType", breakdown.get("revenue"));
+        analysis.put("mostPopularType", breakdown.get("mostPopular"));
+        analysis.put("highestRevenueType", breakdown.get("highestRevenue"));
+        analysis.put("totalTypes", breakdown.get("totalValues"));
 
-        // Group by type and count
-        Map<String, Long> eventsByType = events.stream()
-                .filter(e -> e.getType() != null)
-                .collect(Collectors.groupingBy(
-                    e -> e.getType().toString(),
-                    Collectors.counting()
-                ));
+        return analysis;
+    }
 
-        // Calculate revenue by type
-        Map<String, Double> revenueByType = new HashMap<>();
-        for (Event event : events) {
-            if (event.getType() != null) {
-                String type = event.getType().toString();
-                List<Booking> eventBookings = bookingRepository.findByEvent_Id(event.getId());
-                double revenue = eventBookings.stream()
-                        .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                        .mapToDouble(Booking::getAmountPaid)
-                        .sum();
-                revenueByType.merge(type, revenue, Double::sum);
+    /**
+     * Event count, booking count and revenue per value of the given dimension,
+     * computed by a single grouped query
+     */
+    public Map<String, Object> getBreakdown(BreakdownDimension dimension) {
+        Map<String, Long> events = new HashMap<>();
+        Map<String, Long> bookings = new HashMap<>();
+        Map<String, Double> revenue = new HashMap<>();
+
+        for (EventRepository.DimensionTotals row : queryBreakdown(dimension)) {
+            if (row.getDimension() == null) {
+                continue;
             }
+            String key = row.getDimension().toString();
+            events.put(key, row.getEvents());
+            bookings.put(key, row.getBookings());
+            revenue.put(key, row.getRevenue());
         }
 
-        String mostPopular = eventsByType.entrySet().stream()
+        String mostPopular = events.entrySet().stream()
                 .max(Map.Entry.comparingByValue())
                 .map(Map.Entry::getKey)
                 .orElse("N/A");
 
-        String highestRevenue = revenueByType.entrySet().stream()
+        String highestRevenue = revenue.entrySet().stream()
                 .max(Map.Entry.comparingByValue())
                 .map(Map.Entry::getKey)
                 .orElse("N/A");
 
-        analysis.put("eventsByType", eventsByType);
-        analysis.put("revenueByType", revenueByType);
-        analysis.put("mostPopularType", mostPopular);
-        analysis.put("highestRevenueType", highestRevenue);
-        analysis.put("totalTypes", eventsByType.size());
+        Map<String, Object> breakdown = new HashMap<>();
+        breakdown.put("dimension", dimension.toString());
+        breakdown.put("events", events);
+        breakdown.put("bookings", bookings);
+        breakdown.put("revenue", revenue);
+        breakdown.put("mostPopular", mostPopular);
+        breakdown.put("highestRevenue", highestRevenue);
+        breakdown.put("totalValues", events.size());
 
-        return analysis;
+        return breakdown;
     }
 
     /**
@@ -207,28 +214,22 @@ public class AdvancedAnalyticsService {
      */
     public Map<String, Object> getPeakBookingPeriods() {
         Map<String, Object> peaks = new HashMap<>();
-        List<Booking> bookings = bookingRepository.findAll();
+        // Analyze by day of week
+        Map<String, Long> bookingsByDayOfWeek = new LinkedHashMap<>();
+        for (BookingRollupRepository.KeyedCount row : rollupRepository.sumByDayOfWeek(RollupGranularity.HOURLY)) {
+            bookingsByDayOfWeek.put(DayOfWeek.of(row.getCalendarKey()).toString(), row.getBookings());
+        }
 
-        if (bookings.isEmpty()) {
+        if (bookingsByDayOfWeek.isEmpty()) {
             peaks.put("message", "No bookings available for analysis");
             return peaks;
         }
 
-        // Analyze by day of week
-        Map<String, Long> bookingsByDayOfWeek = bookings.stream()
-                .filter(b -> b.getBookingDate() != null)
-                .collect(Collectors.groupingBy(
-                    b -> b.getBookingDate().getDayOfWeek().toString(),
-                    Collectors.counting()
-                ));
-
         // Analyze by hour of day
-        Map<Integer, Long> bookingsByHour = bookings.stream()
-                .filter(b -> b.getBookingDate() != null)
-                .collect(Collectors.groupingBy(
-                    b -> b.getBookingDate().getHour(),
-                    Collectors.counting()
-                ));
+        Map<Integer, Long> bookingsByHour = new LinkedHashMap<>();
+        for (BookingRollupRepository.KeyedCount row : rollupRepository.sumByHourOfDay(RollupGranularity.HOURLY)) {
+            bookingsByHour.put(row.getCalendarKey(), row.getBookings());
+        }
 
         String peakDayOfWeek = bookingsByDayOfWeek.entrySet().stream()
                 .max(Map.Entry.comparingByValue())
@@ -289,31 +290,30 @@ public class AdvancedAnalyticsService {
 
     private double calculateRevenueGrowthRate() {
         // Simple growth rate calculation based on last 30 days vs previous 30 days
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime thirtyDaysAgo = now.minusDays(30);
-        LocalDateTime sixtyDaysAgo = now.minusDays(60);
-
-        List<Booking> recent = bookingRepository.findAll().stream()
-                .filter(b -> b.getBookingDate() != null &&
-                       b.getBookingDate().isAfter(thirtyDaysAgo) &&
-                       "CONFIRMED".equals(b.getStatus()))
-                .collect(Collectors.toList());
-
-        List<Booking> previous = bookingRepository.findAll().stream()
-                .filter(b -> b.getBookingDate() != null &&
-                       b.getBookingDate().isAfter(sixtyDaysAgo) &&
-                       b.getBookingDate().isBefore(thirtyDaysAgo) &&
-                       "CONFIRMED".equals(b.getStatus()))
-                .collect(Collectors.toList());
-
-        double recentRevenue = recent.stream().mapToDouble(Booking::getAmountPaid).sum();
-        double previousRevenue = previous.stream().mapToDouble(Booking::getAmountPaid).sum();
+        // Bounds on day boundaries, so each window holds whole DAILY buckets; today's bucket counts as recent
+        LocalDateTime tomorrow = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).plusDays(1);
+        LocalDateTime thirtyDaysAgo = tomorrow.minusDays(30);
+        LocalDateTime sixtyDaysAgo = tomorrow.minusDays(60);
+
+        double recentRevenue = rollupRepository.sumRevenue(RollupGranularity.DAILY, thirtyDaysAgo, tomorrow);
+        double previousRevenue = rollupRepository.sumRevenue(RollupGranularity.DAILY, sixtyDaysAgo, thirtyDaysAgo);
 
         if (previousRevenue == 0) return 0;
         return (recentRevenue - previousRevenue) / previousRevenue;
     }
 
-    private String getConfidenceLevel(int dataPoints) {
+    private List<EventRepository.DimensionTotals> queryBreakdown(BreakdownDimension dimension) {
+        switch (dimension) {
+            case LOCATION:
+                return eventRepository.sumByLocation(BookingStatus.CANCELLED);
+            case CREATOR:
+                return eventRepository.sumByCreator(BookingStatus.CANCELLED);
+            default:
+                return eventRepository.sumByType(BookingStatus.CANCELLED);
+        }
+    }
+
+    private String getConfidenceLevel(long dataPoints) {
         if (dataPoints > 100) return "HIGH";
         if (dataPoints > 50) return "MEDIUM";
         if (dataPoints > 20) return "LOW";
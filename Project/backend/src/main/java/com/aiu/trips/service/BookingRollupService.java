@@ -0,0 +1,197 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.enums.RollupGranularity;
+import com.aiu.trips.model.Booking;
+import com.aiu.trips.model.BookingRollup;
+import com.aiu.trips.repository.BookingRepository;
+import com.aiu.trips.repository.BookingRollupRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the hourly and daily booking rollups used by AdvancedAnalyticsService.
+ * Deltas are applied after the booking transaction commits, in their own transaction,
+ * so analytics never count a booking that was rolled back.
+ */
+@Service
+public class BookingRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingRollupService.class);
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    @Autowired
+    private BookingRollupRepository rollupRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate requiresNew;
+
+    public BookingRollupService(PlatformTransactionManager transactionManager) {
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void recordBooking(Booking booking) {
+        afterCommit(booking, new long[] { 1, 0, 0 }, amountOf(booking), 0.0);
+    }
+
+    public void recordCancellation(Booking booking) {
+        afterCommit(booking, new long[] { 0, 1, 0 }, 0.0, amountOf(booking));
+    }
+
+    public void recordValidation(Booking booking) {
+        afterCommit(booking, new long[] { 0, 0, 1 }, 0.0, 0.0);
+    }
+
+    /**
+     * Populate the rollups from the bookings table when they are empty
+     * (first start after upgrade, or data seeded directly through repositories)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rollupRepository.count() == 0 && bookingRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recompute all rollups from the bookings table, one page of bookings at a time
+     */
+    public void rebuild() {
+        requiresNew.executeWithoutResult(status -> {
+            rollupRepository.deleteAllInBatch();
+            Map<String, BookingRollup> rollups = new HashMap<>();
+            long afterId = 0;
+            List<BookingRepository.RollupRow> page;
+            do {
+                page = bookingRepository.findRollupPage(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (BookingRepository.RollupRow row : page) {
+                    if (row.getBookingDate() == null) {
+                        continue;
+                    }
+                    for (RollupGranularity granularity : RollupGranularity.values()) {
+                        LocalDateTime bucket = bucketOf(granularity, row.getBookingDate());
+                        BookingRollup rollup = rollups.computeIfAbsent(
+                                granularity + "|" + bucket + "|" + row.getEventId(),
+                                k -> new BookingRollup(granularity, bucket, row.getEventId(), row.getEventType()));
+                        accumulate(rollup, row.getStatus(), amountOf(row.getAmountPaid()));
+                    }
+                }
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+                // Keep the one long transaction's memory bounded by a page, not by the bookings table
+                entityManager.clear();
+            } while (page.size() == REBUILD_PAGE_SIZE);
+            rollupRepository.saveAll(rollups.values());
+            logger.info("Rebuilt {} booking rollups", rollups.size());
+        });
+    }
+
+    private void accumulate(BookingRollup rollup, BookingStatus status, double amount) {
+        rollup.setBookingCount(rollup.getBookingCount() + 1);
+        rollup.setBookedAmount(rollup.getBookedAmount() + amount);
+        if (BookingStatus.CANCELLED.equals(status)) {
+            rollup.setCancellationCount(rollup.getCancellationCount() + 1);
+            rollup.setCancelledAmount(rollup.getCancelledAmount() + amount);
+        } else if (BookingStatus.ATTENDED.equals(status)) {
+            rollup.setAttendedCount(rollup.getAttendedCount() + 1);
+        }
+    }
+
+    private void afterCommit(Booking booking, long[] counts, double bookedAmount, double cancelledAmount) {
+        // Capture everything now; the entity is detached by the time the hook runs
+        Long bookingId = booking.getId();
+        LocalDateTime bookingDate = booking.getBookingDate();
+        Long eventId = booking.getEvent().getId();
+        EventType eventType = booking.getEvent().getType();
+        Runnable apply = () -> apply(bookingId, bookingDate, eventId, eventType, counts, bookedAmount, cancelledAmount);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private void apply(Long bookingId, LocalDateTime bookingDate, Long eventId, EventType eventType,
+                       long[] counts, double bookedAmount, double cancelledAmount) {
+        try {
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                applyDelta(granularity, bucketOf(granularity, bookingDate), eventId, eventType,
+                        counts, bookedAmount, cancelledAmount);
+            }
+        } catch (Exception e) {
+            // Rollups can always be rebuilt from bookings, so never fail the booking for them
+            logger.warn("Failed to update booking rollups for booking {}: {}", bookingId, e.getMessage());
+        }
+    }
+
+    private void applyDelta(RollupGranularity granularity, LocalDateTime bucket, Long eventId, EventType eventType,
+                            long[] counts, double bookedAmount, double cancelledAmount) {
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                int updated = rollupRepository.applyDelta(granularity, bucket, eventId,
+                        counts[0], counts[1], counts[2], bookedAmount, cancelledAmount);
+                if (updated == 0) {
+                    BookingRollup rollup = new BookingRollup(granularity, bucket, eventId, eventType);
+                    rollup.setBookingCount(counts[0]);
+                    rollup.setCancellationCount(counts[1]);
+                    rollup.setAttendedCount(counts[2]);
+                    rollup.setBookedAmount(bookedAmount);
+                    rollup.setCancelledAmount(cancelledAmount);
+                    rollupRepository.saveAndFlush(rollup);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another booking created the bucket concurrently; it exists now, so add to it
+            requiresNew.executeWithoutResult(status -> rollupRepository.applyDelta(granularity, bucket, eventId,
+                    counts[0], counts[1], counts[2], bookedAmount, cancelledAmount));
+        }
+    }
+
+    private static LocalDateTime bucketOf(RollupGranularity granularity, LocalDateTime time) {
+        return granularity == RollupGranularity.HOURLY
+                ? time.truncatedTo(ChronoUnit.HOURS)
+                : time.truncatedTo(ChronoUnit.DAYS);
+    }
+
+    private static double amountOf(Booking booking) {
+        return amountOf(booking.getAmountPaid());
+    }
+
+    private static double amountOf(Double amountPaid) {
+        return amountPaid != null ? amountPaid : 0.0;
+    }
+}
@@ -1,6 +1,7 @@
 package com.aiu.trips.service;
 
 import com.aiu.trips.constants.AppConstants;
+import com.aiu.trips.dto.BookingSummaryDTO;
 import com.aiu.trips.enums.BookingStatus;
 import com.aiu.trips.enums.EventStatus;
 import com.aiu.trips.exception.BookingException;
@@ -11,7 +12,8 @@ import com.aiu.trips.model.User;
 import com.aiu.trips.repository.BookingRepository;
 import com.aiu.trips.repository.EventRepository;
 import com.aiu.trips.repository.UserRepository;
-import com.aiu.trips.util.QRCodeGenerator;
+import com.aiu.trips.util.QrCodeSigner;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,8 +22,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Service
+@Timed(value = "trips.service", histogram = true)
 public class BookingService {
 
+    private static final String QR_PAYLOAD_PREFIX = "BOOKING:";
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -32,30 +37,34 @@ public class BookingService {
     private UserRepository userRepository;
 
     @Autowired
-    private QRCodeGenerator qrCodeGenerator;
+    private QrCodeRenderingService qrCodeRenderingService;
+
+    @Autowired
+    private QrCodeSigner qrCodeSigner;
 
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
     @Transactional
     public Booking createBooking(Long eventId, String userEmail) {
         User user = userRepository.findByEmail(userEmail)
             .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + userEmail));
-        
-        Event event = eventRepository.findById(eventId)
-            .orElseThrow(() -> new ResourceNotFoundException(AppConstants.EVENT_NOT_FOUND + eventId));
-
-        if (event.getAvailableSeats() <= 0) {
-            throw new BookingException(AppConstants.NO_SEATS_AVAILABLE);
-        }
 
         if (bookingRepository.existsByUser_IdAndEvent_Id(user.getId(), eventId)) {
             throw new BookingException("Already booked this event");
         }
 
-        // Update available seats
-        event.setAvailableSeats(event.getAvailableSeats() - 1);
-        eventRepository.save(event);
+        // Take the seat with a single conditional UPDATE (no read-modify-write)
+        seatInventoryService.reserve(eventId);
+
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new ResourceNotFoundException(AppConstants.EVENT_NOT_FOUND + eventId));
 
         // Create booking
         Booking booking = new Booking();
@@ -64,17 +73,15 @@ public class BookingService {
         booking.setBookingCode(UUID.randomUUID().toString());
         booking.setAmountPaid(event.getPrice());
 
-        // Generate QR code
-        try {
-            String qrData = "BOOKING:" + booking.getBookingCode() + "|EVENT:" + event.getId();
-            String qrCode = qrCodeGenerator.generateQRCodeBase64(qrData);
-            booking.setQrCodePath(qrCode);
-        } catch (Exception e) {
-            throw new BookingException("Failed to generate QR code: " + e.getMessage());
-        }
+        // Only the short signed payload is stored; the PNG is rendered on demand
+        booking.setQrCodePath(qrCodeSigner.sign(buildQrData(booking)));
 
         Booking savedBooking = bookingRepository.save(booking);
 
+        // Warm the image cache off this transaction once the booking commits
+        qrCodeRenderingService.renderAfterCommit(savedBooking.getQrCodePath());
+        bookingRollupService.recordBooking(savedBooking);
+
         // Send notification
         notificationService.notifyUser(
             user.getId(),
@@ -85,6 +92,7 @@ public class BookingService {
         return savedBooking;
     }
 
+    @Transactional
     public void cancelBooking(Long bookingId, String userEmail) {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new ResourceNotFoundException(AppConstants.BOOKING_NOT_FOUND + bookingId));
@@ -96,13 +104,17 @@ public class BookingService {
             throw new BookingException("Unauthorized to cancel this booking");
         }
 
+        if (BookingStatus.CANCELLED.equals(booking.getStatus())) {
+            throw new BookingException(AppConstants.BOOKING_ALREADY_CANCELLED);
+        }
+
         booking.setStatus(BookingStatus.CANCELLED);
         bookingRepository.save(booking);
+        bookingRollupService.recordCancellation(booking);
 
-        // Update available seats
+        // Give the seat back
         Event event = booking.getEvent();
-        event.setAvailableSeats(event.getAvailableSeats() + 1);
-        eventRepository.save(event);
+        seatInventoryService.release(event.getId());
 
         // Send notification
         notificationService.notifyUser(
@@ -112,14 +124,14 @@ public class BookingService {
         );
     }
 
-    public List<Booking> getUserBookings(String userEmail) {
+    public List<BookingSummaryDTO> getUserBookings(String userEmail) {
         User user = userRepository.findByEmail(userEmail)
             .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + userEmail));
-        return bookingRepository.findByUser_Id(user.getId());
+        return bookingRepository.findSummariesByUserId(user.getId());
     }
 
-    public List<Booking> getEventBookings(Long eventId) {
-        return bookingRepository.findByEvent_Id(eventId);
+    public List<BookingSummaryDTO> getEventBookings(Long eventId) {
+        return bookingRepository.findSummariesByEventId(eventId);
     }
 
     public Booking getBookingByCode(String bookingCode) {
@@ -127,6 +139,31 @@ public class BookingService {
             .orElseThrow(() -> new ResourceNotFoundException(AppConstants.BOOKING_NOT_FOUND + bookingCode));
     }
 
+    /**
+     * Signed QR payload of the booking.
+     * Older rows that still hold a Base64 PNG (or nothing) are migrated to the short form.
+     */
+    public String getQrCodePayload(String bookingCode) {
+        Booking booking = getBookingByCode(bookingCode);
+        String payload = booking.getQrCodePath();
+        if (payload == null || !payload.startsWith(QR_PAYLOAD_PREFIX)) {
+            payload = qrCodeSigner.sign(buildQrData(booking));
+            bookingRepository.updateQrCodePath(booking.getId(), payload);
+        }
+        return payload;
+    }
+
+    private String buildQrData(Booking booking) {
+        return qrData(booking.getBookingCode(), booking.getEvent().getId());
+    }
+
+    /**
+     * Unsigned QR payload of a booking; also used when bookings are bulk-inserted
+     */
+    public static String qrData(String bookingCode, Long eventId) {
+        return QR_PAYLOAD_PREFIX + bookingCode + "|EVENT:" + eventId;
+    }
+
     @Transactional
     public Booking validateTicket(String bookingCode, String validatedByEmail) {
         Booking booking = bookingRepository.findByBookingCode(bookingCode)
@@ -154,6 +191,7 @@ public class BookingService {
         booking.setValidatedBy(validatedByEmail);
 
         Booking validatedBooking = bookingRepository.save(booking);
+        bookingRollupService.recordValidation(validatedBooking);
 
         // Send notification to user
         notificationService.notifyUser(
@@ -8,24 +8,87 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Loads users for Spring Security.
+ * Every authenticated request resolves its user here, so loaded users are cached
+ * for a few minutes; role and password changes must call evict().
+ */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final long TTL_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final int MAX_CACHED_USERS = 10_000;
+
     @Autowired
     private UserRepository userRepository;
 
+    private final Map<String, CachedUser> cache = new ConcurrentHashMap<>();
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
-        
-        return new org.springframework.security.core.userdetails.User(
-            user.getEmail(),
-            user.getPassword(),
-            Collections.singletonList(new SimpleGrantedAuthority(user.getRole().name()))
-        );
+        long now = System.nanoTime();
+        CachedUser cached = cache.get(email);
+        if (cached == null || now - cached.loadedAt > TTL_NANOS) {
+            User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+
+            cached = new CachedUser(new org.springframework.security.core.userdetails.User(
+                user.getEmail(),
+                user.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority(user.getRole().name()))
+            ), now);
+            put(email, cached);
+        }
+
+        // Hand out a copy: authentication erases credentials on the instance it is given
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached.userDetails).build();
+    }
+
+    /**
+     * Drop the cached user now and again once the current transaction commits,
+     * so a request racing the change cannot re-cache the old role or password
+     */
+    public void evict(String email) {
+        cache.remove(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.remove(email);
+                }
+            });
+        }
+    }
+
+    private void put(String email, CachedUser cached) {
+        if (cache.size() >= MAX_CACHED_USERS) {
+            long now = System.nanoTime();
+            cache.values().removeIf(entry -> now - entry.loadedAt > TTL_NANOS);
+            Iterator<String> emails = cache.keySet().iterator();
+            while (cache.size() >= MAX_CACHED_USERS && emails.hasNext()) {
+                emails.next();
+                emails.remove();
+            }
+        }
+        cache.put(email, cached);
+    }
+
+    private static final class CachedUser {
+        final UserDetails userDetails;
+        final long loadedAt;
+
+        CachedUser(UserDetails userDetails, long loadedAt) {
+            this.userDetails = userDetails;
+            this.loadedAt = loadedAt;
+        }
     }
 }
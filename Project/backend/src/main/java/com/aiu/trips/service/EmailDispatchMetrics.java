@@ -0,0 +1,75 @@
+package com.aiu.trips.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Batches, delivered and failed messages, throttling and send timing of the email outbox dispatcher
+ */
+public class EmailDispatchMetrics {
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failedAttempts = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    void recordBatch(long delivered, long failed, long gaveUp, long nanos) {
+        batches.increment();
+        sent.add(delivered);
+        failedAttempts.add(failed);
+        abandoned.add(gaveUp);
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    void recordThrottled() {
+        throttled.increment();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getFailedAttempts() {
+        return failedAttempts.sum();
+    }
+
+    /**
+     * Messages that used up every attempt and were marked FAILED
+     */
+    public long getAbandoned() {
+        return abandoned.sum();
+    }
+
+    /**
+     * Dispatch rounds cut short by the provider send limit
+     */
+    public long getThrottled() {
+        return throttled.sum();
+    }
+
+    public double getAverageBatchMillis() {
+        long count = batches.sum();
+        return count == 0 ? 0 : totalNanos.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxBatchMillis() {
+        return maxNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Delivered messages per second of time spent talking to the provider
+     */
+    public double getSentPerSecond() {
+        long nanos = totalNanos.sum();
+        return nanos == 0 ? 0 : sent.sum() / (nanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+}
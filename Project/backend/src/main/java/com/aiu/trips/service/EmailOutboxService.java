@@ -0,0 +1,330 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.adapter.IEmailService;
+import com.aiu.trips.adapter.OutgoingEmail;
+import com.aiu.trips.chain.TokenBucketRateLimiter;
+import com.aiu.trips.enums.EmailStatus;
+import com.aiu.trips.model.EmailOutboxMessage;
+import com.aiu.trips.repository.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transactional email outbox.
+ * Emails are written to the email_outbox table in the caller's transaction and sent
+ * later by a single background dispatcher, so no request waits on the mail server
+ * and an email exists only if the change that caused it committed. The dispatcher
+ * claims due messages in batches, sends each batch over one SMTP connection, keeps
+ * within the provider's send rate and retries failures with exponential backoff.
+ * Polling starts with the application context and stops before its database goes away.
+ */
+@Service
+public class EmailOutboxService implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private static final Set<EmailStatus> CLAIMABLE = EnumSet.of(EmailStatus.PENDING, EmailStatus.SENDING);
+    // A dispatcher that dies mid-batch leaves SENDING rows; they become due again after this
+    private static final long CLAIM_LEASE_MINUTES = 5;
+    private static final long MAX_RETRY_DELAY_MS = TimeUnit.HOURS.toMillis(1);
+    private static final long SENT_RETENTION_DAYS = 7;
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.HOURS.toNanos(1);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+
+    private static final String INSERT_FOR_ALL_USERS =
+            "INSERT INTO email_outbox (recipient, subject, body, status, attempts, next_attempt_at, created_at) " +
+            "SELECT u.email, ?, ?, ?, 0, ?, ? FROM users u";
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private IEmailService emailService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${mail.outbox.poll-interval-ms:5000}")
+    private long pollIntervalMs;
+
+    @Value("${mail.outbox.max-per-minute:600}")
+    private int maxPerMinute;
+
+    @Value("${mail.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.retry-base-ms:30000}")
+    private long retryBaseMs;
+
+    private final EmailDispatchMetrics metrics = new EmailDispatchMetrics();
+    private final TokenBucketRateLimiter providerLimiter = new TokenBucketRateLimiter(16, TimeUnit.MINUTES.toMillis(5));
+    private final AtomicBoolean wakeupQueued = new AtomicBoolean();
+    private long nextPurge = System.nanoTime();
+
+    // Created on start, so a stopped context can be started again
+    private volatile ScheduledExecutorService dispatcher;
+    private volatile boolean running;
+
+    /**
+     * Queue an email in the current transaction; it is sent once the transaction commits
+     */
+    @Transactional
+    public void enqueue(String to, String subject, String body) {
+        outboxRepository.save(new EmailOutboxMessage(to, subject, body));
+        wakeDispatcherAfterCommit();
+    }
+
+    /**
+     * Queue the same email for every user with one INSERT ... SELECT
+     * @return Number of emails queued
+     */
+    @Transactional
+    public int enqueueForAllUsers(String subject, String body) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int queued = jdbcTemplate.update(INSERT_FOR_ALL_USERS, subject, body, EmailStatus.PENDING.name(), now, now);
+        wakeDispatcherAfterCommit();
+        return queued;
+    }
+
+    public EmailDispatchMetrics getMetrics() {
+        return metrics;
+    }
+
+    public long getPendingCount() {
+        return outboxRepository.countByStatus(EmailStatus.PENDING);
+    }
+
+    /**
+     * Start polling; this also picks up whatever was left in the outbox when it last stopped
+     */
+    @Override
+    public void start() {
+        // One thread: batches go out in order and the provider sees a single sender
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher = executor;
+        running = true;
+        executor.scheduleWithFixedDelay(this::dispatchDue, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop polling and wait for the batch in flight, which runs before the data source
+     * and the schema are shut down; unsent messages stay in the outbox for the next start
+     */
+    @Override
+    public void stop() {
+        running = false;
+        ScheduledExecutorService executor = dispatcher;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Send every due message, batch after batch, until the outbox is drained,
+     * the provider limit is reached or the dispatcher is stopping
+     */
+    void dispatchDue() {
+        try {
+            while (running && dispatchBatch() == batchSize) {
+                // A full batch: there may be more waiting
+            }
+            purgeSentMessages();
+        } catch (Exception e) {
+            logger.warn("Email outbox dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    private int dispatchBatch() {
+        List<Long> claimed = claimBatch();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        List<EmailOutboxMessage> messages = outboxRepository.findAllById(claimed);
+        List<OutgoingEmail> emails = new ArrayList<>(messages.size());
+        for (EmailOutboxMessage message : messages) {
+            emails.add(new OutgoingEmail(message.getRecipient(), message.getSubject(), message.getBody()));
+        }
+
+        long start = System.nanoTime();
+        Map<OutgoingEmail, Exception> failures;
+        Exception batchFailure = null;
+        try {
+            failures = emailService.sendBatch(emails);
+        } catch (Exception e) {
+            // Could not talk to the provider at all: every message in the batch is retried
+            failures = Map.of();
+            batchFailure = e;
+        }
+        long nanos = System.nanoTime() - start;
+
+        List<Long> sent = new ArrayList<>();
+        List<EmailOutboxMessage> failed = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            Exception failure = batchFailure != null ? batchFailure : failures.get(emails.get(i));
+            if (failure == null) {
+                sent.add(messages.get(i).getId());
+            } else {
+                failed.add(messages.get(i));
+                errors.add(failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName());
+            }
+        }
+        int gaveUp = recordResults(sent, failed, errors);
+        metrics.recordBatch(sent.size(), failed.size(), gaveUp, nanos);
+        return claimed.size();
+    }
+
+    // Claims up to a batch of due messages, one permit from the provider limit each
+    private List<Long> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> due = outboxRepository.findDueIds(CLAIMABLE, now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime leaseUntil = now.plusMinutes(CLAIM_LEASE_MINUTES);
+        List<Long> claimed = new ArrayList<>(due.size());
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Long id : due) {
+                if (!providerLimiter.tryAcquire(emailService.getProviderKey(), maxPerMinute, batchSize)) {
+                    metrics.recordThrottled();
+                    break;
+                }
+                if (outboxRepository.claim(id, CLAIMABLE, EmailStatus.SENDING, now, leaseUntil) == 1) {
+                    claimed.add(id);
+                }
+            }
+        });
+        return claimed;
+    }
+
+    // Returns how many failed messages ran out of attempts
+    private int recordResults(List<Long> sent, List<EmailOutboxMessage> failed, List<String> errors) {
+        int[] gaveUp = new int[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outboxRepository.markSent(sent, EmailStatus.SENT, LocalDateTime.now());
+            }
+            for (int i = 0; i < failed.size(); i++) {
+                EmailOutboxMessage message = failed.get(i);
+                int attempts = message.getAttempts() + 1;
+                message.setAttempts(attempts);
+                message.setLastError(truncate(errors.get(i)));
+                if (attempts >= maxAttempts) {
+                    message.setStatus(EmailStatus.FAILED);
+                    gaveUp[0]++;
+                    logger.warn("Giving up on email {} to {} after {} attempts: {}", message.getId(),
+                            message.getRecipient(), attempts, message.getLastError());
+                } else {
+                    message.setStatus(EmailStatus.PENDING);
+                    message.setNextAttemptAt(LocalDateTime.now().plusNanos(
+                            TimeUnit.MILLISECONDS.toNanos(retryDelayMs(attempts))));
+                }
+            }
+            outboxRepository.saveAll(failed);
+        });
+        return gaveUp[0];
+    }
+
+    // Doubles with each attempt up to an hour; the jitter spreads retries of one failed batch
+    private long retryDelayMs(int attempts) {
+        long delay = retryBaseMs << Math.min(attempts - 1, 20);
+        delay = Math.min(delay, MAX_RETRY_DELAY_MS);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+
+    private void purgeSentMessages() {
+        long now = System.nanoTime();
+        if (now - nextPurge < 0) {
+            return;
+        }
+        nextPurge = now + PURGE_INTERVAL_NANOS;
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.deleteSentBefore(
+                EmailStatus.SENT, LocalDateTime.now().minusDays(SENT_RETENTION_DAYS)));
+    }
+
+    private void wakeDispatcherAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeDispatcher();
+                }
+            });
+        } else {
+            wakeDispatcher();
+        }
+    }
+
+    // Several commits in a row queue a single extra round
+    private void wakeDispatcher() {
+        ScheduledExecutorService executor = dispatcher;
+        if (executor == null || !running) {
+            // Not started yet or stopping; the next poll picks the messages up
+            return;
+        }
+        if (wakeupQueued.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    wakeupQueued.set(false);
+                    dispatchDue();
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the messages stay in the outbox for the next start
+                wakeupQueued.set(false);
+            }
+        }
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,183 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.dto.ActivityDTO;
+import com.aiu.trips.dto.ActivityPageDTO;
+import com.aiu.trips.dto.EventFilterDTO;
+import com.aiu.trips.util.CacheMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of rendered event catalogue pages.
+ * Each page is kept as its serialized JSON with a content ETag, so a hit neither
+ * queries nor maps nor serializes anything. Event writes clear every page; a seat
+ * change only drops the pages showing that event. Entries also expire after a
+ * short TTL because "upcoming" pages depend on the clock. Keys come from client
+ * filters and cursors, so a full cache makes room by dropping expired pages and
+ * then the oldest one.
+ */
+@Component
+public class EventCatalogCache {
+
+    static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    static final int MAX_CACHED_PAGES = 1_000;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, Snapshot> pages = new ConcurrentHashMap<>();
+    // Bumped by every invalidation; a page loaded across an invalidation is served but not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    private final CacheMetrics metrics = new CacheMetrics();
+    private final LongSupplier nanoClock;
+
+    public EventCatalogCache() {
+        this(null, System::nanoTime);
+    }
+
+    EventCatalogCache(ObjectMapper objectMapper, LongSupplier nanoClock) {
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Cached page for the filters, loading and rendering it on a miss
+     */
+    public Snapshot get(EventFilterDTO filters, Supplier<ActivityPageDTO> loader) {
+        String key = keyOf(filters);
+        long now = nanoClock.getAsLong();
+        Snapshot cached = pages.get(key);
+        if (cached != null && now - cached.loadedAt <= TTL_NANOS) {
+            metrics.recordHit();
+            return cached;
+        }
+        metrics.recordMiss();
+
+        long loadGeneration = generation.get();
+        Snapshot snapshot = render(loader.get(), now);
+        if (generation.get() == loadGeneration) {
+            if (!pages.containsKey(key) && pages.size() >= MAX_CACHED_PAGES) {
+                makeRoom(now);
+            }
+            pages.put(key, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drop every page now and again after the current transaction commits;
+     * used when events are created, updated or cancelled
+     */
+    public void invalidateAll() {
+        runNowAndAfterCommit(() -> {
+            generation.incrementAndGet();
+            pages.clear();
+        });
+    }
+
+    /**
+     * Drop the pages listing one event; used when its available seats change
+     */
+    public void invalidateEvent(Long eventId) {
+        runNowAndAfterCommit(() -> {
+            generation.incrementAndGet();
+            pages.values().removeIf(page -> page.eventIds.contains(eventId));
+        });
+    }
+
+    public CacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void makeRoom(long now) {
+        pages.values().removeIf(page -> now - page.loadedAt > TTL_NANOS);
+        if (pages.size() >= MAX_CACHED_PAGES) {
+            pages.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().loadedAt))
+                    .ifPresent(oldest -> pages.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private void runNowAndAfterCommit(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private Snapshot render(ActivityPageDTO page, long loadedAt) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(page.getItems());
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(body);
+            if (page.getNextCursor() != null) {
+                digest.update(page.getNextCursor().getBytes(StandardCharsets.UTF_8));
+            }
+            String etag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()) + "\"";
+            Set<Long> eventIds = page.getItems().stream()
+                    .map(ActivityDTO::getActivityId)
+                    .collect(Collectors.toUnmodifiableSet());
+            return new Snapshot(body, etag, page.getNextCursor(), eventIds, loadedAt);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not render event catalogue page", e);
+        }
+    }
+
+    private static String keyOf(EventFilterDTO filters) {
+        return filters.getType() + "|" + filters.getStatus() + "|" + filters.getLocation() + "|"
+                + filters.getStartDate() + "|" + filters.getEndDate() + "|" + filters.getCursor() + "|"
+                + filters.getSize();
+    }
+
+    /**
+     * One rendered catalogue page; never modified once built
+     */
+    public static final class Snapshot {
+        private final byte[] body;
+        private final String etag;
+        private final String nextCursor;
+        private final Set<Long> eventIds;
+        private final long loadedAt;
+
+        Snapshot(byte[] body, String etag, String nextCursor, Set<Long> eventIds, long loadedAt) {
+            this.body = body;
+            this.etag = etag;
+            this.nextCursor = nextCursor;
+            this.eventIds = eventIds;
+            this.loadedAt = loadedAt;
+        }
+
+        /**
+         * Serialized JSON list of the page's activities; callers must not modify it
+         */
+        public byte[] getBody() { return body; }
+
+        public String getEtag() { return etag; }
+
+        public String getNextCursor() { return nextCursor; }
+    }
+}
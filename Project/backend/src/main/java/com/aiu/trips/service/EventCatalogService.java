@@ -0,0 +1,144 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.constants.AppConstants;
+import com.aiu.trips.dto.ActivityDTO;
+import com.aiu.trips.dto.ActivityPageDTO;
+import com.aiu.trips.dto.EventFilterDTO;
+import com.aiu.trips.enums.EventStatus;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.exception.ValidationException;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.repository.EventSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Paged event catalogue. Pages are keyset-paginated on (startDate, id): the cursor
+ * holds the last event of the previous page, so fetching any page costs the same
+ * index range scan however deep into the catalogue it is.
+ */
+@Service
+public class EventCatalogService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final Sort KEYSET_ORDER = Sort.by("startDate", "id");
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    /**
+     * One page of events matching the filters, converted with the caller's DTO mapping
+     */
+    @Transactional(readOnly = true)
+    public ActivityPageDTO browse(EventFilterDTO filters, Function<Event, ActivityDTO> converter) {
+        int size = pageSize(filters.getSize());
+        Specification<Event> spec = toSpecification(filters);
+
+        // Fetch one extra row to learn whether another page follows
+        List<Event> events = eventRepository.findBy(spec, query -> query.sortBy(KEYSET_ORDER).limit(size + 1).all());
+        boolean hasMore = events.size() > size;
+        if (hasMore) {
+            events = events.subList(0, size);
+        }
+
+        String nextCursor = hasMore ? encodeCursor(events.get(events.size() - 1)) : null;
+        return new ActivityPageDTO(events.stream().map(converter).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Every event matching the filters, in catalogue order
+     */
+    @Transactional(readOnly = true)
+    public List<ActivityDTO> listAll(EventFilterDTO filters, Function<Event, ActivityDTO> converter) {
+        return eventRepository.findBy(toSpecification(filters), query -> query.sortBy(KEYSET_ORDER).all())
+                .stream().map(converter).collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public Event getEvent(Long id) {
+        return eventRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(AppConstants.EVENT_NOT_FOUND + id));
+    }
+
+    private Specification<Event> toSpecification(EventFilterDTO filters) {
+        Specification<Event> spec = Specification.where(null);
+        if (filters.getType() != null) {
+            spec = spec.and(EventSpecifications.hasType(EventType.valueOf(filters.getType().name())));
+        }
+        if (filters.getStatus() != null) {
+            switch (filters.getStatus()) {
+                case UPCOMING -> spec = spec.and(EventSpecifications.hasStatus(EventStatus.ACTIVE))
+                        .and(EventSpecifications.startsFrom(LocalDateTime.now()));
+                case COMPLETED -> spec = spec.and(EventSpecifications.hasStatus(EventStatus.COMPLETED));
+                case CANCELLED -> spec = spec.and(EventSpecifications.hasStatus(EventStatus.CANCELLED));
+            }
+        }
+        if (filters.getLocation() != null && !filters.getLocation().isBlank()) {
+            spec = spec.and(EventSpecifications.atLocation(filters.getLocation().trim()));
+        }
+        if (filters.getStartDate() != null && !filters.getStartDate().isBlank()) {
+            spec = spec.and(EventSpecifications.startsFrom(parseDate(filters.getStartDate(), false)));
+        }
+        if (filters.getEndDate() != null && !filters.getEndDate().isBlank()) {
+            spec = spec.and(EventSpecifications.startsBefore(parseDate(filters.getEndDate(), true)));
+        }
+        if (filters.getCursor() != null && !filters.getCursor().isBlank()) {
+            spec = spec.and(decodeCursor(filters.getCursor()));
+        }
+        return spec;
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Accepts a date or a date-time; a bare end date includes the whole day
+     */
+    private LocalDateTime parseDate(String value, boolean endOfRange) {
+        try {
+            if (value.length() == 10) {
+                LocalDate date = LocalDate.parse(value);
+                return endOfRange ? date.plusDays(1).atStartOfDay() : date.atStartOfDay();
+            }
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException(AppConstants.INVALID_DATE + value);
+        }
+    }
+
+    private String encodeCursor(Event last) {
+        String position = last.getStartDate() + "," + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Specification<Event> decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf(',');
+            return EventSpecifications.after(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.valueOf(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException(AppConstants.INVALID_PAGE_CURSOR);
+        }
+    }
+}
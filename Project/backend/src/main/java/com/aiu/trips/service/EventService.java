@@ -26,12 +26,16 @@ public class EventService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private EventCatalogCache eventCatalogCache;
+
     public Event createEvent(Event event, String userEmail) {
         User user = userRepository.findByEmail(userEmail)
             .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + userEmail));
         
         event.setCreatedBy(user);
         Event savedEvent = eventRepository.save(event);
+        eventCatalogCache.invalidateAll();
         
         // Notify all users about new event
         notificationService.notifyAllUsers(
@@ -57,6 +61,7 @@ public class EventService {
         event.setImageUrl(eventDetails.getImageUrl());
         
         Event updatedEvent = eventRepository.save(event);
+        eventCatalogCache.invalidateAll();
         
         // Notify users about update
         notificationService.notifyEventParticipants(
@@ -74,6 +79,7 @@ public class EventService {
         
         event.setStatus(EventStatus.CANCELLED);
         eventRepository.save(event);
+        eventCatalogCache.invalidateAll();
         
         // Notify participants about cancellation
         notificationService.notifyEventParticipants(
@@ -1,6 +1,7 @@
 package com.aiu.trips.service;
 
 import com.aiu.trips.constants.AppConstants;
+import com.aiu.trips.dto.FeedbackSummaryDTO;
 import com.aiu.trips.enums.BookingStatus;
 import com.aiu.trips.exception.ResourceNotFoundException;
 import com.aiu.trips.exception.ValidationException;
@@ -65,24 +66,18 @@ public class FeedbackService {
         return feedbackRepository.save(feedback);
     }
 
-    public List<Feedback> getEventFeedbacks(Long eventId) {
-        return feedbackRepository.findByEvent_Id(eventId);
+    public List<FeedbackSummaryDTO> getEventFeedbacks(Long eventId) {
+        return feedbackRepository.findSummariesByEventId(eventId);
     }
 
-    public List<Feedback> getUserFeedbacks(String userEmail) {
+    public List<FeedbackSummaryDTO> getUserFeedbacks(String userEmail) {
         User user = userRepository.findByEmail(userEmail)
             .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + userEmail));
-        return feedbackRepository.findByUser_Id(user.getId());
+        return feedbackRepository.findSummariesByUserId(user.getId());
     }
 
     public Double getEventAverageRating(Long eventId) {
-        List<Feedback> feedbacks = feedbackRepository.findByEvent_Id(eventId);
-        if (feedbacks.isEmpty()) {
-            return 0.0;
-        }
-        return feedbacks.stream()
-            .mapToInt(Feedback::getRating)
-            .average()
-            .orElse(0.0);
+        Double average = feedbackRepository.averageRatingForEvent(eventId);
+        return average != null ? average : 0.0;
     }
 }
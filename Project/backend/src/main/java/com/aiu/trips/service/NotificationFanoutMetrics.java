@@ -0,0 +1,53 @@
+package com.aiu.trips.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Jobs, failures, inserted notifications and timing of notification fan-out
+ */
+public class NotificationFanoutMetrics {
+
+    private final LongAdder jobs = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder notifications = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    void record(long rows, long nanos, boolean failed) {
+        jobs.increment();
+        notifications.add(rows);
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (failed) {
+            failures.increment();
+        }
+    }
+
+    public long getJobs() {
+        return jobs.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getNotifications() {
+        return notifications.sum();
+    }
+
+    public double getAverageMillis() {
+        long count = jobs.sum();
+        return count == 0 ? 0 : totalNanos.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getNotificationsPerSecond() {
+        long nanos = totalNanos.sum();
+        return nanos == 0 ? 0 : notifications.sum() / (nanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,150 @@
+package com.aiu.trips.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Writes one notification per recipient without loading users or bookings.
+ * Each fan-out is a set-based INSERT ... SELECT run on a background worker once
+ * the triggering transaction commits, so the request that caused it never waits
+ * for the rows. Messages for every user are stored once as broadcasts instead.
+ */
+@Service
+public class NotificationFanoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationFanoutService.class);
+
+    private static final int QUEUE_CAPACITY = 1_000;
+
+    // Participants without a counter start from their unread rows before the new ones are added
+    private static final String CREATE_MISSING_PARTICIPANT_COUNTERS =
+            "INSERT INTO notification_counters (user_id, unread_count) " +
+            "SELECT DISTINCT b.user_id, (SELECT COUNT(*) FROM notifications n " +
+            "WHERE n.user_id = b.user_id AND n.is_read = FALSE) FROM bookings b WHERE b.event_id = ? " +
+            "ON CONFLICT DO NOTHING";
+
+    // Participants take the stream position their counter was just moved to
+    private static final String INSERT_FOR_EVENT_PARTICIPANTS =
+            "INSERT INTO notifications (user_id, message, type, is_read, created_at, stream_position) " +
+            "SELECT c.user_id, ?, ?, FALSE, ?, c.stream_position FROM notification_counters c " +
+            "WHERE c.user_id IN (SELECT b.user_id FROM bookings b WHERE b.event_id = ?)";
+
+    private static final String SELECT_EVENT_PARTICIPANTS =
+            "SELECT DISTINCT b.user_id FROM bookings b WHERE b.event_id = ?";
+
+    // Runs before the insert: the row locks hold back other writers for these users until commit
+    private static final String INCREMENT_EVENT_PARTICIPANT_COUNTERS =
+            "UPDATE notification_counters SET unread_count = unread_count + 1, " +
+            "stream_position = stream_position + 1 " +
+            "WHERE user_id IN (SELECT DISTINCT b.user_id FROM bookings b WHERE b.event_id = ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
+    private final NotificationFanoutMetrics metrics = new NotificationFanoutMetrics();
+
+    private final ThreadPoolExecutor fanoutPool;
+
+    public NotificationFanoutService() {
+        // One worker keeps fan-outs in submission order; when the queue is full the
+        // submitting thread runs the fan-out itself rather than dropping it
+        this.fanoutPool = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-fanout");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Notify each user holding a booking for the event once the current transaction commits
+     */
+    public void fanOutToEventParticipants(Long eventId, String message, String type) {
+        // The rows and the unread counters they add to are written in one transaction
+        submitAfterCommit(() -> {
+            Long rows = transactionTemplate.execute(status -> {
+                jdbcTemplate.update(CREATE_MISSING_PARTICIPANT_COUNTERS, eventId);
+                jdbcTemplate.update(INCREMENT_EVENT_PARTICIPANT_COUNTERS, eventId);
+                int inserted = jdbcTemplate.update(INSERT_FOR_EVENT_PARTICIPANTS,
+                        message, type, Timestamp.valueOf(LocalDateTime.now()), eventId);
+                return (long) inserted;
+            });
+            pushToConnectedParticipants(eventId);
+            return rows != null ? rows : 0L;
+        });
+    }
+
+    public NotificationFanoutMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Fan-out jobs waiting for the worker
+     */
+    public int getQueuedJobCount() {
+        return fanoutPool.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanoutPool.shutdown();
+    }
+
+    // The rows bypass NotificationService, so participants with an open stream catch up from the table
+    private void pushToConnectedParticipants(Long eventId) {
+        if (notificationStreamService.hasSubscribers()) {
+            notificationStreamService.catchUp(jdbcTemplate.queryForList(SELECT_EVENT_PARTICIPANTS, Long.class, eventId));
+        }
+    }
+
+    private void submitAfterCommit(LongSupplier fanout) {
+        Runnable job = () -> run(fanout);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    fanoutPool.execute(job);
+                }
+            });
+        } else {
+            fanoutPool.execute(job);
+        }
+    }
+
+    private void run(LongSupplier fanout) {
+        long start = System.nanoTime();
+        long rows = 0;
+        boolean failed = false;
+        try {
+            rows = fanout.getAsLong();
+        } catch (Exception e) {
+            failed = true;
+            logger.warn("Notification fan-out failed: {}", e.getMessage());
+        } finally {
+            metrics.record(rows, System.nanoTime() - start, failed);
+        }
+    }
+}
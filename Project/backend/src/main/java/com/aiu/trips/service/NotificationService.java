@@ -1,19 +1,38 @@
 package com.aiu.trips.service;
 
-import com.aiu.trips.model.Booking;
+import com.aiu.trips.constants.AppConstants;
+import com.aiu.trips.dto.NotificationDTO;
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.model.BroadcastNotification;
 import com.aiu.trips.model.Notification;
+import com.aiu.trips.model.NotificationCounter;
+import com.aiu.trips.model.NotificationReadCursor;
 import com.aiu.trips.model.User;
-import com.aiu.trips.repository.BookingRepository;
+import com.aiu.trips.repository.BroadcastNotificationRepository;
+import com.aiu.trips.repository.NotificationCounterRepository;
+import com.aiu.trips.repository.NotificationReadCursorRepository;
 import com.aiu.trips.repository.NotificationRepository;
 import com.aiu.trips.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @Service
 public class NotificationService {
 
+    // Bounds the user ids bound into one statement
+    private static final int USER_ID_CHUNK = 1_000;
+
+    private static final Comparator<NotificationDTO> NEWEST_FIRST =
+        Comparator.comparing(NotificationDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
     @Autowired
     private NotificationRepository notificationRepository;
 
@@ -21,57 +40,205 @@ public class NotificationService {
     private UserRepository userRepository;
 
     @Autowired
-    private BookingRepository bookingRepository;
+    private NotificationFanoutService notificationFanoutService;
+
+    @Autowired
+    private BroadcastNotificationRepository broadcastNotificationRepository;
+
+    @Autowired
+    private NotificationReadCursorRepository readCursorRepository;
 
+    @Autowired
+    private NotificationCounterRepository counterRepository;
+
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
+    @Transactional
     public void notifyUser(Long userId, String message, String type) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found"));
+        notify(user, message, type);
+    }
 
-        Notification notification = new Notification();
-        notification.setUser(user);
-        notification.setMessage(message);
-        notification.setType(type);
-        notificationRepository.save(notification);
+    @Transactional
+    public void notifyUser(String userEmail, String message, String type) {
+        notify(findUser(userEmail), message, type);
     }
 
+    /**
+     * Stores the same notification for each of the users with set-based inserts, a
+     * chunk of users per statement; ids that match no user are skipped
+     */
+    @Transactional
+    public void notifyUsers(Collection<Long> userIds, String message, String type) {
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(userIds));
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < ids.size(); from += USER_ID_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + USER_ID_CHUNK, ids.size()));
+            counterRepository.createMissing(chunk);
+            counterRepository.incrementAll(chunk);
+            notificationRepository.insertForUsers(chunk, message, type, now);
+        }
+        // The rows bypass publish, so recipients with an open stream catch up from the table
+        if (notificationStreamService.hasSubscribers()) {
+            notificationStreamService.catchUp(ids);
+        }
+    }
+
+    /**
+     * Stores one broadcast that every current user sees, instead of a row per user
+     */
+    @Transactional
     public void notifyAllUsers(String message, String type) {
-        List<User> users = userRepository.findAll();
-        users.forEach(user -> {
-            Notification notification = new Notification();
-            notification.setUser(user);
-            notification.setMessage(message);
-            notification.setType(type);
-            notificationRepository.save(notification);
-        });
+        BroadcastNotification broadcast = broadcastNotificationRepository.save(new BroadcastNotification(message, type));
+        notificationStreamService.publishToAll(toDTO(broadcast, false));
     }
 
+    /**
+     * Queues a notification for each user booked on the event; rows are written after commit
+     */
     public void notifyEventParticipants(Long eventId, String message, String type) {
-        List<Booking> bookings = bookingRepository.findByEvent_Id(eventId);
-        bookings.forEach(booking -> {
-            Notification notification = new Notification();
-            notification.setUser(booking.getUser());
-            notification.setMessage(message);
-            notification.setType(type);
-            notificationRepository.save(notification);
-        });
-    }
-
-    public List<Notification> getUserNotifications(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return notificationRepository.findByUser_IdOrderByCreatedAtDesc(user.getId());
+        notificationFanoutService.fanOutToEventParticipants(eventId, message, type);
+    }
+
+    /**
+     * Personal notifications merged with the broadcasts sent since the user registered, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> getUserNotifications(String userEmail) {
+        User user = findUser(userEmail);
+        long lastRead = lastReadBroadcastId(user.getId());
+        List<NotificationDTO> notifications = new ArrayList<>(notificationRepository.findDTOsByUserId(user.getId()));
+        broadcastNotificationRepository.findByCreatedAtGreaterThanEqualOrderByCreatedAtDesc(visibleSince(user))
+            .forEach(broadcast -> notifications.add(toDTO(broadcast, broadcast.getId() <= lastRead)));
+        notifications.sort(NEWEST_FIRST);
+        return notifications;
+    }
+
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> getUnreadNotifications(String userEmail) {
+        User user = findUser(userEmail);
+        List<NotificationDTO> notifications = new ArrayList<>(notificationRepository.findUnreadDTOsByUserId(user.getId()));
+        broadcastNotificationRepository.findByIdGreaterThanAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                lastReadBroadcastId(user.getId()), visibleSince(user))
+            .forEach(broadcast -> notifications.add(toDTO(broadcast, false)));
+        notifications.sort(NEWEST_FIRST);
+        return notifications;
+    }
+
+    /**
+     * Marks one of the user's notifications as read. A broadcast id (negative) moves the
+     * user's read cursor up to that broadcast, which also covers every older broadcast;
+     * ids past the latest broadcast are rejected so the cursor cannot skip future ones.
+     */
+    @Transactional
+    public void markAsRead(Long notificationId, String userEmail) {
+        User user = findUser(userEmail);
+        if (notificationId < 0) {
+            Long latestBroadcast = broadcastNotificationRepository.findMaxId();
+            if (latestBroadcast == null || notificationId < -latestBroadcast) {
+                throw new ResourceNotFoundException(AppConstants.NOTIFICATION_NOT_FOUND + notificationId);
+            }
+            markBroadcastsRead(user.getId(), -notificationId);
+            return;
+        }
+        if (notificationRepository.markRead(notificationId, user.getId()) == 1) {
+            counterRepository.decrement(user.getId());
+            return;
+        }
+        // Nothing changed: either it was already read or it is not this user's notification
+        notificationRepository.findById(notificationId)
+            .filter(found -> found.getUser() != null && user.getId().equals(found.getUser().getId()))
+            .orElseThrow(() -> new ResourceNotFoundException(AppConstants.NOTIFICATION_NOT_FOUND + notificationId));
+    }
+
+    /**
+     * Marks every personal notification and every broadcast read with one UPDATE each
+     */
+    @Transactional
+    public void markAllAsRead(String userEmail) {
+        User user = findUser(userEmail);
+        notificationRepository.markAllRead(user.getId());
+        counterRepository.createMissing(List.of(user.getId()));
+        counterRepository.reset(user.getId());
+        Long latestBroadcast = broadcastNotificationRepository.findMaxId();
+        if (latestBroadcast != null) {
+            markBroadcastsRead(user.getId(), latestBroadcast);
+        }
+    }
+
+    /**
+     * Unread personal notifications plus unread broadcasts, without loading either
+     */
+    @Transactional
+    public long getUnreadCount(String userEmail) {
+        User user = findUser(userEmail);
+        long broadcasts = broadcastNotificationRepository.countByIdGreaterThanAndCreatedAtGreaterThanEqual(
+            lastReadBroadcastId(user.getId()), visibleSince(user));
+        return personalUnreadCount(user.getId()) + broadcasts;
+    }
+
+    // The counter row is created from a one-off count the first time it is needed;
+    // notifications written before that are picked up by the count
+    private long personalUnreadCount(Long userId) {
+        return counterRepository.findById(userId)
+            .or(() -> {
+                counterRepository.createMissing(List.of(userId));
+                return counterRepository.findById(userId);
+            })
+            .map(NotificationCounter::getUnreadCount)
+            .orElse(0L);
+    }
+
+    private void markBroadcastsRead(Long userId, Long broadcastId) {
+        readCursorRepository.createIfMissing(userId);
+        readCursorRepository.advance(userId, broadcastId);
     }
 
-    public List<Notification> getUnreadNotifications(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
+    private long lastReadBroadcastId(Long userId) {
+        return readCursorRepository.findById(userId)
+            .map(NotificationReadCursor::getLastReadBroadcastId)
+            .orElse(0L);
+    }
+
+    // Users only see broadcasts sent after they registered
+    private LocalDateTime visibleSince(User user) {
+        return user.getCreatedAt() != null ? user.getCreatedAt() : LocalDateTime.of(1970, 1, 1, 0, 0);
+    }
+
+    // Saves the notification and pushes it to the user's open streams after commit. The counter
+    // is created first, so its starting count never includes the row it is then incremented for,
+    // and incremented before the insert, so the row takes the position the increment moved to.
+    private void notify(User user, String message, String type) {
+        counterRepository.createMissing(List.of(user.getId()));
+        counterRepository.increment(user.getId());
+        Notification notification = newNotification(user, message, type);
+        notification.setStreamPosition(counterRepository.findStreamPosition(user.getId()));
+        Notification saved = notificationRepository.save(notification);
+        notificationStreamService.publish(user.getEmail(), toDTO(saved), saved.getStreamPosition());
+    }
+
+    private static Notification newNotification(User user, String message, String type) {
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setMessage(message);
+        notification.setType(type);
+        return notification;
+    }
+
+    private User findUser(String userEmail) {
+        return userRepository.findByEmail(userEmail)
             .orElseThrow(() -> new RuntimeException("User not found"));
-        return notificationRepository.findByUser_IdAndIsReadFalse(user.getId());
     }
 
-    public void markAsRead(Long notificationId) {
-        Notification notification = notificationRepository.findById(notificationId)
-            .orElseThrow(() -> new RuntimeException("Notification not found"));
-        notification.setIsRead(true);
-        notificationRepository.save(notification);
+    static NotificationDTO toDTO(Notification notification) {
+        return new NotificationDTO(notification.getId(), notification.getMessage(), notification.getType(),
+            notification.getIsRead(), notification.getCreatedAt(), false);
+    }
+
+    static NotificationDTO toDTO(BroadcastNotification broadcast, boolean read) {
+        return new NotificationDTO(-broadcast.getId(), broadcast.getMessage(), broadcast.getType(),
+            read, broadcast.getCreatedAt(), true);
     }
 }
@@ -0,0 +1,453 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.constants.AppConstants;
+import com.aiu.trips.dto.NotificationDTO;
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.BroadcastNotificationRepository;
+import com.aiu.trips.repository.NotificationCounterRepository;
+import com.aiu.trips.repository.NotificationRepository;
+import com.aiu.trips.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes notifications to connected clients over Server-Sent Events.
+ * Each open stream is a subscriber with its own bounded outbox, drained by a small
+ * shared sender pool; a client that falls too far behind is disconnected and
+ * catches up from the database when it reconnects. Event ids carry the stream
+ * position of the last personal notification and the id of the last broadcast sent
+ * ("personal:broadcast"), so a reconnect with Last-Event-ID replays exactly what was
+ * missed. Personal positions come from the user's notification counter and follow
+ * commit order; a row written by a slower transaction with a lower sequence id is
+ * therefore never behind the position of one that committed before it.
+ */
+@Service
+public class NotificationStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    public static final String NOTIFICATION_EVENT = "notification";
+    public static final String READY_EVENT = "ready";
+
+    private static final long STREAM_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+    private static final long HEARTBEAT_SECONDS = 20;
+    private static final int OUTBOX_CAPACITY = 256;
+    private static final int MAX_STREAMS_PER_USER = 5;
+    private static final int SENDERS = 4;
+
+    private static final Comparator<Delivery> OLDEST_FIRST = Comparator.comparing(
+            delivery -> delivery.notification.getCreatedAt(), Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private BroadcastNotificationRepository broadcastNotificationRepository;
+
+    @Autowired
+    private NotificationCounterRepository counterRepository;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor senderPool;
+    private final ScheduledExecutorService heartbeat;
+
+    public NotificationStreamService() {
+        // A subscriber has at most one drain queued or running, so the queue is
+        // bounded by the number of open streams
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senderPool = new ThreadPoolExecutor(
+                SENDERS, SENDERS, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-stream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Open a stream for the user. With a Last-Event-ID from an earlier stream the
+     * notifications written since are replayed first; otherwise the stream starts
+     * from the newest notification and the client loads older ones from the list endpoint.
+     */
+    public SseEmitter subscribe(String userEmail, String lastEventId) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + userEmail));
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(userEmail, user.getId(),
+                user.getCreatedAt() != null ? user.getCreatedAt() : LocalDateTime.of(1970, 1, 1, 0, 0), emitter);
+
+        // Register before reading the position so nothing published meanwhile is lost;
+        // live deliveries are held until the replay is queued
+        subscriber.holds = 1;
+        register(subscriber);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+
+        long[] resumeFrom = parsePosition(lastEventId);
+        List<Delivery> missed = List.of();
+        long personalBaseline;
+        long broadcastBaseline;
+        try {
+            if (resumeFrom != null) {
+                personalBaseline = resumeFrom[0];
+                broadcastBaseline = resumeFrom[1];
+                missed = loadAfter(subscriber, personalBaseline, broadcastBaseline);
+            } else {
+                personalBaseline = valueOrZero(counterRepository.findStreamPosition(user.getId()));
+                broadcastBaseline = valueOrZero(broadcastNotificationRepository.findMaxId());
+            }
+        } catch (RuntimeException e) {
+            close(subscriber);
+            throw e;
+        }
+
+        synchronized (subscriber) {
+            subscriber.personalPosition = personalBaseline;
+            subscriber.broadcastPosition = broadcastBaseline;
+            offer(subscriber, SseEmitter.event()
+                    .id(subscriber.eventId())
+                    .name(READY_EVENT)
+                    .data(missed.size()));
+            releaseHold(subscriber, missed, personalBaseline, broadcastBaseline);
+        }
+        scheduleDrain(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Push a personal notification, written at the given stream position, to the user's
+     * open streams once the current transaction commits
+     */
+    public void publish(String userEmail, NotificationDTO notification, long streamPosition) {
+        Delivery delivery = new Delivery(notification, streamPosition);
+        afterCommit(() -> {
+            Set<Subscriber> streams = subscribers.get(userEmail);
+            if (streams != null) {
+                streams.forEach(subscriber -> deliver(subscriber, delivery));
+            }
+        });
+    }
+
+    /**
+     * Push a broadcast to every open stream once the current transaction commits
+     */
+    public void publishToAll(NotificationDTO broadcast) {
+        Delivery delivery = new Delivery(broadcast, Math.abs(broadcast.getId()));
+        afterCommit(() -> subscribers.values().forEach(
+                streams -> streams.forEach(subscriber -> deliver(subscriber, delivery))));
+    }
+
+    /**
+     * Replay what the users' open streams have missed once the current transaction commits;
+     * used after notifications are written in bulk without passing through publish
+     */
+    public void catchUp(Collection<Long> userIds) {
+        Set<Long> recipients = new HashSet<>(userIds);
+        afterCommit(() -> subscribers.values().forEach(streams -> streams.forEach(subscriber -> {
+            if (recipients.contains(subscriber.userId)) {
+                replay(subscriber);
+            }
+        })));
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Events written to open streams' outboxes but not yet sent to the client
+     */
+    public int getPendingEventCount() {
+        return subscribers.values().stream()
+                .flatMap(Set::stream)
+                .mapToInt(subscriber -> subscriber.outbox.size())
+                .sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscribers.values().forEach(streams -> streams.forEach(this::close));
+        senderPool.shutdown();
+    }
+
+    private void register(Subscriber subscriber) {
+        List<Subscriber> evicted = new ArrayList<>();
+        subscribers.compute(subscriber.email, (email, streams) -> {
+            Set<Subscriber> updated = streams != null ? streams : ConcurrentHashMap.newKeySet();
+            // Too many tabs open: the oldest stream gives way
+            while (updated.size() >= MAX_STREAMS_PER_USER) {
+                Subscriber oldest = updated.stream()
+                        .min(Comparator.comparingLong(existing -> existing.connectedAt))
+                        .orElseThrow();
+                updated.remove(oldest);
+                evicted.add(oldest);
+            }
+            updated.add(subscriber);
+            return updated;
+        });
+        evicted.forEach(this::close);
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.computeIfPresent(subscriber.email, (email, streams) -> {
+            streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private void close(Subscriber subscriber) {
+        unregister(subscriber);
+        try {
+            subscriber.emitter.complete();
+        } catch (Exception e) {
+            // Already completed or the connection is gone
+        }
+    }
+
+    private void deliver(Subscriber subscriber, Delivery delivery) {
+        synchronized (subscriber) {
+            if (subscriber.holds > 0) {
+                subscriber.held.add(delivery);
+                return;
+            }
+            push(subscriber, delivery);
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void replay(Subscriber subscriber) {
+        long personalBaseline;
+        long broadcastBaseline;
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            subscriber.holds++;
+            personalBaseline = subscriber.personalPosition;
+            broadcastBaseline = subscriber.broadcastPosition;
+        }
+        List<Delivery> missed = List.of();
+        try {
+            missed = loadAfter(subscriber, personalBaseline, broadcastBaseline);
+        } catch (RuntimeException e) {
+            logger.warn("Notification stream catch-up failed for {}: {}", subscriber.email, e.getMessage());
+        }
+        synchronized (subscriber) {
+            releaseHold(subscriber, missed, personalBaseline, broadcastBaseline);
+        }
+        scheduleDrain(subscriber);
+    }
+
+    // Caller holds the subscriber lock. Queues the replayed notifications, then the
+    // live ones held back meanwhile that the replay did not already cover.
+    private void releaseHold(Subscriber subscriber, List<Delivery> missed,
+            long personalBaseline, long broadcastBaseline) {
+        Set<Long> replayed = new HashSet<>();
+        for (Delivery delivery : missed) {
+            replayed.add(delivery.notification.getId());
+            push(subscriber, delivery);
+        }
+        if (--subscriber.holds > 0) {
+            return;
+        }
+        for (Delivery delivery : subscriber.held) {
+            long baseline = delivery.notification.isBroadcast() ? broadcastBaseline : personalBaseline;
+            if (!replayed.contains(delivery.notification.getId()) && delivery.position > baseline) {
+                push(subscriber, delivery);
+            }
+        }
+        subscriber.held.clear();
+    }
+
+    // Caller holds the subscriber lock
+    private void push(Subscriber subscriber, Delivery delivery) {
+        if (delivery.notification.isBroadcast()) {
+            subscriber.broadcastPosition = Math.max(subscriber.broadcastPosition, delivery.position);
+        } else {
+            subscriber.personalPosition = Math.max(subscriber.personalPosition, delivery.position);
+        }
+        offer(subscriber, SseEmitter.event()
+                .id(subscriber.eventId())
+                .name(NOTIFICATION_EVENT)
+                .data(delivery.notification));
+    }
+
+    private void offer(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.closed && !subscriber.outbox.offer(event)) {
+            // The client is not keeping up; it reconnects and replays from its last event id
+            logger.debug("Notification stream for {} fell behind; disconnecting", subscriber.email);
+            close(subscriber);
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.closed && !subscriber.outbox.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senderPool.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed && (event = subscriber.outbox.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            close(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Events queued after the last poll but before the flag was cleared
+        scheduleDrain(subscriber);
+    }
+
+    private void sendHeartbeats() {
+        subscribers.values().forEach(streams -> streams.forEach(subscriber -> {
+            // Only idle streams need one; an event on its way keeps the connection alive too
+            if (subscriber.outbox.isEmpty() && subscriber.outbox.offer(SseEmitter.event().comment("heartbeat"))) {
+                scheduleDrain(subscriber);
+            }
+        }));
+    }
+
+    private List<Delivery> loadAfter(Subscriber subscriber, long personalPosition, long broadcastId) {
+        List<Delivery> missed = new ArrayList<>();
+        notificationRepository.findTop100ByUser_IdAndStreamPositionGreaterThanOrderByStreamPositionAsc(
+                        subscriber.userId, personalPosition)
+                .forEach(notification -> missed.add(
+                        new Delivery(NotificationService.toDTO(notification), notification.getStreamPosition())));
+        broadcastNotificationRepository.findTop100ByIdGreaterThanAndCreatedAtGreaterThanEqualOrderByIdAsc(
+                        broadcastId, subscriber.visibleSince)
+                .forEach(broadcast -> missed.add(
+                        new Delivery(NotificationService.toDTO(broadcast, false), broadcast.getId())));
+        missed.sort(OLDEST_FIRST);
+        return missed;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long[] parsePosition(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        int separator = lastEventId.indexOf(':');
+        try {
+            return new long[] {
+                    Long.parseLong(lastEventId.substring(0, separator).trim()),
+                    Long.parseLong(lastEventId.substring(separator + 1).trim())
+            };
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            // Not one of ours; start afresh
+            return null;
+        }
+    }
+
+    private static long valueOrZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    /**
+     * One open stream. Positions, holds and held notifications are guarded by the
+     * subscriber's monitor; the outbox is drained by one sender at a time.
+     */
+    private static final class Subscriber {
+        final String email;
+        final Long userId;
+        final LocalDateTime visibleSince;
+        final SseEmitter emitter;
+        final long connectedAt = System.nanoTime();
+        final BlockingQueue<SseEmitter.SseEventBuilder> outbox = new ArrayBlockingQueue<>(OUTBOX_CAPACITY);
+        final AtomicBoolean draining = new AtomicBoolean();
+        final List<Delivery> held = new ArrayList<>();
+        volatile boolean closed;
+        long personalPosition;
+        long broadcastPosition;
+        int holds;
+
+        Subscriber(String email, Long userId, LocalDateTime visibleSince, SseEmitter emitter) {
+            this.email = email;
+            this.userId = userId;
+            this.visibleSince = visibleSince;
+            this.emitter = emitter;
+        }
+
+        String eventId() {
+            return personalPosition + ":" + broadcastPosition;
+        }
+    }
+
+    /**
+     * A notification on its way to a stream, with the position it moves the stream to:
+     * the stream position for personal notifications, the id for broadcasts
+     */
+    private static final class Delivery {
+        final NotificationDTO notification;
+        final long position;
+
+        Delivery(NotificationDTO notification, long position) {
+            this.notification = notification;
+            this.position = position;
+        }
+    }
+}
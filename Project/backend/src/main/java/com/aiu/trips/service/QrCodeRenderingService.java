@@ -0,0 +1,147 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.util.CacheMetrics;
+import com.aiu.trips.util.QRCodeGenerator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders booking QR images on demand from the signed QR payload.
+ * Rendered PNGs are kept in a byte-bounded LRU cache; new bookings are
+ * pre-rendered on a bounded worker pool after their transaction commits.
+ */
+@Service
+public class QrCodeRenderingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QrCodeRenderingService.class);
+
+    private static final int QUEUE_CAPACITY = 1000;
+    private static final long MAX_CACHE_BYTES = 16L * 1024 * 1024;
+
+    @Autowired
+    private QRCodeGenerator qrCodeGenerator;
+
+    private final ThreadPoolExecutor renderPool;
+
+    // Access-ordered map so iteration starts at the least recently used image
+    private final LinkedHashMap<String, byte[]> imageCache = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedBytes;
+
+    private final CacheMetrics metrics = new CacheMetrics();
+
+    public QrCodeRenderingService() {
+        // Rendering is CPU-bound, so one worker per core; when the queue is full
+        // the caller renders itself, which throttles producers instead of dropping work
+        int workers = Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.renderPool = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "qr-render-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Pre-render the QR image once the current transaction commits
+     * (immediately if there is no transaction)
+     */
+    public void renderAfterCommit(String qrPayload) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    renderPool.execute(() -> prerender(qrPayload));
+                }
+            });
+        } else {
+            renderPool.execute(() -> prerender(qrPayload));
+        }
+    }
+
+    /**
+     * PNG bytes for the payload, served from the cache when possible
+     */
+    public byte[] getPng(String qrPayload) {
+        byte[] png = getCached(qrPayload);
+        if (png != null) {
+            metrics.recordHit();
+            return png;
+        }
+        metrics.recordMiss();
+        try {
+            png = qrCodeGenerator.generateQRCodePng(qrPayload);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to generate QR code: " + e.getMessage(), e);
+        }
+        putCached(qrPayload, png);
+        return png;
+    }
+
+    /**
+     * Strong ETag for the payload; the rendered PNG is a pure function of it,
+     * so the tag can be checked without rendering
+     */
+    public String etagFor(String qrPayload) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(qrPayload.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public CacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void prerender(String qrPayload) {
+        try {
+            getPng(qrPayload);
+        } catch (Exception e) {
+            // The image is rendered again on first request, so a failure here is not fatal
+            logger.warn("QR pre-rendering failed: {}", e.getMessage());
+        }
+    }
+
+    private synchronized byte[] getCached(String qrPayload) {
+        return imageCache.get(qrPayload);
+    }
+
+    private synchronized void putCached(String qrPayload, byte[] png) {
+        byte[] previous = imageCache.put(qrPayload, png);
+        cachedBytes += png.length - (previous != null ? previous.length : 0);
+
+        Iterator<Map.Entry<String, byte[]>> eldest = imageCache.entrySet().iterator();
+        while (cachedBytes > MAX_CACHE_BYTES && eldest.hasNext()) {
+            cachedBytes -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdown();
+    }
+}
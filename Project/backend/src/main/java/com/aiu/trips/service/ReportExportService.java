@@ -1,6 +1,9 @@
 package com.aiu.trips.service;
 
 import com.aiu.trips.enums.ExportFormat;
+import com.aiu.trips.repository.BookingRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
@@ -8,15 +11,25 @@ import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Service for exporting reports to PDF and CSV formats
@@ -26,6 +39,18 @@ public class ReportExportService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    private static final int EXPORT_PAGE_SIZE = 1000;
+
+    private static final String[] BOOKING_COLUMNS = {
+            "Booking Code", "Event", "User", "Status", "Booking Date", "Amount Paid", "Payment Method", "Validated At"
+    };
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
     /**
      * Export report data to the specified format
      * @param reportData Map containing report data
@@ -159,6 +184,155 @@ public class ReportExportService {
         }
     }
 
+    /**
+     * Stream every booking (optionally of one event) to the given output in the specified format.
+     * Bookings are read one keyset page at a time and written as they arrive, so memory use
+     * does not grow with the number of bookings.
+     * @param eventId Event to export, or null for all bookings
+     */
+    public void exportBookings(Long eventId, ExportFormat format, String reportTitle, OutputStream out) {
+        try {
+            if (format == ExportFormat.PDF) {
+                streamBookingsToPdf(eventId, reportTitle, out);
+            } else if (format == ExportFormat.CSV) {
+                streamBookingsToCsv(eventId, reportTitle, out);
+            } else if (format == ExportFormat.JSON) {
+                streamBookingsToJson(eventId, reportTitle, out);
+            } else {
+                throw new IllegalArgumentException("Unsupported export format: " + format);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error streaming booking export: " + e.getMessage(), e);
+        }
+    }
+
+    private void streamBookingsToCsv(Long eventId, String reportTitle, OutputStream out) throws IOException {
+        CSVPrinter csvPrinter = new CSVPrinter(new OutputStreamWriter(out, StandardCharsets.UTF_8),
+                CSVFormat.DEFAULT
+                        .withCommentMarker('#')
+                        .withHeaderComments(reportTitle, "Generated: " + LocalDateTime.now().format(DATE_FORMATTER))
+                        .withHeader(BOOKING_COLUMNS));
+
+        forEachBookingPage(eventId, page -> {
+            try {
+                for (BookingRepository.ExportRow row : page) {
+                    csvPrinter.printRecord((Object[]) bookingCells(row));
+                }
+                csvPrinter.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        csvPrinter.flush();
+    }
+
+    private void streamBookingsToJson(Long eventId, String reportTitle, OutputStream out) throws IOException {
+        JsonGenerator json = JSON_FACTORY.createGenerator(out);
+        json.writeStartObject();
+        json.writeStringField("title", reportTitle);
+        json.writeStringField("generatedAt", LocalDateTime.now().format(DATE_FORMATTER));
+        json.writeArrayFieldStart("bookings");
+
+        forEachBookingPage(eventId, page -> {
+            try {
+                for (BookingRepository.ExportRow row : page) {
+                    json.writeStartObject();
+                    json.writeStringField("bookingCode", row.getBookingCode());
+                    json.writeStringField("event", row.getEventTitle());
+                    json.writeStringField("user", row.getUserEmail());
+                    json.writeStringField("status", row.getStatus() != null ? row.getStatus().toString() : null);
+                    json.writeStringField("bookingDate", formatDate(row.getBookingDate()));
+                    if (row.getAmountPaid() != null) {
+                        json.writeNumberField("amountPaid", row.getAmountPaid());
+                    } else {
+                        json.writeNullField("amountPaid");
+                    }
+                    json.writeStringField("paymentMethod",
+                            row.getPaymentMethod() != null ? row.getPaymentMethod().toString() : null);
+                    json.writeStringField("validatedAt", formatDate(row.getValidatedAt()));
+                    json.writeEndObject();
+                }
+                json.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        json.writeEndArray();
+        json.writeEndObject();
+        json.flush();
+    }
+
+    private void streamBookingsToPdf(Long eventId, String reportTitle, OutputStream out) {
+        PdfWriter writer = new PdfWriter(out);
+        writer.setCloseStream(false);
+        PdfDocument pdf = new PdfDocument(writer);
+        Document document = new Document(pdf);
+
+        document.add(new Paragraph(reportTitle)
+                .setFontSize(20)
+                .setBold()
+                .setTextAlignment(TextAlignment.CENTER));
+        document.add(new Paragraph("Generated: " + LocalDateTime.now().format(DATE_FORMATTER))
+                .setFontSize(10)
+                .setTextAlignment(TextAlignment.RIGHT));
+
+        // Large table mode: rows added so far are laid out and released on every flush
+        Table table = new Table(UnitValue.createPercentArray(BOOKING_COLUMNS.length), true)
+                .useAllAvailableWidth();
+        for (String column : BOOKING_COLUMNS) {
+            table.addHeaderCell(new Cell().add(new Paragraph(column).setBold().setFontSize(8)));
+        }
+        document.add(table);
+
+        forEachBookingPage(eventId, page -> {
+            for (BookingRepository.ExportRow row : page) {
+                for (String cell : bookingCells(row)) {
+                    table.addCell(new Cell().add(new Paragraph(cell).setFontSize(8)));
+                }
+            }
+            table.flush();
+        });
+
+        table.complete();
+        document.add(new Paragraph("AIU Trips & Events Management System")
+                .setFontSize(8)
+                .setTextAlignment(TextAlignment.CENTER));
+        document.close();
+    }
+
+    private void forEachBookingPage(Long eventId, Consumer<List<BookingRepository.ExportRow>> pageConsumer) {
+        PageRequest pageRequest = PageRequest.of(0, EXPORT_PAGE_SIZE);
+        long afterId = 0;
+        List<BookingRepository.ExportRow> page;
+        do {
+            page = eventId != null
+                    ? bookingRepository.findExportPageForEvent(afterId, eventId, pageRequest)
+                    : bookingRepository.findExportPage(afterId, pageRequest);
+            if (!page.isEmpty()) {
+                pageConsumer.accept(page);
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == EXPORT_PAGE_SIZE);
+    }
+
+    private String[] bookingCells(BookingRepository.ExportRow row) {
+        return new String[] {
+                row.getBookingCode(),
+                row.getEventTitle(),
+                row.getUserEmail(),
+                formatValue(row.getStatus()),
+                row.getBookingDate() != null ? formatDate(row.getBookingDate()) : "N/A",
+                formatValue(row.getAmountPaid()),
+                formatValue(row.getPaymentMethod()),
+                row.getValidatedAt() != null ? formatDate(row.getValidatedAt()) : "N/A"
+        };
+    }
+
+    private String formatDate(LocalDateTime date) {
+        return date != null ? date.format(DATE_FORMATTER) : null;
+    }
+
     /**
      * Format key for display (convert camelCase to Title Case)
      */
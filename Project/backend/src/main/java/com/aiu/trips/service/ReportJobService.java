@@ -0,0 +1,235 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.constants.AppConstants;
+import com.aiu.trips.dto.ReportDTO;
+import com.aiu.trips.dto.ReportFilterDTO;
+import com.aiu.trips.enums.ExportFormat;
+import com.aiu.trips.enums.ReportStatus;
+import com.aiu.trips.enums.ReportType;
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.exception.ValidationException;
+import com.aiu.trips.model.Report;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.ReportRepository;
+import com.aiu.trips.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates reports in the background and stores the rendered file.
+ * Jobs are recorded as Report rows; a small bounded pool renders them off the
+ * request threads, and finished files are served from disk on every download.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    private static final int WORKERS = 2;
+    private static final int QUEUE_CAPACITY = 100;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Value("${reports.storage-dir:${java.io.tmpdir}/aiu-reports}")
+    private String storageDir;
+
+    private final ThreadPoolExecutor jobPool;
+
+    public ReportJobService() {
+        // Exports are CPU and IO heavy, so only a couple run at once; a full
+        // queue rejects new jobs rather than piling up work
+        AtomicInteger threadCount = new AtomicInteger();
+        this.jobPool = new ThreadPoolExecutor(
+                WORKERS, WORKERS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Record a new report job and queue it for rendering once the current transaction commits
+     */
+    public ReportDTO submit(ReportType type, ExportFormat format, Long eventId, String userEmail) {
+        if (jobPool.getQueue().remainingCapacity() == 0) {
+            throw new IllegalStateException(AppConstants.REPORT_QUEUE_FULL);
+        }
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException(AppConstants.USER_NOT_FOUND + userEmail));
+
+        Report report = new Report(type, null, titleFor(type, eventId), user.getId(), format);
+        report.setEventId(eventId);
+        report.setStatus(ReportStatus.PENDING);
+        Report savedReport = reportRepository.save(report);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(savedReport.getReportId());
+                }
+            });
+        } else {
+            enqueue(savedReport.getReportId());
+        }
+        return convertToDTO(savedReport);
+    }
+
+    public ReportDTO getJob(Long reportId) {
+        return convertToDTO(findReport(reportId));
+    }
+
+    /**
+     * Stored file of a completed report
+     */
+    public Path getResultFile(Long reportId) {
+        Report report = findReport(reportId);
+        if (report.getStatus() != ReportStatus.COMPLETED || report.getFilePath() == null) {
+            throw new ValidationException(AppConstants.REPORT_NOT_READY);
+        }
+        Path file = Paths.get(report.getFilePath());
+        if (!Files.isReadable(file)) {
+            throw new ResourceNotFoundException(AppConstants.REPORT_NOT_FOUND + reportId);
+        }
+        return file;
+    }
+
+    /**
+     * Requeue jobs that were waiting or running when the application last stopped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<Report> unfinished = reportRepository.findByStatusIn(
+                EnumSet.of(ReportStatus.PENDING, ReportStatus.RUNNING));
+        for (Report report : unfinished) {
+            report.setStatus(ReportStatus.PENDING);
+            reportRepository.save(report);
+            enqueue(report.getReportId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobPool.shutdownNow();
+    }
+
+    private void enqueue(Long reportId) {
+        try {
+            jobPool.execute(() -> render(reportId));
+        } catch (RejectedExecutionException e) {
+            reportRepository.findById(reportId).ifPresent(report -> fail(report, AppConstants.REPORT_QUEUE_FULL));
+        }
+    }
+
+    private void render(Long reportId) {
+        // A job can be queued twice (after commit and on resume); only the worker that claims it renders it
+        if (reportRepository.claimPending(reportId) == 0) {
+            return;
+        }
+        Report report = reportRepository.findById(reportId).orElse(null);
+        if (report == null) {
+            return;
+        }
+
+        try {
+            Path directory = Paths.get(storageDir);
+            Files.createDirectories(directory);
+            Path file = directory.resolve("report-" + reportId + "." + report.getFormat().toString().toLowerCase());
+
+            try (OutputStream out = Files.newOutputStream(file)) {
+                writeReport(report, out);
+            }
+
+            report.setFilePath(file.toAbsolutePath().toString());
+            report.setSizeBytes(Files.size(file));
+            report.setCompletedDate(LocalDateTime.now());
+            report.setStatus(ReportStatus.COMPLETED);
+            reportRepository.save(report);
+        } catch (Exception e) {
+            logger.warn("Report job {} failed: {}", reportId, e.getMessage());
+            fail(report, e.getMessage());
+        }
+    }
+
+    private void writeReport(Report report, OutputStream out) throws IOException {
+        if (report.getType() == ReportType.PARTICIPANTS) {
+            // Participant reports list every booking, so stream them straight to the file
+            reportExportService.exportBookings(report.getEventId(), report.getFormat(), report.getDescription(), out);
+            return;
+        }
+        ReportFilterDTO filters = new ReportFilterDTO();
+        filters.setEventId(report.getEventId());
+        Map<String, Object> reportData = reportService.generateReport(report.getType(), filters, report.getFormat())
+                .getReportData();
+        out.write(reportExportService.exportReport(reportData, report.getFormat(), report.getDescription()));
+    }
+
+    private void fail(Report report, String message) {
+        report.setStatus(ReportStatus.FAILED);
+        report.setErrorMessage(message);
+        report.setCompletedDate(LocalDateTime.now());
+        reportRepository.save(report);
+    }
+
+    private Report findReport(Long reportId) {
+        return reportRepository.findById(reportId)
+                .orElseThrow(() -> new ResourceNotFoundException(AppConstants.REPORT_NOT_FOUND + reportId));
+    }
+
+    private String titleFor(ReportType type, Long eventId) {
+        String title = "AIU Trips & Events - " + type.toString().charAt(0)
+                + type.toString().substring(1).toLowerCase() + " Report";
+        return eventId != null ? title + " - Event " + eventId : title;
+    }
+
+    private ReportDTO convertToDTO(Report report) {
+        ReportDTO dto = new ReportDTO();
+        dto.setReportId(report.getReportId());
+        dto.setReportType(report.getType());
+        dto.setDescription(report.getDescription());
+        dto.setFormat(report.getFormat());
+        dto.setGeneratedAt(report.getGeneratedDate());
+        dto.setStatus(report.getStatus());
+        dto.setEventId(report.getEventId());
+        dto.setCompletedAt(report.getCompletedDate());
+        dto.setSizeBytes(report.getSizeBytes());
+        dto.setErrorMessage(report.getErrorMessage());
+        return dto;
+    }
+}
@@ -4,21 +4,38 @@ import com.aiu.trips.dto.FeedbackDTO;
 import com.aiu.trips.dto.ReportDTO;
 import com.aiu.trips.dto.ReportFilterDTO;
 import com.aiu.trips.dto.SystemStatisticsDTO;
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.EventStatus;
 import com.aiu.trips.enums.ExportFormat;
+import com.aiu.trips.enums.ReportStatus;
 import com.aiu.trips.enums.ReportType;
-import com.aiu.trips.model.Booking;
 import com.aiu.trips.model.Event;
+import com.aiu.trips.model.Report;
 import com.aiu.trips.repository.BookingRepository;
 import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.repository.ReportRepository;
 import com.aiu.trips.service.interfaces.IReportsAnalytics;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Report Service
+ * Totals are aggregated in the database, so reports never load the bookings or events themselves
+ */
 @Service
+@Timed(value = "trips.service", histogram = true)
 public class ReportService implements IReportsAnalytics {
 
     @Autowired
@@ -30,11 +47,15 @@ public class ReportService implements IReportsAnalytics {
     @Autowired
     private ReportExportService reportExportService;
 
+    @Autowired
+    private ReportRepository reportRepository;
+
     public Map<String, Object> getEventReport(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
 
-        List<Booking> bookings = bookingRepository.findByEvent_Id(eventId);
+        Map<BookingStatus, BookingRepository.StatusTotals> totals =
+                byStatus(bookingRepository.sumByStatusForEvent(eventId));
 
         Map<String, Object> report = new HashMap<>();
         report.put("eventId", event.getId());
@@ -42,35 +63,23 @@ public class ReportService implements IReportsAnalytics {
         report.put("totalCapacity", event.getCapacity());
         report.put("availableSeats", event.getAvailableSeats());
         report.put("bookedSeats", event.getCapacity() - event.getAvailableSeats());
-        report.put("totalParticipants", bookings.size());
-        report.put("totalIncome", bookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .mapToDouble(Booking::getAmountPaid)
-                .sum());
-        report.put("cancelledBookings", bookings.stream()
-                .filter(b -> "CANCELLED".equals(b.getStatus()))
-                .count());
+        report.put("totalParticipants", totalBookings(totals));
+        report.put("totalIncome", paidAmount(totals));
+        report.put("cancelledBookings", bookings(totals, BookingStatus.CANCELLED));
 
         return report;
     }
 
     public Map<String, Object> getOverallReport() {
-        List<Event> events = eventRepository.findAll();
-        List<Booking> bookings = bookingRepository.findAll();
+        Map<BookingStatus, BookingRepository.StatusTotals> totals = byStatus(bookingRepository.sumByStatus());
+        Map<EventStatus, Long> events = eventCountsByStatus();
 
         Map<String, Object> report = new HashMap<>();
-        report.put("totalEvents", events.size());
-        report.put("totalBookings", bookings.size());
-        report.put("totalIncome", bookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .mapToDouble(Booking::getAmountPaid)
-                .sum());
-        report.put("activeEvents", events.stream()
-                .filter(e -> "ACTIVE".equals(e.getStatus()))
-                .count());
-        report.put("completedEvents", events.stream()
-                .filter(e -> "COMPLETED".equals(e.getStatus()))
-                .count());
+        report.put("totalEvents", events.values().stream().mapToLong(Long::longValue).sum());
+        report.put("totalBookings", totalBookings(totals));
+        report.put("totalIncome", paidAmount(totals));
+        report.put("activeEvents", events.getOrDefault(EventStatus.ACTIVE, 0L));
+        report.put("completedEvents", events.getOrDefault(EventStatus.COMPLETED, 0L));
 
         return report;
     }
@@ -110,13 +119,22 @@ public class ReportService implements IReportsAnalytics {
     }
 
     @Override
-    public byte[] exportReport(Long reportId, ExportFormat format) {
-        // For now, generate and export overall report
-        // In a full implementation, you would store reports and retrieve by ID
+    public Resource exportReport(Long reportId, ExportFormat format) {
+        // Serve the stored file when a report job already rendered this report in this format;
+        // it is read as the response is written, never loaded whole
+        Report report = reportId != null ? reportRepository.findById(reportId).orElse(null) : null;
+        if (report != null && report.getStatus() == ReportStatus.COMPLETED
+                && report.getFormat() == format && report.getFilePath() != null) {
+            Path file = Paths.get(report.getFilePath());
+            if (Files.isReadable(file)) {
+                return new FileSystemResource(file);
+            }
+        }
+
         Map<String, Object> reportData = getOverallReport();
         String reportTitle = "AIU Trips & Events - Overall Report";
         
-        return reportExportService.exportReport(reportData, format, reportTitle);
+        return new ByteArrayResource(reportExportService.exportReport(reportData, format, reportTitle));
     }
 
     /**
@@ -130,94 +148,99 @@ public class ReportService implements IReportsAnalytics {
     public SystemStatisticsDTO getStatistics() {
         SystemStatisticsDTO stats = new SystemStatisticsDTO();
         
-        List<Event> events = eventRepository.findAll();
-        List<Booking> bookings = bookingRepository.findAll();
-
-        stats.setTotalEvents(events.size());
-        stats.setTotalBookings((long) bookings.size());
-        stats.setActiveEvents(events.stream()
-                .filter(e -> "ACTIVE".equals(e.getStatus()))
-                .count());
-        stats.setTotalRevenue(bookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .mapToDouble(Booking::getAmountPaid)
-                .sum());
+        Map<BookingStatus, BookingRepository.StatusTotals> totals = byStatus(bookingRepository.sumByStatus());
+        Map<EventStatus, Long> events = eventCountsByStatus();
+
+        stats.setTotalEvents((int) events.values().stream().mapToLong(Long::longValue).sum());
+        stats.setTotalBookings(totalBookings(totals));
+        stats.setActiveEvents(events.getOrDefault(EventStatus.ACTIVE, 0L));
+        stats.setTotalRevenue(paidAmount(totals));
         stats.setAverageAttendance(calculateAverageAttendance());
 
         return stats;
     }
 
     private Map<String, Object> getRevenueReport() {
-        List<Booking> bookings = bookingRepository.findAll();
+        Map<BookingStatus, BookingRepository.StatusTotals> totals = byStatus(bookingRepository.sumByStatus());
         Map<String, Object> report = new HashMap<>();
-        
-        double totalRevenue = bookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .mapToDouble(Booking::getAmountPaid)
-                .sum();
-        
-        double averageBookingValue = bookings.isEmpty() ? 0 : 
-                totalRevenue / bookings.stream()
-                        .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                        .count();
+
+        double totalRevenue = paidAmount(totals);
+        long paidBookings = bookings(totals, BookingStatus.CONFIRMED) + bookings(totals, BookingStatus.ATTENDED);
+        double averageBookingValue = paidBookings == 0 ? 0 : totalRevenue / paidBookings;
 
         report.put("totalRevenue", totalRevenue);
-        report.put("totalBookings", bookings.size());
-        report.put("confirmedBookings", bookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                .count());
+        report.put("totalBookings", totalBookings(totals));
+        report.put("confirmedBookings", paidBookings);
         report.put("averageBookingValue", averageBookingValue);
-        report.put("cancelledRevenueLoss", bookings.stream()
-                .filter(b -> "CANCELLED".equals(b.getStatus()))
-                .mapToDouble(Booking::getAmountPaid)
-                .sum());
+        report.put("cancelledRevenueLoss", amount(totals, BookingStatus.CANCELLED));
 
         return report;
     }
 
     private Map<String, Object> getAttendanceReport() {
-        List<Event> events = eventRepository.findAll();
+        EventRepository.CapacityTotals capacity = eventRepository.sumCapacity();
         Map<String, Object> report = new HashMap<>();
-        
-        long totalCapacity = events.stream()
-                .mapToLong(e -> e.getCapacity() != null ? e.getCapacity() : 0)
-                .sum();
-        
-        long totalBooked = events.stream()
-                .mapToLong(e -> {
-                    int available = e.getAvailableSeats() != null ? e.getAvailableSeats() : 0;
-                    int capacity = e.getCapacity() != null ? e.getCapacity() : 0;
-                    return capacity - available;
-                })
-                .sum();
-
-        double utilizationRate = totalCapacity > 0 ? 
+
+        long totalCapacity = capacity.getCapacity();
+        long totalBooked = capacity.getBooked();
+
+        double utilizationRate = totalCapacity > 0 ?
                 (double) totalBooked / totalCapacity * 100 : 0;
 
         report.put("totalCapacity", totalCapacity);
         report.put("totalBooked", totalBooked);
         report.put("utilizationRate", utilizationRate);
-        report.put("averageAttendance", calculateAverageAttendance());
-        report.put("totalEvents", events.size());
+        report.put("averageAttendance", averageAttendance(capacity));
+        report.put("totalEvents", capacity.getEvents());
 
         return report;
     }
 
     private double calculateAverageAttendance() {
-        List<Event> events = eventRepository.findAll();
-        if (events.isEmpty()) {
+        return averageAttendance(eventRepository.sumCapacity());
+    }
+
+    private double averageAttendance(EventRepository.CapacityTotals capacity) {
+        if (capacity.getEvents() == 0) {
             return 0;
         }
+        return (double) capacity.getBooked() / capacity.getEvents();
+    }
+
+    private Map<BookingStatus, BookingRepository.StatusTotals> byStatus(List<BookingRepository.StatusTotals> rows) {
+        Map<BookingStatus, BookingRepository.StatusTotals> totals = new EnumMap<>(BookingStatus.class);
+        for (BookingRepository.StatusTotals row : rows) {
+            totals.put(row.getStatus(), row);
+        }
+        return totals;
+    }
+
+    private Map<EventStatus, Long> eventCountsByStatus() {
+        // Events without a status still count towards the total, under a null key
+        Map<EventStatus, Long> counts = new HashMap<>();
+        for (EventRepository.StatusCount row : eventRepository.countByStatus()) {
+            counts.put(row.getStatus(), row.getEvents());
+        }
+        return counts;
+    }
+
+    private long bookings(Map<BookingStatus, BookingRepository.StatusTotals> totals, BookingStatus status) {
+        BookingRepository.StatusTotals row = totals.get(status);
+        return row != null ? row.getBookings() : 0;
+    }
 
-        long totalBooked = events.stream()
-                .mapToLong(e -> {
-                    int available = e.getAvailableSeats() != null ? e.getAvailableSeats() : 0;
-                    int capacity = e.getCapacity() != null ? e.getCapacity() : 0;
-                    return capacity - available;
-                })
-                .sum();
+    private double amount(Map<BookingStatus, BookingRepository.StatusTotals> totals, BookingStatus status) {
+        BookingRepository.StatusTotals row = totals.get(status);
+        return row != null ? row.getAmount() : 0.0;
+    }
+
+    private long totalBookings(Map<BookingStatus, BookingRepository.StatusTotals> totals) {
+        return totals.values().stream().mapToLong(BookingRepository.StatusTotals::getBookings).sum();
+    }
 
-        return (double) totalBooked / events.size();
+    // Revenue counts every booking that was paid and not cancelled
+    private double paidAmount(Map<BookingStatus, BookingRepository.StatusTotals> totals) {
+        return amount(totals, BookingStatus.CONFIRMED) + amount(totals, BookingStatus.ATTENDED);
     }
 
     @Override
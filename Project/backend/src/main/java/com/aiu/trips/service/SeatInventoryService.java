@@ -0,0 +1,64 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.constants.AppConstants;
+import com.aiu.trips.exception.BookingException;
+import com.aiu.trips.exception.ResourceNotFoundException;
+import com.aiu.trips.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Seat inventory for events
+ * Every seat change is a single guarded UPDATE, so concurrent buyers never
+ * read-modify-write the same row and an event can never be oversold.
+ */
+@Service
+public class SeatInventoryService {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventCatalogCache eventCatalogCache;
+
+    /**
+     * Try to take one seat for the event
+     * @return true if a seat was reserved, false if the event is sold out or missing
+     */
+    @Transactional
+    public boolean tryReserve(Long eventId) {
+        if (eventRepository.decrementAvailableSeats(eventId) != 1) {
+            return false;
+        }
+        eventCatalogCache.invalidateEvent(eventId);
+        return true;
+    }
+
+    /**
+     * Take one seat for the event or fail with the matching domain exception
+     */
+    @Transactional
+    public void reserve(Long eventId) {
+        if (tryReserve(eventId)) {
+            return;
+        }
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException(AppConstants.EVENT_NOT_FOUND + eventId);
+        }
+        throw new BookingException(AppConstants.NO_SEATS_AVAILABLE);
+    }
+
+    /**
+     * Give one seat back to the event (booking cancelled)
+     * @return true if the seat was returned, false if the event is already at capacity
+     */
+    @Transactional
+    public boolean release(Long eventId) {
+        if (eventRepository.incrementAvailableSeats(eventId) != 1) {
+            return false;
+        }
+        eventCatalogCache.invalidateEvent(eventId);
+        return true;
+    }
+}
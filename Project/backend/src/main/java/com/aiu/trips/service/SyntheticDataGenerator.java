@@ -0,0 +1,412 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.EventStatus;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.enums.PaymentMethod;
+import com.aiu.trips.enums.UserRole;
+import com.aiu.trips.util.QrCodeSigner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk generator of realistic synthetic data for load tests.
+ * Rows are written with batched JDBC inserts that commit batch by batch, so millions
+ * of rows neither go through the persistence context nor sit in one transaction.
+ * The data is internally consistent: bookings are unique per user and event and
+ * never exceed capacity, seat counts match the bookings, every ticket carries a
+ * valid signed QR payload and the booking rollups are rebuilt afterwards.
+ * The same seed always produces the same data set.
+ */
+@Service
+public class SyntheticDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    public static final String EMAIL_PREFIX = "loadtest-";
+    public static final String EMAIL_DOMAIN = "@aiu.edu";
+    public static final String PASSWORD = "password123";
+
+    // One account in this many is an admin, who validates tickets and reads the dashboards
+    private static final int ADMIN_EVERY = 100;
+    private static final int HISTORY_DAYS = 180;
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (email, password, full_name, phone_number, role, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_EVENT =
+            "INSERT INTO events (title, description, type, start_date, end_date, location, price, capacity, " +
+            "available_seats, image_url, created_by, created_at, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SEATS = "UPDATE events SET available_seats = ? WHERE id = ?";
+    private static final String INSERT_BOOKING =
+            "INSERT INTO bookings (user_id, event_id, booking_code, status, booking_date, qr_code_path, amount_paid, " +
+            "payment_method, validated_at, validated_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_FEEDBACK =
+            "INSERT INTO feedbacks (user_id, event_id, rating, comment, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_NOTIFICATION =
+            "INSERT INTO notifications (user_id, message, type, is_read, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String[] FIRST_NAMES = { "Amal", "Omar", "Layla", "Youssef", "Sara", "Karim", "Nour",
+            "Hana", "Ali", "Mariam", "Ziad", "Farah", "Adam", "Salma", "Tarek", "Dina" };
+    private static final String[] LAST_NAMES = { "Hassan", "Mansour", "Khalil", "Saleh", "Nasser", "Haddad",
+            "Farouk", "Aziz", "Younes", "Rahman", "Said", "Bakr" };
+    private static final String[] TOPICS = { "AI", "Robotics", "Photography", "Startup", "Chess", "Music",
+            "Film", "Debate", "Cloud", "Design", "Football", "Astronomy", "Poetry", "Cyber Security" };
+    private static final String[] EVENT_KINDS = { "Workshop", "Conference", "Meetup", "Festival", "Hackathon",
+            "Seminar", "Career Fair", "Tournament" };
+    private static final String[] TRIP_KINDS = { "Hiking Trip", "Beach Getaway", "City Tour", "Desert Safari",
+            "Museum Visit", "Camping Weekend" };
+    private static final String[] LOCATIONS = { "Main Auditorium", "Student Center, Hall A", "Computer Lab 301",
+            "Campus Green", "Library Hall", "Sports Complex", "Blue Ridge Mountains", "Sunny Beach Resort",
+            "Old Town", "National Museum", "White Desert", "Conference Center" };
+    private static final String[] COMMENTS = { "Excellent, would go again!", "Well organized and fun.",
+            "Good content but started late.", "Loved the speakers.", "Too crowded for the venue.",
+            "Great value for the price.", "Average experience.", "The best trip this semester!" };
+    private static final String[] NOTIFICATION_TYPES = { "INFO", "SUCCESS", "WARNING" };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private QrCodeSigner qrCodeSigner;
+
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
+    @Autowired
+    private EventCatalogCache eventCatalogCache;
+
+    /**
+     * Whether a synthetic data set is already present
+     */
+    public boolean isSeeded() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email LIKE ?", Integer.class,
+                EMAIL_PREFIX + "%");
+        return count != null && count > 0;
+    }
+
+    /**
+     * Generate a data set of the given size
+     * @param bookings Target number of bookings; fewer are made when the events lack the capacity
+     * @param feedbacks Target number of feedbacks, left by attendees of past events
+     * @return Number of rows written per table
+     */
+    public Summary generate(int users, int events, int bookings, int feedbacks, int notifications,
+                            int batchSize, long seed) {
+        if (users < 1 || events < 1) {
+            throw new IllegalArgumentException("At least one user and one event are required");
+        }
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now();
+        Summary summary = new Summary();
+
+        long start = System.nanoTime();
+        long[] userIds = insertUsers(users, batchSize, random, now);
+        summary.users = userIds.length;
+        log("users", summary.users, start);
+
+        start = System.nanoTime();
+        EventRows eventRows = insertEvents(events, userIds, batchSize, random, now);
+        summary.events = eventRows.ids.length;
+        log("events", summary.events, start);
+
+        start = System.nanoTime();
+        long lastBookingId = maxId("bookings");
+        int[] attended = new int[1];
+        summary.bookings = insertBookings(bookings, userIds, eventRows, batchSize, random, now, attended);
+        log("bookings", summary.bookings, start);
+
+        start = System.nanoTime();
+        summary.feedbacks = insertFeedbacks(feedbacks, attended[0], lastBookingId, batchSize, random);
+        log("feedbacks", summary.feedbacks, start);
+
+        start = System.nanoTime();
+        summary.notifications = insertNotifications(notifications, userIds, batchSize, random, now);
+        log("notifications", summary.notifications, start);
+
+        // Rows went around the services, so bring the derived state back in step
+        bookingRollupService.rebuild();
+        eventCatalogCache.invalidateAll();
+        return summary;
+    }
+
+    private long[] insertUsers(int count, int batchSize, Random random, LocalDateTime now) {
+        // BCrypt is deliberately slow; every synthetic account shares one hash
+        String password = passwordEncoder.encode(PASSWORD);
+        Batch batch = new Batch(INSERT_USER, batchSize);
+        for (int i = 0; i < count; i++) {
+            UserRole role = i % ADMIN_EVERY == 0 ? UserRole.ADMIN : UserRole.STUDENT;
+            batch.add(EMAIL_PREFIX + i + EMAIL_DOMAIN, password,
+                    pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES),
+                    String.format("555-%07d", i), role.name(),
+                    timestamp(now.minusMinutes(random.nextInt((int) TimeUnit.DAYS.toMinutes(2 * 365)))));
+        }
+        batch.flush();
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ? ORDER BY id",
+                Long.class, EMAIL_PREFIX + "%");
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private EventRows insertEvents(int count, long[] userIds, int batchSize, Random random, LocalDateTime now) {
+        long lastId = maxId("events");
+        Batch batch = new Batch(INSERT_EVENT, batchSize);
+        for (int i = 0; i < count; i++) {
+            boolean trip = random.nextInt(10) < 3;
+            String topic = pick(random, TOPICS);
+            String title = trip ? topic + " Club " + pick(random, TRIP_KINDS) : topic + " " + pick(random, EVENT_KINDS);
+            LocalDateTime startDate = now.plusMinutes(
+                    (random.nextInt(2 * HISTORY_DAYS) - HISTORY_DAYS) * 1440L + random.nextInt(1440));
+            LocalDateTime endDate = trip ? startDate.plusDays(1 + random.nextInt(3)) : startDate.plusHours(2 + random.nextInt(7));
+            LocalDateTime createdAt = min(startDate.minusDays(7 + random.nextInt(84)), now);
+            int capacity = 20 + random.nextInt(481);
+            double price = random.nextInt(4) == 0 ? 0.0 : 5 + random.nextInt(60) * 5;
+            EventStatus status = random.nextInt(100) < 3 ? EventStatus.CANCELLED
+                    : startDate.isBefore(now) ? EventStatus.COMPLETED : EventStatus.ACTIVE;
+            long organizer = userIds[random.nextInt((userIds.length + ADMIN_EVERY - 1) / ADMIN_EVERY) * ADMIN_EVERY];
+            batch.add(title + " #" + (i + 1),
+                    "Synthetic " + (trip ? "trip" : "event") + " about " + topic + " for load testing.",
+                    (trip ? EventType.TRIP : EventType.EVENT).name(), timestamp(startDate), timestamp(endDate),
+                    pick(random, LOCATIONS), price, capacity, capacity, null, organizer, timestamp(createdAt),
+                    status.name());
+        }
+        batch.flush();
+
+        EventRows rows = new EventRows(count);
+        int[] index = new int[1];
+        jdbcTemplate.query("SELECT id, capacity, price, status, start_date, created_at FROM events " +
+                "WHERE id > ? ORDER BY id", rs -> {
+            int i = index[0]++;
+            rows.ids[i] = rs.getLong(1);
+            rows.capacities[i] = rs.getInt(2);
+            rows.prices[i] = rs.getDouble(3);
+            rows.statuses[i] = EventStatus.valueOf(rs.getString(4));
+            rows.startDates[i] = rs.getTimestamp(5).toLocalDateTime();
+            rows.createdAt[i] = rs.getTimestamp(6).toLocalDateTime();
+        }, lastId);
+        return rows;
+    }
+
+    private int insertBookings(int target, long[] userIds, EventRows events, int batchSize, Random random,
+                               LocalDateTime now, int[] attended) {
+        int[] quotas = bookingQuotas(target, userIds.length, events, random);
+        Batch bookings = new Batch(INSERT_BOOKING, batchSize);
+        Batch seats = new Batch(UPDATE_SEATS, batchSize);
+        int total = 0;
+        for (int e = 0; e < events.ids.length; e++) {
+            long eventId = events.ids[e];
+            boolean past = events.startDates[e].isBefore(now);
+            LocalDateTime bookingFrom = events.createdAt[e];
+            long bookingWindow = Math.max(1, Duration.between(bookingFrom, min(events.startDates[e], now)).toMinutes());
+
+            // A random start and a stride coprime with the user count visit distinct users
+            int userCount = userIds.length;
+            int first = random.nextInt(userCount);
+            int stride = coprimeStride(userCount, random);
+            int held = 0;
+            for (int k = 0; k < quotas[e]; k++) {
+                long userId = userIds[(int) ((first + (long) k * stride) % userCount)];
+                String code = new UUID(random.nextLong(), random.nextLong()).toString();
+                BookingStatus status = bookingStatus(events.statuses[e], past, random);
+                LocalDateTime bookedAt = bookingFrom.plusMinutes((long) (random.nextDouble() * bookingWindow));
+                boolean validated = BookingStatus.ATTENDED.equals(status);
+                if (validated) {
+                    attended[0]++;
+                }
+                if (!BookingStatus.CANCELLED.equals(status)) {
+                    held++;
+                }
+                bookings.add(userId, eventId, code, status.name(), timestamp(bookedAt),
+                        qrCodeSigner.sign(BookingService.qrData(code, eventId)), events.prices[e],
+                        PaymentMethod.CASH.name(), validated ? timestamp(events.startDates[e]) : null,
+                        validated ? EMAIL_PREFIX + "0" + EMAIL_DOMAIN : null);
+                total++;
+            }
+            seats.add(events.capacities[e] - held, eventId);
+        }
+        bookings.flush();
+        seats.flush();
+        return total;
+    }
+
+    // Popularity follows a long tail: a few events sell out, most fill a little
+    private int[] bookingQuotas(int target, int userCount, EventRows events, Random random) {
+        int count = events.ids.length;
+        double[] weights = new double[count];
+        double sum = 0;
+        for (int e = 0; e < count; e++) {
+            weights[e] = 1 / Math.pow(1 + random.nextInt(count), 0.8);
+            sum += weights[e];
+        }
+        int[] quotas = new int[count];
+        for (int e = 0; e < count; e++) {
+            long quota = Math.round(target * weights[e] / sum);
+            quotas[e] = (int) Math.min(quota, Math.min(events.capacities[e], userCount));
+        }
+        return quotas;
+    }
+
+    private BookingStatus bookingStatus(EventStatus eventStatus, boolean past, Random random) {
+        int roll = random.nextInt(100);
+        if (EventStatus.CANCELLED.equals(eventStatus) || roll < 10) {
+            return BookingStatus.CANCELLED;
+        }
+        return past && roll < 80 ? BookingStatus.ATTENDED : BookingStatus.CONFIRMED;
+    }
+
+    private int insertFeedbacks(int target, int attended, long lastBookingId, int batchSize, Random random) {
+        if (target <= 0 || attended == 0) {
+            return 0;
+        }
+        // Stream the attended bookings and keep each with the probability that yields the target
+        double keep = Math.min(1.0, target / (double) attended);
+        Batch batch = new Batch(INSERT_FEEDBACK, batchSize);
+        int[] written = new int[1];
+        jdbcTemplate.query("SELECT b.user_id, b.event_id, e.start_date FROM bookings b " +
+                "JOIN events e ON e.id = b.event_id WHERE b.id > ? AND b.status = ? ORDER BY b.id", rs -> {
+            if (written[0] >= target || random.nextDouble() >= keep) {
+                return;
+            }
+            int rating = Math.min(5, 2 + random.nextInt(3) + random.nextInt(2));
+            batch.add(rs.getLong(1), rs.getLong(2), rating, pick(random, COMMENTS),
+                    timestamp(rs.getTimestamp(3).toLocalDateTime().plusHours(3 + random.nextInt(72))));
+            written[0]++;
+        }, lastBookingId, BookingStatus.ATTENDED.name());
+        batch.flush();
+        return written[0];
+    }
+
+    private int insertNotifications(int count, long[] userIds, int batchSize, Random random, LocalDateTime now) {
+        Batch batch = new Batch(INSERT_NOTIFICATION, batchSize);
+        for (int i = 0; i < count; i++) {
+            String type = pick(random, NOTIFICATION_TYPES);
+            batch.add(userIds[random.nextInt(userIds.length)],
+                    "Update #" + i + ": " + pick(random, TOPICS) + " " + pick(random, EVENT_KINDS) + " details changed",
+                    type, random.nextInt(10) < 7, timestamp(now.minusMinutes(random.nextInt(60 * 24 * 60))));
+        }
+        batch.flush();
+        return count;
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    private static int coprimeStride(int n, Random random) {
+        if (n == 1) {
+            return 1;
+        }
+        int stride;
+        do {
+            stride = 1 + random.nextInt(n - 1);
+        } while (gcd(stride, n) != 1);
+        return stride;
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return Timestamp.valueOf(value);
+    }
+
+    private static void log(String table, int rows, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        logger.info("Generated {} {} in {} s ({} rows/s)", rows, table, String.format("%.2f", seconds),
+                seconds > 0 ? Math.round(rows / seconds) : rows);
+    }
+
+    /**
+     * Rows of one statement, sent as a JDBC batch whenever the batch is full
+     */
+    private final class Batch {
+        private final String sql;
+        private final int size;
+        private final List<Object[]> rows;
+
+        Batch(String sql, int size) {
+            this.sql = sql;
+            this.size = size;
+            this.rows = new ArrayList<>(size);
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= size) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private static final class EventRows {
+        final long[] ids;
+        final int[] capacities;
+        final double[] prices;
+        final EventStatus[] statuses;
+        final LocalDateTime[] startDates;
+        final LocalDateTime[] createdAt;
+
+        EventRows(int count) {
+            ids = new long[count];
+            capacities = new int[count];
+            prices = new double[count];
+            statuses = new EventStatus[count];
+            startDates = new LocalDateTime[count];
+            createdAt = new LocalDateTime[count];
+        }
+    }
+
+    /**
+     * Rows written per table
+     */
+    public static class Summary {
+        private int users;
+        private int events;
+        private int bookings;
+        private int feedbacks;
+        private int notifications;
+
+        public int getUsers() { return users; }
+        public int getEvents() { return events; }
+        public int getBookings() { return bookings; }
+        public int getFeedbacks() { return feedbacks; }
+        public int getNotifications() { return notifications; }
+
+        @Override
+        public String toString() {
+            return users + " users, " + events + " events, " + bookings + " bookings, " + feedbacks +
+                    " feedbacks, " + notifications + " notifications";
+        }
+    }
+}
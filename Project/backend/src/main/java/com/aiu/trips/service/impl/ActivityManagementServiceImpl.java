@@ -5,10 +5,14 @@ import com.aiu.trips.builder.EventBuilder;
 import com.aiu.trips.builder.IActivityBuilder;
 import com.aiu.trips.builder.TripBuilder;
 import com.aiu.trips.dto.ActivityDTO;
+import com.aiu.trips.dto.ActivityPageDTO;
+import com.aiu.trips.dto.EventFilterDTO;
 import com.aiu.trips.enums.ActivityStatus;
 import com.aiu.trips.enums.ActivityType;
 import com.aiu.trips.model.Event;
 import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.service.EventCatalogCache;
+import com.aiu.trips.service.EventCatalogService;
 import com.aiu.trips.service.EventService;
 import com.aiu.trips.service.interfaces.IActivityManagement;
 import com.aiu.trips.state.ActivityLifecycle;
@@ -17,7 +21,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * ActivityManagementService - Uses Builder, State, and Factory patterns
@@ -43,6 +46,12 @@ public class ActivityManagementServiceImpl implements IActivityManagement {
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private EventCatalogService eventCatalogService;
+
+    @Autowired
+    private EventCatalogCache eventCatalogCache;
+
     @Override
     @Transactional
     public ActivityDTO createActivity(ActivityDTO data, ActivityType type) {
@@ -55,6 +64,7 @@ public class ActivityManagementServiceImpl implements IActivityManagement {
         // Convert DTO to Entity and save
         Event entity = convertToEntity(builtActivity);
         entity = eventRepository.save(entity);
+        eventCatalogCache.invalidateAll();
 
         return convertToDTO(entity);
     }
@@ -67,6 +77,7 @@ public class ActivityManagementServiceImpl implements IActivityManagement {
 
         updateEntityFromDTO(entity, data);
         entity = eventRepository.save(entity);
+        eventCatalogCache.invalidateAll();
         return convertToDTO(entity);
     }
 
@@ -78,13 +89,31 @@ public class ActivityManagementServiceImpl implements IActivityManagement {
 
         entity.setStatus(com.aiu.trips.enums.EventStatus.CANCELLED);
         eventRepository.save(entity);
+        eventCatalogCache.invalidateAll();
     }
 
     @Override
     public List<ActivityDTO> getAllActivities() {
-        return eventRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return eventCatalogService.listAll(new EventFilterDTO(), this::convertToDTO);
+    }
+
+    @Override
+    public ActivityPageDTO browseActivities(EventFilterDTO filters) {
+        return eventCatalogService.browse(filters, this::convertToDTO);
+    }
+
+    @Override
+    public Event getActivity(Long id) {
+        return eventCatalogService.getEvent(id);
+    }
+
+    @Override
+    public EventCatalogCache.Snapshot getCatalogPage(EventFilterDTO filters) {
+        // Paging is opt-in: without a size or cursor the catalogue lists every matching event
+        boolean paged = filters.getSize() != null || (filters.getCursor() != null && !filters.getCursor().isBlank());
+        return eventCatalogCache.get(filters, () -> paged
+                ? browseActivities(filters)
+                : new ActivityPageDTO(eventCatalogService.listAll(filters, this::convertToDTO), null));
     }
 
     @Override
@@ -108,12 +137,13 @@ public class ActivityManagementServiceImpl implements IActivityManagement {
         return event;
     }
 
+    // Partial update: fields left null keep their current value
     private void updateEntityFromDTO(Event entity, ActivityDTO dto) {
-        entity.setTitle(dto.getName());
-        entity.setDescription(dto.getDescription());
-        entity.setStartDate(dto.getActivityDate());
-        entity.setLocation(dto.getLocation());
-        entity.setCapacity(dto.getCapacity());
+        if (dto.getName() != null) entity.setTitle(dto.getName());
+        if (dto.getDescription() != null) entity.setDescription(dto.getDescription());
+        if (dto.getActivityDate() != null) entity.setStartDate(dto.getActivityDate());
+        if (dto.getLocation() != null) entity.setLocation(dto.getLocation());
+        if (dto.getCapacity() != null) entity.setCapacity(dto.getCapacity());
         entity.setPrice(dto.getPrice() != null ? dto.getPrice().doubleValue() : entity.getPrice());
     }
 
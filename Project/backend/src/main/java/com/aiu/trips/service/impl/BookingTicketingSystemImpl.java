@@ -6,7 +6,10 @@ import com.aiu.trips.enums.BookingStatus;
 import com.aiu.trips.model.Booking;
 import com.aiu.trips.model.Event;
 import com.aiu.trips.repository.*;
+import com.aiu.trips.service.BookingRollupService;
 import com.aiu.trips.service.BookingService;
+import com.aiu.trips.service.EventCatalogService;
+import com.aiu.trips.service.SeatInventoryService;
 import com.aiu.trips.service.interfaces.IBookingTicketingSystem;
 import com.aiu.trips.strategy.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,7 +20,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class BookingTicketingSystemImpl implements IBookingTicketingSystem {
@@ -41,23 +43,30 @@ public class BookingTicketingSystemImpl implements IBookingTicketingSystem {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
+    @Autowired
+    private EventCatalogService eventCatalogService;
+
     @Override
-    public List<ActivityDTO> browseEvents(EventFilterDTO filters) {
-        return eventRepository.findAll().stream()
-                .map(this::convertToActivityDTO)
-                .collect(Collectors.toList());
+    public ActivityPageDTO browseEvents(EventFilterDTO filters) {
+        return eventCatalogService.browse(filters, this::convertToActivityDTO);
     }
 
     @Override
     @Transactional
     public BookingDTO bookEvent(Long studentId, Long eventId) {
+        if (!seatInventoryService.tryReserve(eventId)) {
+            throw new RuntimeException(eventRepository.existsById(eventId) ? "No seats available" : "Event not found");
+        }
+
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
 
-        if (event.getAvailableSeats() <= 0) {
-            throw new RuntimeException("No seats available");
-        }
-
         Booking booking = new Booking();
         booking.setUser(userRepository.findById(studentId).orElseThrow());
         booking.setEvent(event);
@@ -70,10 +79,8 @@ public class BookingTicketingSystemImpl implements IBookingTicketingSystem {
                 LocalDateTime.now(),
                 1);
 
-        event.setAvailableSeats(event.getAvailableSeats() - 1);
-        eventRepository.save(event);
-
         booking = bookingRepository.save(booking);
+        bookingRollupService.recordBooking(booking);
 
         return convertToBookingDTO(booking);
     }
@@ -97,6 +104,11 @@ public class BookingTicketingSystemImpl implements IBookingTicketingSystem {
         return ticketService.validateQRCode(qrCode);
     }
 
+    @Override
+    public String getTicketQrPayload(String bookingCode) {
+        return bookingService.getQrCodePayload(bookingCode);
+    }
+
     private ActivityDTO convertToActivityDTO(Event event) {
         ActivityDTO dto = new ActivityDTO();
         dto.setActivityId(event.getId());
@@ -120,7 +132,7 @@ public class BookingTicketingSystemImpl implements IBookingTicketingSystem {
     }
 
     @Override
-    public List<Booking> getUserBookings(String userEmail) {
+    public List<BookingSummaryDTO> getUserBookings(String userEmail) {
         return bookingService.getUserBookings(userEmail);
     }
 }
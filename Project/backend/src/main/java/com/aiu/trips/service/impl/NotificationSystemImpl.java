@@ -2,13 +2,15 @@ package com.aiu.trips.service.impl;
 
 import com.aiu.trips.bridge.*;
 import com.aiu.trips.enums.NotificationType;
-import com.aiu.trips.model.Notification;
+import com.aiu.trips.dto.NotificationDTO;
 import com.aiu.trips.model.User;
 import com.aiu.trips.repository.UserRepository;
 import com.aiu.trips.service.NotificationService;
+import com.aiu.trips.service.NotificationStreamService;
 import com.aiu.trips.service.interfaces.INotificationSystem;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -28,6 +30,9 @@ public class NotificationSystemImpl implements INotificationSystem {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
     @Override
     public void sendNotification(Long userId, String message, NotificationType type) {
         User user = userRepository.findById(userId)
@@ -43,34 +48,44 @@ public class NotificationSystemImpl implements INotificationSystem {
     public void notifyEventUpdate(Long eventId, String message) {
         // Use Bridge Pattern
         EventUpdateMessage updateMessage = new EventUpdateMessage(emailChannel, "Event", message);
-        // Notify all users (simplified)
-        List<User> users = userRepository.findAll();
-        users.forEach(user -> updateMessage.send(user.getEmail()));
+        // Notify all users (simplified); queued in the email outbox with one insert
+        updateMessage.sendToAll();
     }
 
     @Override
     public void sendBulkNotification(List<Long> userIds, String message) {
-        userIds.forEach(userId -> {
-            User user = userRepository.findById(userId).orElse(null);
-            if (user != null) {
-                inAppChannel.send(user.getEmail(), message);
-            }
-        });
+        // In-app delivery for many users at once: set-based inserts, a chunk of users per statement
+        notificationService.notifyUsers(userIds, message, "INFO");
     }
 
     @Override
-    public List<Notification> getUserNotifications(String userEmail) {
+    public List<NotificationDTO> getUserNotifications(String userEmail) {
         return notificationService.getUserNotifications(userEmail);
     }
 
     @Override
-    public List<Notification> getUnreadNotifications(String userEmail) {
+    public List<NotificationDTO> getUnreadNotifications(String userEmail) {
         return notificationService.getUnreadNotifications(userEmail);
     }
 
     @Override
-    public void markAsRead(Long notificationId) {
-        notificationService.markAsRead(notificationId);
+    public void markAsRead(Long notificationId, String userEmail) {
+        notificationService.markAsRead(notificationId, userEmail);
+    }
+
+    @Override
+    public void markAllAsRead(String userEmail) {
+        notificationService.markAllAsRead(userEmail);
+    }
+
+    @Override
+    public long getUnreadCount(String userEmail) {
+        return notificationService.getUnreadCount(userEmail);
+    }
+
+    @Override
+    public SseEmitter streamNotifications(String userEmail, String lastEventId) {
+        return notificationStreamService.subscribe(userEmail, lastEventId);
     }
 
     private NotificationMessage createMessage(NotificationChannel channel, NotificationType type, String message) {
@@ -5,6 +5,7 @@ import com.aiu.trips.enums.UserRole;
 import com.aiu.trips.model.User;
 import com.aiu.trips.repository.UserRepository;
 import com.aiu.trips.security.JwtUtil;
+import com.aiu.trips.service.CustomUserDetailsService;
 import com.aiu.trips.service.interfaces.IAuthenticationUserManagement;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -26,6 +27,9 @@ public class UserManagementServiceImpl implements IAuthenticationUserManagement
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
     @Override
     @Transactional
     public UserDTO register(UserDTO userData) {
@@ -37,7 +41,8 @@ public class UserManagementServiceImpl implements IAuthenticationUserManagement
         user.setPassword(passwordEncoder.encode(userData.getPassword()));
         user.setRole(UserRole.STUDENT);
         
-        user = userRepository.save(user);
+        // Flushed now so a duplicate email fails here rather than at some later flush
+        user = userRepository.saveAndFlush(user);
         return convertToDTO(user);
     }
 
@@ -69,6 +74,8 @@ public class UserManagementServiceImpl implements IAuthenticationUserManagement
     @Override
     public void resetPassword(String email) {
         // Password reset logic
+        // Any password change must drop the cached credentials
+        userDetailsService.evict(email);
     }
 
     @Override
@@ -78,6 +85,7 @@ public class UserManagementServiceImpl implements IAuthenticationUserManagement
             .orElseThrow(() -> new RuntimeException("User not found"));
         user.setRole(role);
         userRepository.save(user);
+        userDetailsService.evict(user.getEmail());
     }
 
     private UserDTO convertToDTO(User user) {
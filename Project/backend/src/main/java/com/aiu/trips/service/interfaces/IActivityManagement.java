@@ -1,8 +1,11 @@
 package com.aiu.trips.service.interfaces;
 
 import com.aiu.trips.dto.ActivityDTO;
+import com.aiu.trips.dto.ActivityPageDTO;
+import com.aiu.trips.dto.EventFilterDTO;
 import com.aiu.trips.enums.ActivityType;
 import com.aiu.trips.model.Event;
+import com.aiu.trips.service.EventCatalogCache;
 import java.util.List;
 
 /**
@@ -17,6 +20,12 @@ public interface IActivityManagement {
 
     List<ActivityDTO> getAllActivities();
 
+    ActivityPageDTO browseActivities(EventFilterDTO filters);
+
+    Event getActivity(Long id);
+
+    EventCatalogCache.Snapshot getCatalogPage(EventFilterDTO filters);
+
     Integer manageCapacity(Long activityId);
 
     // Additional methods for event operations
@@ -1,17 +1,17 @@
 package com.aiu.trips.service.interfaces;
 
 import com.aiu.trips.dto.BookingDTO;
+import com.aiu.trips.dto.BookingSummaryDTO;
 import com.aiu.trips.dto.EventFilterDTO;
-import com.aiu.trips.dto.ActivityDTO;
+import com.aiu.trips.dto.ActivityPageDTO;
 import com.aiu.trips.dto.TicketDTO;
-import com.aiu.trips.model.Booking;
 import java.util.List;
 
 /**
  * IBookingTicketingSystem interface as per Controller.pu diagram
  */
 public interface IBookingTicketingSystem {
-    List<ActivityDTO> browseEvents(EventFilterDTO filters);
+    ActivityPageDTO browseEvents(EventFilterDTO filters);
 
     BookingDTO bookEvent(Long studentId, Long eventId);
 
@@ -21,6 +21,8 @@ public interface IBookingTicketingSystem {
 
     boolean validateTicket(String qrCode);
 
+    String getTicketQrPayload(String bookingCode);
+
     // Additional methods for booking operations
-    List<Booking> getUserBookings(String userEmail);
+    List<BookingSummaryDTO> getUserBookings(String userEmail);
 }
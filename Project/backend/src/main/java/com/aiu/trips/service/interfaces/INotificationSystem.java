@@ -1,7 +1,8 @@
 package com.aiu.trips.service.interfaces;
 
+import com.aiu.trips.dto.NotificationDTO;
 import com.aiu.trips.enums.NotificationType;
-import com.aiu.trips.model.Notification;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.List;
 
 /**
@@ -15,9 +16,15 @@ public interface INotificationSystem {
     void sendBulkNotification(List<Long> userIds, String message);
 
     // Additional methods for retrieving notifications
-    List<Notification> getUserNotifications(String userEmail);
+    List<NotificationDTO> getUserNotifications(String userEmail);
 
-    List<Notification> getUnreadNotifications(String userEmail);
+    List<NotificationDTO> getUnreadNotifications(String userEmail);
 
-    void markAsRead(Long notificationId);
+    void markAsRead(Long notificationId, String userEmail);
+
+    void markAllAsRead(String userEmail);
+
+    long getUnreadCount(String userEmail);
+
+    SseEmitter streamNotifications(String userEmail, String lastEventId);
 }
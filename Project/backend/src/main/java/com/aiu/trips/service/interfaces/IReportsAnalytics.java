@@ -6,6 +6,7 @@ import com.aiu.trips.dto.ReportFilterDTO;
 import com.aiu.trips.dto.SystemStatisticsDTO;
 import com.aiu.trips.enums.ExportFormat;
 import com.aiu.trips.enums.ReportType;
+import org.springframework.core.io.Resource;
 
 /**
  * IReportsAnalytics interface as per Controller.pu diagram
@@ -13,7 +14,7 @@ import com.aiu.trips.enums.ReportType;
 public interface IReportsAnalytics {
     ReportDTO generateReport(ReportType reportType, ReportFilterDTO filters, ExportFormat format);
 
-    byte[] exportReport(Long reportId, ExportFormat format);
+    Resource exportReport(Long reportId, ExportFormat format);
 
     SystemStatisticsDTO getStatistics();
 
@@ -0,0 +1,38 @@
+package com.aiu.trips.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit and miss counts of one in-memory cache
+ * Counters are striped adders, so lookups never contend on recording
+ */
+public class CacheMetrics {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Share of lookups served from the cache since startup; 0 before the first lookup
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : hitCount / (double) total;
+    }
+}
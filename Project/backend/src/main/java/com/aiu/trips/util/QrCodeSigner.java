@@ -0,0 +1,45 @@
+package com.aiu.trips.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * HMAC-SHA256 signer for QR payloads
+ * Signed form is "payload.signature", which is what SignedQrDecorator validates
+ */
+public class QrCodeSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec secretKeySpec;
+
+    public QrCodeSigner(String secretKey) {
+        this.secretKeySpec = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(secretKeySpec);
+            byte[] hash = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return payload + "." + Base64.getEncoder().encodeToString(hash);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to sign QR payload", e);
+        }
+    }
+
+    public boolean verify(String signedPayload) {
+        if (signedPayload == null) {
+            return false;
+        }
+        String[] parts = signedPayload.split("\\.");
+        if (parts.length != 2) {
+            return false;
+        }
+        byte[] expected = sign(parts[0]).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(expected, signedPayload.getBytes(StandardCharsets.UTF_8));
+    }
+}
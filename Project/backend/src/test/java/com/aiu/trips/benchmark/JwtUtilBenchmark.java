@@ -0,0 +1,75 @@
+package com.aiu.trips.benchmark;
+
+import com.aiu.trips.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification: a login, the first request with a new token
+ * (signature check) and later requests served from the claims cache.
+ * Issued-at and expiry have one-second resolution, so new tokens get a subject
+ * that never repeats; otherwise most of them would already be in the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String cachedToken;
+    private long next;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = newJwtUtil();
+        cachedToken = jwtUtil.generateToken("student@aiu.edu", "STUDENT");
+        jwtUtil.extractEmail(cachedToken);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearClaimsCache() {
+        // Every iteration starts with only the cached token verified
+        Map<?, ?> claimsCache = (Map<?, ?>) ReflectionTestUtils.getField(jwtUtil, "claimsCache");
+        claimsCache.clear();
+        jwtUtil.extractEmail(cachedToken);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("student" + (next++ & 1023) + "@aiu.edu", "STUDENT");
+    }
+
+    @Benchmark
+    public boolean generateAndValidateNewToken() {
+        String token = jwtUtil.generateToken("student" + next++ + "@aiu.edu", "STUDENT");
+        return jwtUtil.validateToken(token, jwtUtil.extractEmail(token));
+    }
+
+    @Benchmark
+    public boolean validateCachedToken() {
+        return jwtUtil.validateToken(cachedToken, jwtUtil.extractEmail(cachedToken))
+                && "STUDENT".equals(jwtUtil.extractRole(cachedToken));
+    }
+
+    private static JwtUtil newJwtUtil() {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", "benchmarkSecretKeyForJWTTokenGenerationThatIsLongEnough");
+        ReflectionTestUtils.setField(util, "expiration", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(util, "init");
+        return util;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,57 @@
+package com.aiu.trips.benchmark;
+
+import com.aiu.trips.strategy.BulkGroupDiscountStrategy;
+import com.aiu.trips.strategy.EarlyBirdPricingStrategy;
+import com.aiu.trips.strategy.PricingStrategy;
+import com.aiu.trips.strategy.StandardPricingStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price calculation per booking for each pricing strategy
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PricingStrategyBenchmark {
+
+    @Param({ "STANDARD", "EARLY_BIRD", "BULK_GROUP" })
+    public String strategy;
+
+    @Param({ "1", "8" })
+    public int quantity;
+
+    private PricingStrategy pricing;
+    private BigDecimal basePrice;
+    private LocalDateTime bookingDate;
+
+    @Setup
+    public void setUp() {
+        switch (strategy) {
+            case "EARLY_BIRD" -> pricing = new EarlyBirdPricingStrategy();
+            case "BULK_GROUP" -> pricing = new BulkGroupDiscountStrategy();
+            default -> pricing = new StandardPricingStrategy();
+        }
+        basePrice = new BigDecimal("149.99");
+        bookingDate = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public BigDecimal calculatePrice() {
+        return pricing.calculatePrice(basePrice, bookingDate, quantity);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(PricingStrategyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,47 @@
+package com.aiu.trips.benchmark;
+
+import com.aiu.trips.util.QRCodeGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rendering a ticket QR code, as done for every ticket view
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QRCodeGeneratorBenchmark {
+
+    // Same shape as a signed booking code: payload plus base64 HMAC
+    private static final String SIGNED_BOOKING_CODE =
+            "BK-7F3A9C2E-41D8-4B6E-9F0A-1C2D3E4F5A6B.q3Jt2mX9bV7cL1nP0sR4tU6wY8zA2bC4dE6fG8hJ0kM=";
+
+    private QRCodeGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new QRCodeGenerator();
+    }
+
+    @Benchmark
+    public byte[] png() throws Exception {
+        return generator.generateQRCodePng(SIGNED_BOOKING_CODE);
+    }
+
+    @Benchmark
+    public String base64() throws Exception {
+        return generator.generateQRCodeBase64(SIGNED_BOOKING_CODE);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(QRCodeGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
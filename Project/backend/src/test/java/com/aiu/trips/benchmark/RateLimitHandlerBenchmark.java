@@ -0,0 +1,65 @@
+package com.aiu.trips.benchmark;
+
+import com.aiu.trips.chain.RateLimitHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of RateLimitHandler
+ * Run with: mvn -Pbenchmarks -DskipTests verify -Djmh.include=RateLimitHandlerBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitHandlerBenchmark {
+
+    private RateLimitHandler handler;
+    private MockHttpServletRequest[] clients;
+
+    @Setup
+    public void setUp() {
+        handler = new RateLimitHandler();
+        clients = new MockHttpServletRequest[1024];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = new MockHttpServletRequest("GET", "/api/events");
+            clients[i].setRemoteAddr("10.0." + (i / 256) + "." + (i % 256));
+        }
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean knownClients() {
+        return handle(clients[ThreadLocalRandom.current().nextInt(clients.length)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean addressSpray() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setRemoteAddr("ip-" + ThreadLocalRandom.current().nextLong());
+        return handle(request);
+    }
+
+    private boolean handle(MockHttpServletRequest request) {
+        try {
+            handler.handle(request);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(RateLimitHandlerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
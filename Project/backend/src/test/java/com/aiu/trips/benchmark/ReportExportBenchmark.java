@@ -0,0 +1,112 @@
+package com.aiu.trips.benchmark;
+
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.ExportFormat;
+import com.aiu.trips.enums.PaymentMethod;
+import com.aiu.trips.repository.BookingRepository;
+import com.aiu.trips.service.ReportExportService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rendering cost of report exports in each format: a summary report, and the
+ * booking export streamed from an in-memory repository so only formatting is measured
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportExportBenchmark {
+
+    private static final int BOOKINGS = 5_000;
+    private static final int PAGE_SIZE = 1_000;
+
+    @Param({ "PDF", "CSV", "JSON" })
+    public ExportFormat format;
+
+    private ReportExportService exportService;
+    private Map<String, Object> summary;
+
+    @Setup
+    public void setUp() {
+        List<BookingRepository.ExportRow> rows = new ArrayList<>(BOOKINGS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= BOOKINGS; i++) {
+            rows.add(new Row((long) i, now.minusMinutes(i)));
+        }
+
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findExportPage(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            int from = (int) (long) invocation.<Long>getArgument(0);
+            return rows.subList(Math.min(from, BOOKINGS), Math.min(from + PAGE_SIZE, BOOKINGS));
+        });
+        exportService = new ReportExportService();
+        ReflectionTestUtils.setField(exportService, "bookingRepository", bookingRepository);
+
+        summary = new LinkedHashMap<>();
+        summary.put("totalEvents", 240L);
+        summary.put("activeEvents", 58L);
+        summary.put("totalBookings", 18_342L);
+        summary.put("confirmedBookings", 16_901L);
+        summary.put("cancelledBookings", 1_441L);
+        summary.put("totalIncome", 412_385.5);
+        summary.put("averageTicketPrice", 24.4);
+        summary.put("mostPopularEvent", "Desert Safari Trip");
+        summary.put("highestRevenueLocation", "Main Hall");
+        summary.put("attendanceRate", 0.87);
+    }
+
+    @Benchmark
+    public byte[] summaryReport() {
+        return exportService.exportReport(summary, format, "AIU Trips & Events - Overall Report");
+    }
+
+    @Benchmark
+    public void bookingExport() {
+        exportService.exportBookings(null, format, "AIU Trips & Events - All Bookings", OutputStream.nullOutputStream());
+    }
+
+    private static final class Row implements BookingRepository.ExportRow {
+        private final Long id;
+        private final LocalDateTime bookingDate;
+
+        Row(Long id, LocalDateTime bookingDate) {
+            this.id = id;
+            this.bookingDate = bookingDate;
+        }
+
+        @Override public Long getId() { return id; }
+        @Override public String getBookingCode() { return "BK-" + id; }
+        @Override public BookingStatus getStatus() { return BookingStatus.CONFIRMED; }
+        @Override public LocalDateTime getBookingDate() { return bookingDate; }
+        @Override public Double getAmountPaid() { return 25.0; }
+        @Override public PaymentMethod getPaymentMethod() { return PaymentMethod.values()[0]; }
+        @Override public String getEventTitle() { return "Desert Safari Trip"; }
+        @Override public String getUserEmail() { return "student" + (id % 500) + "@aiu.edu"; }
+        @Override public LocalDateTime getValidatedAt() { return null; }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ReportExportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,67 @@
+package com.aiu.trips.benchmark;
+
+import com.aiu.trips.decorator.ITicketService;
+import com.aiu.trips.decorator.SignedQrDecorator;
+import com.aiu.trips.dto.TicketDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing a ticket's QR payload and verifying it at the gate, without the
+ * database work of the wrapped ticket service
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignedQrDecoratorBenchmark {
+
+    private SignedQrDecorator decorator;
+    private String signed;
+    private String tampered;
+
+    @Setup
+    public void setUp() {
+        decorator = new SignedQrDecorator(new ITicketService() {
+            @Override
+            public TicketDTO generateTicket(Long bookingId) {
+                TicketDTO ticket = new TicketDTO();
+                ticket.setQrCode("BK-" + bookingId + "-7F3A9C2E41D84B6E");
+                return ticket;
+            }
+
+            @Override
+            public boolean validateQRCode(String qrCode) {
+                return true;
+            }
+        });
+        signed = decorator.generateTicket(42L).getQrCode();
+        tampered = signed.replace("BK-42", "BK-43");
+    }
+
+    @Benchmark
+    public TicketDTO sign() {
+        return decorator.generateTicket(42L);
+    }
+
+    @Benchmark
+    public boolean verifyValid() {
+        return decorator.validateQRCode(signed);
+    }
+
+    @Benchmark
+    public boolean verifyTampered() {
+        return decorator.validateQRCode(tampered);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(SignedQrDecoratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
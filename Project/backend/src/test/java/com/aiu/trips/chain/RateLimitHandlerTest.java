@@ -0,0 +1,44 @@
+package com.aiu.trips.chain;
+
+import com.aiu.trips.exception.RateLimitExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitHandlerTest {
+
+    private final RateLimitHandler handler = new RateLimitHandler();
+
+    @Test
+    void testAnonymousLimit_IgnoresClientSuppliedForwardedFor() throws Exception {
+        // The register route allows 5 requests a minute per client
+        for (int i = 0; i < 5; i++) {
+            handler.handle(register("203.0.113.7", "198.51.100." + i));
+        }
+        assertThrows(RateLimitExceededException.class, () -> handler.handle(register("203.0.113.7", "198.51.100.99")));
+        handler.handle(register("203.0.113.8", null));
+    }
+
+    @Test
+    void testRouteLimit_AppliesToEncodedPath() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            handler.handle(register("203.0.113.9", null));
+        }
+        assertThrows(RateLimitExceededException.class,
+                () -> handler.handle(request("/api/auth/%72egister", "203.0.113.9", null)));
+    }
+
+    private static MockHttpServletRequest register(String remoteAddr, String forwardedFor) {
+        return request("/api/auth/register", remoteAddr, forwardedFor);
+    }
+
+    private static MockHttpServletRequest request(String uri, String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
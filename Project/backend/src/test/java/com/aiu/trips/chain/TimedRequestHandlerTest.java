@@ -0,0 +1,56 @@
+package com.aiu.trips.chain;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimedRequestHandlerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testRejectionInLastStage_EarlierStagesRecordedAsPassed() {
+        RequestHandler chain = new TimedRequestHandler(new FirstStage(), meterRegistry);
+        chain.setNext(new TimedRequestHandler(new SecondStage(), meterRegistry))
+                .setNext(new TimedRequestHandler(new RejectingStage(), meterRegistry));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        assertThrows(IllegalStateException.class, () -> chain.handle(request));
+
+        assertEquals(1, count("FirstStage", "passed"));
+        assertEquals(0, count("FirstStage", "rejected"));
+        assertEquals(1, count("SecondStage", "passed"));
+        assertEquals(0, count("SecondStage", "rejected"));
+        assertEquals(0, count("RejectingStage", "passed"));
+        assertEquals(1, count("RejectingStage", "rejected"));
+    }
+
+    private long count(String stage, String outcome) {
+        return meterRegistry.get("trips.request.chain").tag("stage", stage).tag("outcome", outcome).timer().count();
+    }
+
+    private static class FirstStage extends RequestHandler {
+        @Override
+        public void handle(HttpServletRequest request) throws Exception {
+            handleNext(request);
+        }
+    }
+
+    private static class SecondStage extends RequestHandler {
+        @Override
+        public void handle(HttpServletRequest request) throws Exception {
+            handleNext(request);
+        }
+    }
+
+    private static class RejectingStage extends RequestHandler {
+        @Override
+        public void handle(HttpServletRequest request) {
+            throw new IllegalStateException("rejected");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.aiu.trips.chain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void testBurstThenRefill() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 120_000, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire("client", 60, 10));
+        }
+        assertFalse(limiter.tryAcquire("client", 60, 10));
+
+        // 60 per minute refills one permit per second
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(limiter.tryAcquire("client", 60, 10));
+        assertFalse(limiter.tryAcquire("client", 60, 10));
+        assertTrue(limiter.tryAcquire("other", 60, 10));
+    }
+
+    @Test
+    void testAddressSpray_MemoryStaysBounded() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1000, 120_000, clock::get);
+
+        int admitted = 0;
+        for (int i = 0; i < 50_000; i++) {
+            if (limiter.tryAcquire("ip:" + i, 60, 5)) {
+                admitted++;
+            }
+        }
+
+        // One bucket per tracked client plus the shared overflow bucket
+        assertTrue(limiter.size() <= 1001, "tracked " + limiter.size());
+        assertEquals(1000 + 5, admitted);
+    }
+
+    @Test
+    void testIdleBuckets_AreEvicted() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 120_000, clock::get);
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire("ip:" + i, 60, 5);
+        }
+        assertEquals(50, limiter.size());
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        limiter.tryAcquire("ip:new", 60, 5);
+        assertEquals(1, limiter.size());
+    }
+}
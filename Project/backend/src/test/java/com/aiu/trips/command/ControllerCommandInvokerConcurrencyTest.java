@@ -0,0 +1,98 @@
+package com.aiu.trips.command;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 10,000 concurrent requests through one shared invoker must each run their own command
+ */
+public class ControllerCommandInvokerConcurrencyTest {
+
+    private static final int REQUESTS = 10_000;
+    private static final int THREADS = 200;
+
+    private final ControllerCommandInvoker invoker = new ControllerCommandInvoker();
+
+    @Test
+    void testExecute_EachRequestRunsItsOwnCommand() throws Exception {
+        assertEachRequestGetsOwnResult(id -> invoker.execute(new EchoCommand(id), requestData(id)));
+    }
+
+    @Test
+    void testPushAndExecuteNext_QueueIsConfinedToThread() throws Exception {
+        assertEachRequestGetsOwnResult(id -> {
+            invoker.pushToQueue(new EchoCommand(id));
+            return invoker.executeNext(requestData(id));
+        });
+        assertFalse(invoker.hasNext());
+    }
+
+    @Test
+    void testMetrics_RecordEveryExecution() {
+        invoker.execute(new EchoCommand(1), requestData(1));
+        invoker.execute(data -> ResponseEntity.badRequest().body("bad"), new HashMap<>());
+
+        CommandMetrics echo = invoker.getMetrics().get("EchoCommand");
+        assertEquals(1, echo.getCount());
+        assertEquals(0, echo.getFailures());
+        assertTrue(echo.getMaxMillis() >= echo.getAverageMillis());
+        assertEquals(1, invoker.getMetrics().values().stream().mapToLong(CommandMetrics::getFailures).sum());
+    }
+
+    private void assertEachRequestGetsOwnResult(Request request) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<?>>> results = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            int id = i;
+            results.add(pool.submit(() -> {
+                start.await();
+                return request.run(id);
+            }));
+        }
+        start.countDown();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            ResponseEntity<?> response = results.get(i).get(60, TimeUnit.SECONDS);
+            assertEquals("command-" + i + ":data-" + i, response.getBody());
+        }
+        pool.shutdown();
+        assertEquals(REQUESTS, invoker.getMetrics().get("EchoCommand").getCount());
+    }
+
+    private static Map<String, Object> requestData(int id) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", "data-" + id);
+        return data;
+    }
+
+    private interface Request {
+        ResponseEntity<?> run(int id) throws Exception;
+    }
+
+    private static class EchoCommand implements IControllerCommand {
+        private final int id;
+
+        EchoCommand(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public ResponseEntity<?> execute(Map<String, Object> requestData) {
+            Thread.yield();
+            return ResponseEntity.ok("command-" + id + ":" + requestData.get("id"));
+        }
+    }
+}
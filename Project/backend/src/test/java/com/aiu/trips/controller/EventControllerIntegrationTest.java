@@ -8,6 +8,10 @@ import com.aiu.trips.model.Event;
 import com.aiu.trips.model.User;
 import com.aiu.trips.repository.EventRepository;
 import com.aiu.trips.repository.UserRepository;
+import com.aiu.trips.security.JwtUtil;
+import com.aiu.trips.service.EventCatalogService;
+import com.aiu.trips.service.SeatInventoryService;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,11 +23,16 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -51,6 +60,15 @@ public class EventControllerIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
     private User testUser;
 
     @BeforeEach
@@ -96,10 +114,11 @@ public class EventControllerIntegrationTest {
             """, LocalDateTime.now().plusDays(30).toString());
 
         mockMvc.perform(post("/api/events")
+                .with(asAdmin())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(eventJson))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.title").value("New Conference"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("New Conference"))
                 .andExpect(jsonPath("$.capacity").value(100));
     }
 
@@ -118,10 +137,15 @@ public class EventControllerIntegrationTest {
             """;
 
         mockMvc.perform(put("/api/events/" + event.getId())
+                .with(asAdmin())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(updateJson))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.title").value("Updated Title"));
+                .andExpect(jsonPath("$.name").value("Updated Title"))
+                .andExpect(jsonPath("$.price").value(75.0))
+                // Fields left out of the request keep their values
+                .andExpect(jsonPath("$.location").value("Test Location"))
+                .andExpect(jsonPath("$.capacity").value(100));
     }
 
     @Test
@@ -130,13 +154,11 @@ public class EventControllerIntegrationTest {
         Event event = createTestEvent("To Delete", EventType.EVENT);
         event = eventRepository.save(event);
 
-        mockMvc.perform(delete("/api/events/" + event.getId()))
+        mockMvc.perform(delete("/api/events/" + event.getId()).with(asAdmin()))
                 .andExpect(status().isOk());
 
-        // Verify deleted
-        mockMvc.perform(get("/api/events"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+        // Deleting cancels the event, so its bookings and history are kept
+        assertEquals(EventStatus.CANCELLED, eventRepository.findById(event.getId()).orElseThrow().getStatus());
     }
 
     @Test
@@ -149,13 +171,90 @@ public class EventControllerIntegrationTest {
                 .andExpect(jsonPath("$.title").value("Test Event"));
     }
 
+    @Test
+    void testGetEventById_NotFound() throws Exception {
+        mockMvc.perform(get("/api/events/999999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetAllEvents_PagesWithCursorAndFilters() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            eventRepository.save(createTestEvent("Conference " + i, EventType.EVENT));
+        }
+        eventRepository.save(createTestEvent("Mountain Trip", EventType.TRIP));
+
+        String cursor = mockMvc.perform(get("/api/events").param("type", "EVENT").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/events").param("type", "EVENT").param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Conference 2"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void testGetAllEvents_WithoutPagingParametersListsEveryEvent() throws Exception {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i <= EventCatalogService.DEFAULT_PAGE_SIZE; i++) {
+            events.add(createTestEvent("Conference " + i, EventType.EVENT));
+        }
+        eventRepository.saveAll(events);
+
+        mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value((int) eventRepository.count()))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+        mockMvc.perform(get("/api/events/upcoming"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(EventCatalogService.DEFAULT_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testGetAllEvents_RevalidatesWithEtag() throws Exception {
+        Event event = eventRepository.save(createTestEvent("Cached Event", EventType.EVENT));
+
+        String etag = mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/events").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // Taking a seat drops the cached page, so the next response carries a new ETag
+        seatInventoryService.tryReserve(event.getId());
+        // The seat UPDATE bypasses this test transaction's persistence context
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/events").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].availableSeats").value(99));
+    }
+
+    // Event writes are limited to admins by RoutePermissionTable; the handler chain reads the bearer token
+    private RequestPostProcessor asAdmin() {
+        String token = jwtUtil.generateToken(testUser.getEmail(), "ADMIN");
+        return request -> {
+            request.addHeader("Authorization", "Bearer " + token);
+            return request;
+        };
+    }
+
     private Event createTestEvent(String title, EventType type) {
         Event event = new Event();
         event.setTitle(title);
         event.setDescription("Test description");
         event.setType(type);
-        event.setStartDate(LocalDateTime.now().plusDays(30));
-        event.setEndDate(LocalDateTime.now().plusDays(30).plusHours(4));
+        // Whole seconds match what the database stores, so keyset cursors built from
+        // entities still in this test's persistence context line up with stored rows
+        LocalDateTime startDate = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.SECONDS);
+        event.setStartDate(startDate);
+        event.setEndDate(startDate.plusHours(4));
         event.setLocation("Test Location");
         event.setPrice(50.0);
         event.setCapacity(100);
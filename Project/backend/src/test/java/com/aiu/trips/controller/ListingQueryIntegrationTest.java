@@ -0,0 +1,177 @@
+package com.aiu.trips.controller;
+
+import com.aiu.trips.dto.BookingSummaryDTO;
+import com.aiu.trips.dto.FeedbackSummaryDTO;
+import com.aiu.trips.dto.NotificationDTO;
+import com.aiu.trips.security.JwtUtil;
+import com.aiu.trips.service.BookingService;
+import com.aiu.trips.service.FeedbackService;
+import com.aiu.trips.service.NotificationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Booking, feedback and notification listings are read with one query each, whatever
+ * the number of rows, and serialize the nested event and user without the entities
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ListingQueryIntegrationTest {
+
+    private static final int ROWS = 25;
+    private static final String PREFIX = "LISTING-";
+    private static final String STUDENT_EMAIL = PREFIX + "student@aiu.edu";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private Statistics statistics;
+    private Long firstEventId;
+    private String studentToken;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> events = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            users.add(new Object[] { PREFIX + i + "@aiu.edu", "secret-hash", "Listing User " + i, "STUDENT", now });
+            events.add(new Object[] { PREFIX + "Event " + i, "TRIP", now, "Hall " + i, 10.0, 50, 50, "ACTIVE", now });
+        }
+        users.add(new Object[] { STUDENT_EMAIL, "secret-hash", "Listing Student", "STUDENT", now });
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, password, full_name, role, created_at) " +
+                "VALUES (?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO events (title, type, start_date, location, price, capacity, " +
+                "available_seats, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", events);
+
+        Long studentId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, STUDENT_EMAIL);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ? AND email <> ? " +
+                "ORDER BY id", Long.class, PREFIX + "%", STUDENT_EMAIL);
+        List<Long> eventIds = jdbcTemplate.queryForList("SELECT id FROM events WHERE title LIKE ? ORDER BY id",
+                Long.class, PREFIX + "%");
+        firstEventId = eventIds.get(0);
+        studentToken = jwtUtil.generateToken(STUDENT_EMAIL, "STUDENT");
+
+        // The student books every event; every other user books and reviews the first one
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> feedbacks = new ArrayList<>();
+        List<Object[]> notifications = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            bookings.add(new Object[] { studentId, eventIds.get(i), PREFIX + "S" + i, "CONFIRMED", now, 10.0, "CASH" });
+            bookings.add(new Object[] { userIds.get(i), firstEventId, PREFIX + "U" + i, "ATTENDED", now, 10.0, "CASH" });
+            feedbacks.add(new Object[] { userIds.get(i), firstEventId, 1 + i % 5, PREFIX + "comment " + i, now });
+            notifications.add(new Object[] { studentId, PREFIX + "message " + i, "INFO", i % 2 == 0, now });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (user_id, event_id, booking_code, status, booking_date, " +
+                "amount_paid, payment_method) VALUES (?, ?, ?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO feedbacks (user_id, event_id, rating, comment, created_at) " +
+                "VALUES (?, ?, ?, ?, ?)", feedbacks);
+        jdbcTemplate.batchUpdate("INSERT INTO notifications (user_id, message, type, is_read, created_at) " +
+                "VALUES (?, ?, ?, ?, ?)", notifications);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        jdbcTemplate.update("DELETE FROM notifications WHERE message LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM feedbacks WHERE comment LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM bookings WHERE booking_code LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM events WHERE title LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void testListings_OneQueryWhateverTheRowCount() {
+        // The user lookup plus the listing itself
+        List<BookingSummaryDTO> userBookings = countStatements(2, () -> bookingService.getUserBookings(STUDENT_EMAIL));
+        assertEquals(ROWS, userBookings.size());
+        assertEquals(PREFIX + "Event 0", userBookings.get(0).getEvent().getTitle());
+
+        List<BookingSummaryDTO> eventBookings = countStatements(1, () -> bookingService.getEventBookings(firstEventId));
+        assertEquals(ROWS + 1, eventBookings.size());
+
+        List<FeedbackSummaryDTO> eventFeedbacks = countStatements(1,
+                () -> feedbackService.getEventFeedbacks(firstEventId));
+        assertEquals(ROWS, eventFeedbacks.size());
+        assertEquals(PREFIX + "0@aiu.edu", eventFeedbacks.get(0).getUser().getEmail());
+
+        // The user lookup, the broadcast read cursor, the personal rows and the broadcasts
+        List<NotificationDTO> notifications = countStatements(4,
+                () -> notificationService.getUserNotifications(STUDENT_EMAIL));
+        assertEquals(ROWS, notifications.stream().filter(n -> !n.isBroadcast()).count());
+    }
+
+    @Test
+    void testMyBookings_SerializesEventAndUserSummaries() throws Exception {
+        mockMvc.perform(get("/api/bookings/my-bookings").header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ROWS))
+                .andExpect(jsonPath("$[0].bookingCode").value(PREFIX + "S0"))
+                .andExpect(jsonPath("$[0].event.title").value(PREFIX + "Event 0"))
+                .andExpect(jsonPath("$[0].event.location").value("Hall 0"))
+                .andExpect(jsonPath("$[0].event.startDate").exists())
+                .andExpect(jsonPath("$[0].user.email").value(STUDENT_EMAIL))
+                .andExpect(jsonPath("$[0].user.password").doesNotExist())
+                .andExpect(jsonPath("$[0].event.createdBy").doesNotExist());
+
+        mockMvc.perform(get("/api/feedbacks/event/" + firstEventId).header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ROWS))
+                .andExpect(jsonPath("$[0].comment").value(PREFIX + "comment 0"))
+                .andExpect(jsonPath("$[0].event.title").value(PREFIX + "Event 0"))
+                .andExpect(jsonPath("$[0].user.fullName").value("Listing User 0"))
+                .andExpect(jsonPath("$[0].user.password").doesNotExist());
+    }
+
+    // Runs the listing and checks it prepared the expected number of statements and loaded no bookings, events or feedbacks
+    private <T> T countStatements(long expected, Supplier<T> listing) {
+        statistics.clear();
+        T result = listing.get();
+        assertEquals(expected, statistics.getPrepareStatementCount(), "statements prepared");
+        assertTrue(statistics.getEntityLoadCount() <= 1, statistics.getEntityLoadCount() + " entities loaded");
+        return result;
+    }
+}
@@ -0,0 +1,88 @@
+package com.aiu.trips.controller;
+
+import com.aiu.trips.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Requests through the real handler chain show up as route, stage, command and
+ * service timers on the Prometheus endpoint, next to the inventory, backlog and cache gauges
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class MetricsEndpointIntegrationTest {
+
+    private static final String ADMIN_EMAIL = "METRICS-admin@aiu.edu";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (email, password, full_name, role, created_at) VALUES (?, ?, ?, ?, ?)",
+                ADMIN_EMAIL, "x", "Metrics Admin", "ADMIN", Timestamp.valueOf(LocalDateTime.now()));
+        adminToken = jwtUtil.generateToken(ADMIN_EMAIL, "ADMIN");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", ADMIN_EMAIL);
+    }
+
+    @Test
+    void testPrometheus_ExposesTimersAndGauges() throws Exception {
+        mockMvc.perform(get("/api/events")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/events")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/admin/reports/overall").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(scrape.contains("trips_request_chain_seconds_bucket{"));
+        assertTrue(scrape.contains("stage=\"RateLimitHandler\""));
+        assertTrue(scrape.contains("trips_command_seconds_bucket{"));
+        assertTrue(scrape.contains("command=\"GetAllActivitiesCommand\""));
+        assertTrue(scrape.contains("trips_service_seconds_bucket{"));
+        assertTrue(scrape.contains("class=\"com.aiu.trips.service.ReportService\""));
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_bucket{"));
+        assertTrue(scrape.contains("trips_seats_available "));
+        assertTrue(scrape.contains("trips_notifications_fanout_queued "));
+        assertTrue(scrape.contains("trips_email_outbox_pending "));
+        assertTrue(scrape.contains("cache_gets_total{cache=\"event-catalog\",result=\"hit\""));
+        assertTrue(scrape.contains("trips_cache_hit_ratio{cache=\"jwt-claims\""));
+    }
+
+    @Test
+    void testPrometheus_RequiresAuthentication_HealthIsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,273 @@
+package com.aiu.trips.controller;
+
+import com.aiu.trips.config.TestConfig;
+import com.aiu.trips.security.JwtUtil;
+import com.aiu.trips.service.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Notifications reach open streams as they are written, and a reconnect with
+ * Last-Event-ID replays the ones sent while the client was away
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class NotificationStreamIntegrationTest {
+
+    private static final String EMAIL = "STREAM-user@aiu.edu";
+    private static final String PREFIX = "STREAM-";
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+:\\d+)");
+    private static final Pattern TICKET = Pattern.compile("\"ticket\":\"([^\"]+)\"");
+    private static final Pattern NOTIFICATION_EVENT_ID = Pattern.compile("id:(\\d+:\\d+)\\s*event:notification");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (email, password, full_name, role, created_at) VALUES (?, ?, ?, ?, ?)",
+                EMAIL, "x", "Stream User", "STUDENT", Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM notifications WHERE message LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM broadcast_notifications WHERE message LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM notification_counters WHERE user_id IN " +
+                "(SELECT id FROM users WHERE email = ?)", EMAIL);
+        jdbcTemplate.update("DELETE FROM bookings WHERE booking_code LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM events WHERE title LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void testStream_PushesPersonalNotificationsAndBroadcasts() throws Exception {
+        MockHttpServletResponse stream = openStream(null);
+        awaitContent(stream, "event:ready");
+
+        notificationService.notifyUser(EMAIL, PREFIX + "booking confirmed", "INFO");
+        notificationService.notifyAllUsers(PREFIX + "campus closed", "INFO");
+
+        awaitContent(stream, PREFIX + "booking confirmed");
+        String content = awaitContent(stream, PREFIX + "campus closed");
+        assertTrue(content.indexOf(PREFIX + "booking confirmed") < content.indexOf(PREFIX + "campus closed"));
+        assertTrue(stream.getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+    }
+
+    @Test
+    void testStream_CatchesUpOnParticipantFanOut() throws Exception {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO events (title, type, start_date, location, price, capacity, " +
+                "available_seats, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                PREFIX + "trip", "TRIP", now, "Hall", 0.0, 10, 9, "ACTIVE", now);
+        Long eventId = jdbcTemplate.queryForObject("SELECT id FROM events WHERE title = ?", Long.class, PREFIX + "trip");
+        jdbcTemplate.update("INSERT INTO bookings (user_id, event_id, booking_code, status, booking_date, " +
+                "amount_paid, payment_method) SELECT id, ?, ?, ?, ?, ?, ? FROM users WHERE email = ?",
+                eventId, PREFIX + "booking", "CONFIRMED", now, 0.0, "CASH", EMAIL);
+
+        MockHttpServletResponse stream = openStream(null);
+        awaitContent(stream, "event:ready");
+
+        notificationService.notifyEventParticipants(eventId, PREFIX + "bus leaves at 8", "INFO");
+
+        awaitContent(stream, PREFIX + "bus leaves at 8");
+    }
+
+    @Test
+    void testReconnect_ReplaysWhatWasMissed() throws Exception {
+        MockHttpServletResponse first = openStream(null);
+        notificationService.notifyUser(EMAIL, PREFIX + "seen", "INFO");
+        String lastEventId = lastEventId(awaitContent(first, PREFIX + "seen"));
+
+        // Written while the client is disconnected
+        notificationService.notifyUser(EMAIL, PREFIX + "missed personal", "INFO");
+        notificationService.notifyAllUsers(PREFIX + "missed broadcast", "INFO");
+
+        MockHttpServletResponse resumed = openStream(lastEventId);
+        awaitContent(resumed, PREFIX + "missed personal");
+        String content = awaitContent(resumed, PREFIX + "missed broadcast");
+        assertFalse(content.contains(PREFIX + "seen"));
+    }
+
+    @Test
+    void testReconnect_ReplaysNotificationsWrittenAfterAFanOut() throws Exception {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO events (title, type, start_date, location, price, capacity, " +
+                "available_seats, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                PREFIX + "trip", "TRIP", now, "Hall", 0.0, 10, 9, "ACTIVE", now);
+        Long eventId = jdbcTemplate.queryForObject("SELECT id FROM events WHERE title = ?", Long.class, PREFIX + "trip");
+        jdbcTemplate.update("INSERT INTO bookings (user_id, event_id, booking_code, status, booking_date, " +
+                "amount_paid, payment_method) SELECT id, ?, ?, ?, ?, ?, ? FROM users WHERE email = ?",
+                eventId, PREFIX + "booking", "CONFIRMED", now, 0.0, "CASH", EMAIL);
+        // Draws an id through Hibernate before the fan-out takes one from the column default
+        notificationService.notifyUser(EMAIL, PREFIX + "before", "INFO");
+
+        MockHttpServletResponse first = openStream(null);
+        awaitContent(first, "event:ready");
+        notificationService.notifyEventParticipants(eventId, PREFIX + "fan-out", "INFO");
+        String lastEventId = lastEventId(awaitContent(first, PREFIX + "fan-out"));
+
+        // Written after the last event the client saw, so its id has to be greater
+        notificationService.notifyUser(EMAIL, PREFIX + "after", "INFO");
+        assertTrue(notificationId(PREFIX + "after") > notificationId(PREFIX + "fan-out"));
+
+        MockHttpServletResponse resumed = openStream(lastEventId);
+        String content = awaitContent(resumed, PREFIX + "after");
+        assertFalse(content.contains(PREFIX + "fan-out"));
+    }
+
+    @Test
+    void testReconnect_ReplaysSlowerWriterWithLowerId() throws Exception {
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, EMAIL);
+        MockHttpServletResponse first = openStream(null);
+        awaitContent(first, "event:ready");
+
+        // A bulk write stays uncommitted while a single notification for the same user is written
+        CountDownLatch bulkWritten = new CountDownLatch(1);
+        CountDownLatch releaseBulk = new CountDownLatch(1);
+        Thread bulk = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            notificationService.notifyUsers(List.of(userId), PREFIX + "slow bulk", "INFO");
+            bulkWritten.countDown();
+            try {
+                releaseBulk.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        bulk.start();
+        assertTrue(bulkWritten.await(10, TimeUnit.SECONDS));
+        Thread single = new Thread(() -> notificationService.notifyUser(EMAIL, PREFIX + "quick single", "INFO"));
+        single.start();
+        // The single write waits on the user's counter row, so it cannot commit ahead of the bulk one
+        single.join(300);
+        assertTrue(single.isAlive());
+        releaseBulk.countDown();
+        bulk.join(TimeUnit.SECONDS.toMillis(10));
+        single.join(TimeUnit.SECONDS.toMillis(10));
+        assertTrue(notificationId(PREFIX + "slow bulk") < notificationId(PREFIX + "quick single"));
+
+        // Whichever notification reached the stream first, resuming from it replays the other
+        awaitContent(first, PREFIX + "slow bulk");
+        String content = awaitContent(first, PREFIX + "quick single");
+        Matcher firstEvent = NOTIFICATION_EVENT_ID.matcher(content);
+        assertTrue(firstEvent.find());
+        boolean bulkFirst = content.indexOf(PREFIX + "slow bulk") < content.indexOf(PREFIX + "quick single");
+
+        MockHttpServletResponse resumed = openStream(firstEvent.group(1));
+        awaitContent(resumed, bulkFirst ? PREFIX + "quick single" : PREFIX + "slow bulk");
+    }
+
+    @Test
+    void testStream_OpensOnceWithTicketAndRejectsTokens() throws Exception {
+        String ticket = issueTicket();
+        MvcResult withTicket = mockMvc.perform(get("/api/notifications/stream")
+                        .param("ticket", ticket)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andReturn();
+        assertTrue(withTicket.getRequest().isAsyncStarted());
+        awaitContent(withTicket.getResponse(), "event:ready");
+
+        // A ticket opens one stream only
+        assertRejected(get("/api/notifications/stream").param("ticket", ticket));
+        // A JWT is not accepted in place of a ticket, in the query string or the header
+        String token = jwtUtil.generateToken(EMAIL, "STUDENT");
+        assertRejected(get("/api/notifications/stream").param("access_token", token));
+        assertRejected(get("/api/notifications/stream").header("Authorization", "Bearer " + token));
+        assertRejected(get("/api/notifications/stream"));
+        // Tickets are only issued to authenticated requests
+        assertTrue(mockMvc.perform(post("/api/notifications/stream/ticket")).andReturn()
+                .getResponse().getStatus() >= 400);
+    }
+
+    private void assertRejected(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request.accept(MediaType.TEXT_EVENT_STREAM)).andReturn();
+        assertFalse(result.getRequest().isAsyncStarted());
+        assertEquals(401, result.getResponse().getStatus());
+    }
+
+    private String issueTicket() throws Exception {
+        String body = mockMvc.perform(post("/api/notifications/stream/ticket")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken(EMAIL, "STUDENT")))
+                .andReturn().getResponse().getContentAsString();
+        Matcher matcher = TICKET.matcher(body);
+        assertTrue(matcher.find(), body);
+        return matcher.group(1);
+    }
+
+    private MockHttpServletResponse openStream(String lastEventId) throws Exception {
+        var request = get("/api/notifications/stream")
+                .param("ticket", issueTicket())
+                .accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            // A reconnect with a new ticket is a new EventSource, which cannot set Last-Event-ID
+            request.param("lastEventId", lastEventId);
+        }
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertTrue(result.getRequest().isAsyncStarted());
+        return result.getResponse();
+    }
+
+    private String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        assertTrue(content.contains(expected), "Stream never received " + expected + ": " + content);
+        return content;
+    }
+
+    private long notificationId(String message) {
+        return jdbcTemplate.queryForObject("SELECT id FROM notifications WHERE message = ?", Long.class, message);
+    }
+
+    private String lastEventId(String content) {
+        Matcher matcher = EVENT_ID.matcher(content);
+        String last = null;
+        while (matcher.find()) {
+            last = matcher.group(1);
+        }
+        assertNotNull(last);
+        return last;
+    }
+}
@@ -0,0 +1,82 @@
+package com.aiu.trips.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear latency histogram in microseconds.
+ * Values below 64 µs are kept exactly; above that every power of two is split into
+ * 32 buckets, so a reported percentile is within about 3% of the true value.
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Covers values below 2^32 µs (over an hour); anything longer lands in the last bucket
+    private static final int BUCKETS = (32 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(Math.min(indexOf(value), BUCKETS - 1));
+        total.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    long getCount() {
+        return total.sum();
+    }
+
+    double getMeanMicros() {
+        long count = total.sum();
+        return count == 0 ? 0 : sum.sum() / (double) count;
+    }
+
+    long getMaxMicros() {
+        return max.get();
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile, capped at the maximum seen
+     */
+    long getPercentileMicros(double percentile) {
+        long count = total.sum();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int indexOf(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        long mantissa = value >>> shift;
+        return (shift + 1) * SUB_BUCKETS + (int) (mantissa - SUB_BUCKETS);
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = SUB_BUCKETS + index % SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
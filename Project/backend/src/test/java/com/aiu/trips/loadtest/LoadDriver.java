@@ -0,0 +1,448 @@
+package com.aiu.trips.loadtest;
+
+import com.aiu.trips.TripsAndEventsApplication;
+import com.aiu.trips.security.JwtUtil;
+import com.aiu.trips.service.SyntheticDataGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scripted load driver.
+ * Replays a weighted mix of browsing, booking, ticket validation and dashboard
+ * requests from a pool of closed-loop virtual users against a running server, and
+ * reports throughput and latency percentiles per endpoint. The accounts, events and
+ * tickets it uses are read from the database filled by SyntheticDataGenerator.
+ *
+ * Without --base-url it starts the application itself on an in-memory H2 database
+ * with the loadtest profile, which seeds the data set first. With --base-url it
+ * drives that server and reads the database given by --jdbc-url.
+ *
+ * Run through Maven (see the loadtest profile in pom.xml):
+ *   mvn -Ploadtest -DskipTests verify -Dloadtest.args="--threads=64 --duration=120 --seed.bulk.users=50000"
+ *   mvn -Ploadtest -DskipTests verify -Dloadtest.args="--base-url=http://localhost:8080"
+ */
+public final class LoadDriver {
+
+    static final String DEFAULT_MIX = "browse:45,event:20,book:15,validate:10,dashboard:10";
+    private static final String[] DASHBOARD_PATHS = { "/api/admin/reports/overall",
+            "/api/admin/reports/analytics/comprehensive", "/api/admin/reports/analytics/trends?days=30" };
+    private static final String[] EVENT_TYPES = { "EVENT", "TRIP" };
+    // Enough of each kind for a representative spread without loading whole tables
+    private static final int MAX_WORKLOAD_ROWS = 20_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Options options;
+    private final Workload workload;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final String[] mix;
+
+    LoadDriver(Options options, Workload workload, String baseUrl) {
+        this.options = options;
+        this.workload = workload;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.mix = expandMix(options.mix);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        ConfigurableApplicationContext context = null;
+        try {
+            String baseUrl = options.baseUrl;
+            Workload workload;
+            if (baseUrl == null) {
+                context = startEmbedded(args);
+                baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                workload = Workload.load(context.getBean(DataSource.class), context.getBean(JwtUtil.class));
+            } else {
+                workload = Workload.load(new DriverManagerDataSource(options.jdbcUrl, options.jdbcUser,
+                        options.jdbcPassword), jwtUtil(options.jwtSecret));
+            }
+
+            Report report = new LoadDriver(options, workload, baseUrl).run();
+            report.print(System.out);
+            if (options.result != null) {
+                report.write(new File(options.result));
+                System.out.println("Results written to " + options.result);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Warm up, then measure for the configured duration
+     */
+    Report run() throws InterruptedException {
+        System.out.printf("Driving %s with %d virtual users: %ds warm-up, %ds measured, mix %s%n",
+                baseUrl, options.threads, options.warmupSeconds, options.durationSeconds, options.mix);
+        if (options.warmupSeconds > 0) {
+            drive(options.warmupSeconds);
+            stats.clear();
+        }
+        long start = System.nanoTime();
+        drive(options.durationSeconds);
+        return new Report(new LinkedHashMap<>(stats), (System.nanoTime() - start) / 1e9);
+    }
+
+    private void drive(int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> users = new ArrayList<>(options.threads);
+        for (int i = 0; i < options.threads; i++) {
+            Thread user = new Thread(() -> {
+                while (System.nanoTime() - deadline < 0) {
+                    step();
+                    if (options.thinkMillis > 0) {
+                        sleep(options.thinkMillis);
+                    }
+                }
+            }, "virtual-user-" + i);
+            user.setDaemon(true);
+            users.add(user);
+            user.start();
+        }
+        for (Thread user : users) {
+            user.join();
+        }
+    }
+
+    private void step() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (mix[random.nextInt(mix.length)]) {
+            case "browse": {
+                StringBuilder query = new StringBuilder("?size=20");
+                if (random.nextInt(3) == 0) {
+                    query.append("&type=").append(EVENT_TYPES[random.nextInt(EVENT_TYPES.length)]);
+                }
+                if (random.nextInt(3) == 0 && !workload.locations.isEmpty()) {
+                    query.append("&location=").append(URLEncoder.encode(pick(random, workload.locations),
+                            StandardCharsets.UTF_8));
+                }
+                get("GET /api/events", "/api/events" + query, workload.student(random));
+                break;
+            }
+            case "event":
+                get("GET /api/events/{id}", "/api/events/" + pick(random, workload.eventIds),
+                        workload.student(random));
+                break;
+            case "book":
+                post("POST /api/bookings/event/{id}", "/api/bookings/event/" + pick(random, workload.bookableEventIds),
+                        "", workload.student(random));
+                break;
+            case "validate":
+                post("POST /api/bookings/validate", "/api/bookings/validate",
+                        "{\"qrCode\":\"" + pick(random, workload.tickets) + "\"}", workload.admin(random));
+                break;
+            case "dashboard": {
+                String path = DASHBOARD_PATHS[random.nextInt(DASHBOARD_PATHS.length)];
+                get("GET " + (path.indexOf('?') > 0 ? path.substring(0, path.indexOf('?')) : path), path,
+                        workload.admin(random));
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unknown operation in mix");
+        }
+    }
+
+    private void get(String endpoint, String path, String token) {
+        send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET(), token);
+    }
+
+    private void post(String endpoint, String path, String json, String token) {
+        send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)), token);
+    }
+
+    private void send(String endpoint, HttpRequest.Builder request, String token) {
+        request.timeout(REQUEST_TIMEOUT).header("Authorization", "Bearer " + token);
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, k -> new EndpointStats());
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            status = -1;
+        }
+        endpointStats.record(status, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+    }
+
+    private static String[] expandMix(String mix) {
+        List<String> slots = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split(":");
+            for (int i = 0; i < Integer.parseInt(entry[1].trim()); i++) {
+                slots.add(entry[0].trim());
+            }
+        }
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("Empty mix: " + mix);
+        }
+        return slots.toArray(new String[0]);
+    }
+
+    private static <T> T pick(ThreadLocalRandom random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // The application on a random port and an in-memory H2 database, seeded by BulkDataSeeder
+    private static ConfigurableApplicationContext startEmbedded(String[] args) {
+        Map<String, String> overrides = new LinkedHashMap<>();
+        overrides.put("server.port", "0");
+        overrides.put("spring.profiles.active", "loadtest");
+        overrides.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+        overrides.put("spring.datasource.driverClassName", "org.h2.Driver");
+        overrides.put("spring.datasource.username", "sa");
+        overrides.put("spring.datasource.password", "");
+        overrides.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        overrides.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        // System properties outrank application.properties; --name=value arguments still outrank these
+        overrides.forEach((name, value) -> {
+            if (System.getProperty(name) == null) {
+                System.setProperty(name, value);
+            }
+        });
+        // --seed.bulk.* and any other Spring property on the command line size and tune the server
+        return SpringApplication.run(TripsAndEventsApplication.class, args);
+    }
+
+    private static JwtUtil jwtUtil(String secret) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", secret);
+        ReflectionTestUtils.setField(util, "expiration", TimeUnit.HOURS.toMillis(12));
+        ReflectionTestUtils.invokeMethod(util, "init");
+        return util;
+    }
+
+    /**
+     * Command line options, given as --name=value
+     */
+    static final class Options {
+        String baseUrl;
+        int threads = 32;
+        int warmupSeconds = 10;
+        int durationSeconds = 60;
+        long thinkMillis = 0;
+        String mix = DEFAULT_MIX;
+        String jdbcUrl = "jdbc:postgresql://localhost:5432/tripsdb";
+        String jdbcUser = "aiu_user";
+        String jdbcPassword = "aiu_password";
+        String jwtSecret = "yourSecretKeyForJWTTokenGenerationPleaseChangeInProduction";
+        String result = "target/loadtest-result.json";
+
+        static Options parse(String... args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                    continue;
+                }
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "base-url": options.baseUrl = value; break;
+                    case "threads": options.threads = Integer.parseInt(value); break;
+                    case "warmup": options.warmupSeconds = Integer.parseInt(value); break;
+                    case "duration": options.durationSeconds = Integer.parseInt(value); break;
+                    case "think-ms": options.thinkMillis = Long.parseLong(value); break;
+                    case "mix": options.mix = value; break;
+                    case "jdbc-url": options.jdbcUrl = value; break;
+                    case "jdbc-user": options.jdbcUser = value; break;
+                    case "jdbc-password": options.jdbcPassword = value; break;
+                    case "jwt-secret": options.jwtSecret = value; break;
+                    case "result": options.result = value.isEmpty() ? null : value; break;
+                    default:
+                        // Left for Spring when the driver starts the application itself
+                        break;
+                }
+            }
+            return options;
+        }
+    }
+
+    /**
+     * Accounts, events and tickets taken from the synthetic data set
+     */
+    static final class Workload {
+        final List<String> students;
+        final List<String> admins;
+        final List<Long> eventIds;
+        final List<Long> bookableEventIds;
+        final List<String> tickets;
+        final List<String> locations;
+        private final JwtUtil jwtUtil;
+        private final Map<String, String> tokens = new ConcurrentHashMap<>();
+
+        private Workload(JdbcTemplate jdbc, JwtUtil jwtUtil) {
+            String accounts = SyntheticDataGenerator.EMAIL_PREFIX + "%";
+            this.students = jdbc.queryForList("SELECT email FROM users WHERE email LIKE ? AND role = ?",
+                    String.class, accounts, "STUDENT");
+            this.admins = jdbc.queryForList("SELECT email FROM users WHERE email LIKE ? AND role = ?",
+                    String.class, accounts, "ADMIN");
+            this.eventIds = jdbc.queryForList("SELECT id FROM events", Long.class);
+            this.bookableEventIds = jdbc.queryForList("SELECT id FROM events WHERE status = ? AND start_date > ?",
+                    Long.class, "ACTIVE", Timestamp.valueOf(LocalDateTime.now()));
+            this.tickets = jdbc.queryForList("SELECT qr_code_path FROM bookings WHERE status = ? " +
+                    "AND qr_code_path IS NOT NULL", String.class, "CONFIRMED");
+            this.locations = jdbc.queryForList("SELECT DISTINCT location FROM events", String.class);
+            this.jwtUtil = jwtUtil;
+            if (students.isEmpty() || admins.isEmpty() || bookableEventIds.isEmpty() || tickets.isEmpty()) {
+                throw new IllegalStateException("No synthetic data set found; start the server with the loadtest " +
+                        "profile first (" + students.size() + " students, " + admins.size() + " admins, " +
+                        bookableEventIds.size() + " bookable events, " + tickets.size() + " tickets)");
+            }
+        }
+
+        static Workload load(DataSource dataSource, JwtUtil jwtUtil) {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.setMaxRows(MAX_WORKLOAD_ROWS);
+            return new Workload(jdbc, jwtUtil);
+        }
+
+        String student(ThreadLocalRandom random) {
+            return tokenFor(pick(random, students), "STUDENT");
+        }
+
+        String admin(ThreadLocalRandom random) {
+            return tokenFor(pick(random, admins), "ADMIN");
+        }
+
+        // Tokens are minted directly: logging in thousands of users would hit the login rate limit
+        private String tokenFor(String email, String role) {
+            return tokens.computeIfAbsent(email, k -> jwtUtil.generateToken(email, role));
+        }
+    }
+
+    /**
+     * Outcome counts and latencies of one endpoint
+     */
+    static final class EndpointStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder successes = new LongAdder();
+        final LongAdder rejections = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        void record(int status, long micros) {
+            latency.record(micros);
+            if (status >= 200 && status < 400) {
+                successes.increment();
+            } else if (status >= 400 && status < 500) {
+                // Sold out, already booked, rate limited: the server answered as designed
+                rejections.increment();
+            } else {
+                errors.increment();
+            }
+        }
+    }
+
+    /**
+     * Per-endpoint throughput and latency percentiles of the measured phase
+     */
+    static final class Report {
+        private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+        final Map<String, EndpointStats> endpoints;
+        final double seconds;
+
+        Report(Map<String, EndpointStats> endpoints, double seconds) {
+            this.endpoints = endpoints;
+            this.seconds = seconds;
+        }
+
+        long getTotalRequests() {
+            return endpoints.values().stream().mapToLong(stats -> stats.latency.getCount()).sum();
+        }
+
+        void print(PrintStream out) {
+            out.printf("%n%-46s %8s %6s %6s %6s %9s %8s %8s %8s %8s %8s %8s%n", "Endpoint", "Requests", "2xx",
+                    "4xx", "Error", "Req/s", "Mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms");
+            endpoints.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+                EndpointStats stats = entry.getValue();
+                LatencyHistogram latency = stats.latency;
+                out.printf("%-46s %8d %6d %6d %6d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f %8.2f%n", entry.getKey(),
+                        latency.getCount(), stats.successes.sum(), stats.rejections.sum(), stats.errors.sum(),
+                        latency.getCount() / seconds, latency.getMeanMicros() / 1000,
+                        latency.getPercentileMicros(PERCENTILES[0]) / 1000.0,
+                        latency.getPercentileMicros(PERCENTILES[1]) / 1000.0,
+                        latency.getPercentileMicros(PERCENTILES[2]) / 1000.0,
+                        latency.getPercentileMicros(PERCENTILES[3]) / 1000.0,
+                        latency.getMaxMicros() / 1000.0);
+            });
+            out.printf("%-46s %8d %6s %6s %6s %9.1f%n", "Total", getTotalRequests(), "", "", "",
+                    getTotalRequests() / seconds);
+        }
+
+        void write(File file) throws Exception {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("durationSeconds", seconds);
+            json.put("totalRequests", getTotalRequests());
+            json.put("throughput", getTotalRequests() / seconds);
+            Map<String, Object> byEndpoint = new LinkedHashMap<>();
+            endpoints.forEach((endpoint, stats) -> {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("requests", stats.latency.getCount());
+                entry.put("successes", stats.successes.sum());
+                entry.put("rejections", stats.rejections.sum());
+                entry.put("errors", stats.errors.sum());
+                entry.put("throughput", stats.latency.getCount() / seconds);
+                entry.put("meanMillis", stats.latency.getMeanMicros() / 1000);
+                for (double percentile : PERCENTILES) {
+                    entry.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile)
+                            : String.valueOf(percentile)) + "Millis", stats.latency.getPercentileMicros(percentile) / 1000.0);
+                }
+                entry.put("maxMillis", stats.latency.getMaxMicros() / 1000.0);
+                byEndpoint.put(endpoint, entry);
+            });
+            json.put("endpoints", byEndpoint);
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, json);
+        }
+    }
+}
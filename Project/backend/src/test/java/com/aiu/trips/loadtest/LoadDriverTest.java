@@ -0,0 +1,117 @@
+package com.aiu.trips.loadtest;
+
+import com.aiu.trips.security.JwtUtil;
+import com.aiu.trips.service.SyntheticDataGenerator;
+import com.aiu.trips.util.QrCodeSigner;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The generator writes a consistent data set, and the driver replays the full mix
+ * against it through the real request chain without server errors.
+ * The timed drive is tagged "loadtest" and runs only with -Ploadtest.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class LoadDriverTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadDriverTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private QrCodeSigner qrCodeSigner;
+
+    private SyntheticDataGenerator.Summary summary;
+
+    @BeforeAll
+    void seed() {
+        summary = generator.generate(400, 40, 3000, 200, 2000, 250, 7);
+    }
+
+    @Test
+    @Order(1)
+    void testGenerate_WritesConsistentData() {
+        assertTrue(generator.isSeeded());
+        assertEquals(400, summary.getUsers());
+        assertEquals(40, summary.getEvents());
+        assertEquals(summary.getBookings(), count("SELECT COUNT(*) FROM bookings"));
+        assertTrue(summary.getBookings() > 1000);
+        assertEquals(summary.getFeedbacks(), count("SELECT COUNT(*) FROM feedbacks"));
+        assertTrue(summary.getFeedbacks() > 0);
+        assertEquals(2000, count("SELECT COUNT(*) FROM notifications"));
+        // One booking per user and event, and seats that match what was booked
+        assertEquals(0, count("SELECT COUNT(*) FROM (SELECT user_id, event_id FROM bookings " +
+                "GROUP BY user_id, event_id HAVING COUNT(*) > 1) duplicates"));
+        assertEquals(0, count("SELECT COUNT(*) FROM events e WHERE e.available_seats < 0 OR e.available_seats <> " +
+                "e.capacity - (SELECT COUNT(*) FROM bookings b WHERE b.event_id = e.id AND b.status <> 'CANCELLED')"));
+        List<String> payloads = jdbcTemplate.queryForList("SELECT qr_code_path FROM bookings", String.class);
+        assertTrue(payloads.stream().allMatch(qrCodeSigner::verify));
+        // Analytics see every booking
+        assertEquals(summary.getBookings(), count("SELECT SUM(booking_count) FROM booking_rollups " +
+                "WHERE granularity = 'DAILY'"));
+    }
+
+    @Test
+    @Order(2)
+    @Tag("loadtest")
+    void testDrive_ReplaysMixWithoutErrors() throws Exception {
+        // Every operation weighted alike, so a short run exercises all of them
+        LoadDriver.Options options = LoadDriver.Options.parse("--threads=4", "--warmup=0", "--duration=5",
+                "--mix=browse:1,event:1,book:1,validate:1,dashboard:1", "--result=");
+        LoadDriver.Report report = new LoadDriver(options, LoadDriver.Workload.load(dataSource, jwtUtil),
+                "http://localhost:" + port).run();
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        report.print(new PrintStream(table, true, StandardCharsets.UTF_8));
+        logger.info("Load driver report:{}", table.toString(StandardCharsets.UTF_8));
+
+        assertTrue(report.endpoints.keySet().containsAll(List.of("GET /api/events", "GET /api/events/{id}",
+                "POST /api/bookings/event/{id}", "POST /api/bookings/validate")));
+        assertTrue(report.endpoints.keySet().stream().anyMatch(endpoint -> endpoint.contains("/api/admin/reports")));
+        report.endpoints.forEach((endpoint, stats) -> {
+            assertEquals(0, stats.errors.sum(), endpoint + " failed");
+            assertTrue(stats.successes.sum() > 0, endpoint + " never succeeded");
+            assertTrue(stats.latency.getPercentileMicros(50) <= stats.latency.getPercentileMicros(99));
+        });
+        assertTrue(count("SELECT COUNT(*) FROM bookings") > summary.getBookings());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
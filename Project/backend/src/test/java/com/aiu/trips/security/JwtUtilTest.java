@@ -0,0 +1,51 @@
+package com.aiu.trips.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "testSecretKeyForJWTTokenGenerationThatIsLongEnough");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        jwtUtil.init();
+    }
+
+    @Test
+    void testCachedClaims_StillRejectTamperedTokens() {
+        String token = jwtUtil.generateToken("student@aiu.edu", "STUDENT");
+        assertTrue(jwtUtil.validateToken(token, "student@aiu.edu"));
+        assertEquals("STUDENT", jwtUtil.extractRole(token));
+
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+        assertThrows(Exception.class, () -> jwtUtil.extractRole(tampered));
+        assertFalse(jwtUtil.validateToken(token, "admin@aiu.edu"));
+    }
+
+    @Test
+    void testRequestScope_ReusesClaimsForSameToken() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            String first = jwtUtil.generateToken("student@aiu.edu", "STUDENT");
+            String second = jwtUtil.generateToken("admin@aiu.edu", "ADMIN");
+
+            assertEquals("student@aiu.edu", jwtUtil.extractEmail(first));
+            assertEquals("STUDENT", jwtUtil.extractRole(first));
+            // A different token on the same request must not see the first token's claims
+            assertEquals("ADMIN", jwtUtil.extractRole(second));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
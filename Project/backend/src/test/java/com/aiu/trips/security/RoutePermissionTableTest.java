@@ -0,0 +1,57 @@
+package com.aiu.trips.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoutePermissionTableTest {
+
+    private final RoutePermissionTable table = new RoutePermissionTable();
+
+    @Test
+    void testPublicRoutes() {
+        assertTrue(table.lookup("POST", "/api/auth/login").isPublic());
+        assertTrue(table.lookup("GET", "/api/events").isPublic());
+        assertTrue(table.lookup("GET", "/api/events/42").isPublic());
+        assertTrue(table.lookup("GET", "/h2-console").isPublic());
+    }
+
+    @Test
+    void testEventWrites_RequireAdmin() {
+        RoutePermissionTable.Access access = table.lookup("POST", "/api/events");
+        assertFalse(access.isPublic());
+        assertTrue(access.allowsRole("ADMIN"));
+        assertFalse(access.allowsRole("STUDENT"));
+        assertFalse(table.lookup("DELETE", "/api/events/42").allowsRole("STUDENT"));
+    }
+
+    @Test
+    void testActuator_HealthPublicAndRestAdminOnly() {
+        assertTrue(table.lookup("GET", "/actuator/health").isPublic());
+        assertTrue(table.lookup("GET", "/actuator/health/liveness").isPublic());
+        assertFalse(table.lookup("POST", "/actuator/health").isPublic());
+        RoutePermissionTable.Access prometheus = table.lookup("GET", "/actuator/prometheus");
+        assertTrue(prometheus.allowsRole("ADMIN"));
+        assertFalse(prometheus.allowsRole("STUDENT"));
+    }
+
+    @Test
+    void testUnlistedRoutes_RequireAuthentication() {
+        assertSame(RoutePermissionTable.Access.AUTHENTICATED, table.lookup("GET", "/api/bookings/my-bookings"));
+        assertSame(RoutePermissionTable.Access.AUTHENTICATED, table.lookup("GET", "/api/eventsx"));
+        assertSame(RoutePermissionTable.Access.AUTHENTICATED, table.lookup("GET", "/"));
+        assertFalse(table.lookup("GET", "/api/admin/reports/overall").allowsRole("STUDENT"));
+    }
+
+    @Test
+    void testRequestLookup_UsesDecodedPath() {
+        // Spring MVC dispatches "/api/%61dmin/..." to the /api/admin handlers
+        RoutePermissionTable.Access admin = table.lookup(new MockHttpServletRequest("GET", "/api/%61dmin/reports/overall"));
+        assertTrue(admin.allowsRole("ADMIN"));
+        assertFalse(admin.allowsRole("STUDENT"));
+        assertFalse(table.lookup(new MockHttpServletRequest("GET", "/%61ctuator/prometheus")).allowsRole("STUDENT"));
+        assertFalse(table.lookup(new MockHttpServletRequest("DELETE", "/api/%65vents/42")).allowsRole("STUDENT"));
+        assertTrue(table.lookup(new MockHttpServletRequest("GET", "/api/%65vents/42")).isPublic());
+    }
+}
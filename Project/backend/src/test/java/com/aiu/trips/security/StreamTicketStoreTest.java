@@ -0,0 +1,36 @@
+package com.aiu.trips.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamTicketStoreTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final StreamTicketStore store = new StreamTicketStore(clock::get);
+
+    @Test
+    void testTicket_RedeemsOnceForItsUser() {
+        String ticket = store.issue("student@aiu.edu");
+        assertNotEquals(ticket, store.issue("student@aiu.edu"));
+
+        assertEquals("student@aiu.edu", store.redeem(ticket));
+        assertNull(store.redeem(ticket));
+        assertNull(store.redeem("not-a-ticket"));
+        assertNull(store.redeem(null));
+    }
+
+    @Test
+    void testTicket_ExpiresAfterTtl() {
+        String fresh = store.issue("student@aiu.edu");
+        String stale = store.issue("student@aiu.edu");
+
+        clock.addAndGet(StreamTicketStore.TTL_NANOS);
+        assertEquals("student@aiu.edu", store.redeem(fresh));
+        clock.incrementAndGet();
+        assertNull(store.redeem(stale));
+    }
+}
@@ -0,0 +1,92 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.config.TestConfig;
+import com.aiu.trips.enums.BreakdownDimension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class AdvancedAnalyticsServiceTest {
+
+    private static final String PREFIX = "ANALYTICS-";
+    private static final String NORTH = PREFIX + "North Hall";
+    private static final String SOUTH = PREFIX + "South Hall";
+
+    @Autowired
+    private AdvancedAnalyticsService analyticsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (email, password, full_name, role, created_at) VALUES (?, ?, ?, ?, ?)",
+                PREFIX + "user@aiu.edu", "x", "Analytics User", "STUDENT", now);
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class,
+                PREFIX + "user@aiu.edu");
+
+        Long concert = insertEvent(PREFIX + "concert", NORTH, now);
+        insertEvent(PREFIX + "lecture", NORTH, now);
+        insertEvent(PREFIX + "tour", SOUTH, now);
+
+        insertBooking(userId, concert, PREFIX + "1", "CONFIRMED", 40_000.0, now);
+        insertBooking(userId, concert, PREFIX + "2", "ATTENDED", 20_000.0, now);
+        insertBooking(userId, concert, PREFIX + "3", "CANCELLED", 90_000.0, now);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE booking_code LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM events WHERE title LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBreakdownByLocation_GroupsEventsBookingsAndRevenue() {
+        Map<String, Object> breakdown = analyticsService.getBreakdown(BreakdownDimension.LOCATION);
+        Map<String, Long> events = (Map<String, Long>) breakdown.get("events");
+        Map<String, Long> bookings = (Map<String, Long>) breakdown.get("bookings");
+        Map<String, Double> revenue = (Map<String, Double>) breakdown.get("revenue");
+
+        assertEquals(2L, events.get(NORTH));
+        assertEquals(3L, bookings.get(NORTH));
+        // Cancelled bookings count as bookings but not as revenue
+        assertEquals(60_000.0, revenue.get(NORTH), 0.001);
+
+        // A location without bookings is still listed
+        assertEquals(1L, events.get(SOUTH));
+        assertEquals(0L, bookings.get(SOUTH));
+        assertEquals(0.0, revenue.get(SOUTH), 0.001);
+
+        assertEquals(NORTH, breakdown.get("highestRevenue"));
+    }
+
+    private Long insertEvent(String title, String location, Timestamp now) {
+        jdbcTemplate.update("INSERT INTO events (title, type, start_date, location, price, capacity, " +
+                "available_seats, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                title, "EVENT", now, location, 10.0, 100, 100, "ACTIVE", now);
+        return jdbcTemplate.queryForObject("SELECT id FROM events WHERE title = ?", Long.class, title);
+    }
+
+    private void insertBooking(Long userId, Long eventId, String code, String status, double amount, Timestamp now) {
+        jdbcTemplate.update("INSERT INTO bookings (user_id, event_id, booking_code, status, booking_date, " +
+                "amount_paid, payment_method) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                userId, eventId, code, status, now, amount, "CASH");
+    }
+}
@@ -0,0 +1,107 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.config.TestConfig;
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.RollupGranularity;
+import com.aiu.trips.repository.BookingRollupRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rebuilding the rollups pages through the bookings table without loading booking or event entities
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class BookingRollupServiceTest {
+
+    // More than two rebuild pages
+    private static final int BOOKINGS = 2_500;
+    private static final String PREFIX = "ROLLUP-";
+
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
+    @Autowired
+    private BookingRollupRepository rollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (email, password, full_name, role, created_at) VALUES (?, ?, ?, ?, ?)",
+                PREFIX + "user@aiu.edu", "x", "Rollup User", "STUDENT", now);
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class,
+                PREFIX + "user@aiu.edu");
+        List<Object[]> events = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            events.add(new Object[] { PREFIX + i, i % 2 == 0 ? "EVENT" : "TRIP", now, "Hall", 10.0, 500, 500,
+                    "ACTIVE", now });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO events (title, type, start_date, location, price, capacity, " +
+                "available_seats, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", events);
+        List<Long> eventIds = jdbcTemplate.queryForList("SELECT id FROM events WHERE title LIKE ?", Long.class,
+                PREFIX + "%");
+
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            BookingStatus status = BookingStatus.values()[i % BookingStatus.values().length];
+            bookings.add(new Object[] { userId, eventIds.get(i % eventIds.size()), PREFIX + i, status.name(),
+                    Timestamp.valueOf(LocalDateTime.now().minusHours(i % 72)), 5.0 + (i % 7), "CASH" });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (user_id, event_id, booking_code, status, booking_date, " +
+                "amount_paid, payment_method) VALUES (?, ?, ?, ?, ?, ?, ?)", bookings);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        jdbcTemplate.update("DELETE FROM bookings WHERE booking_code LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM events WHERE title LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", PREFIX + "%");
+        bookingRollupService.rebuild();
+    }
+
+    @Test
+    void testRebuild_MatchesBookingsWithoutLoadingEntities() {
+        statistics.clear();
+        bookingRollupService.rebuild();
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        long bookings = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings WHERE booking_date IS NOT NULL", Long.class);
+        double revenue = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(amount_paid), 0) FROM bookings " +
+                "WHERE booking_date IS NOT NULL AND status <> 'CANCELLED'", Double.class);
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            BookingRollupRepository.OverallTotals totals = rollupRepository.sumAll(granularity);
+            assertEquals(bookings, totals.getBookings(), granularity.name());
+            assertEquals(revenue, totals.getRevenue(), 0.001, granularity.name());
+        }
+    }
+}
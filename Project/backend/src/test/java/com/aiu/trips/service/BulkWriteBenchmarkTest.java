@@ -0,0 +1,177 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.config.TestConfig;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.enums.UserRole;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.EventRepository;
+import com.aiu.trips.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the previous row-at-a-time write paths with the batched and set-based paths
+ * Runs with 5,000 rows by default; pass -Dbulkwrite.benchmark.rows=100000 for the full benchmark
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class BulkWriteBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkWriteBenchmarkTest.class);
+
+    private static final int ROWS = Integer.getInteger("bulkwrite.benchmark.rows", 5_000);
+    private static final String PREFIX = "BULK-";
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        jdbcTemplate.update("DELETE FROM notifications WHERE message LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM events WHERE title LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void testNotificationFanOut_BatchedInsertsBeatRowAtATime() {
+        // Inserted without ids, so they take theirs from the column default
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[] { PREFIX + i + "@aiu.edu", "x", "Bulk User", "STUDENT", now });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, password, full_name, role, created_at) " +
+                "VALUES (?, ?, ?, ?, ?)", rows);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ?", Long.class,
+                PREFIX + "%");
+        assertEquals(ROWS, userIds.size());
+
+        // The previous bulk path: one notifyUser call, and so one transaction, per user
+        long rowAtATime = measure("fan-out, row at a time",
+                () -> userIds.forEach(userId -> notificationService.notifyUser(userId, PREFIX + "row", "INFO")));
+        long batched = measure("fan-out, set-based insert",
+                () -> notificationService.notifyUsers(userIds, PREFIX + "batched", "INFO"));
+
+        assertEquals(ROWS, countNotifications(PREFIX + "row"));
+        assertEquals(ROWS, countNotifications(PREFIX + "batched"));
+        assertEquals(2L * ROWS, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT id) FROM notifications WHERE message LIKE ?", Long.class, PREFIX + "%"));
+        assertTrue(batched * 10 < rowAtATime,
+                batched + " statements batched vs " + rowAtATime + " row at a time");
+    }
+
+    @Test
+    void testSeeding_BatchedInsertsBeatRowAtATime() {
+        int pairs = ROWS / 2;
+        // The previous seeding path: one save call, and so one transaction, per row
+        long rowAtATime = measure("seeding, row at a time", () -> {
+            for (int i = 0; i < pairs; i++) {
+                User user = userRepository.save(user("row-" + i));
+                eventRepository.save(event("row-" + i, user));
+            }
+        });
+        long batched = measure("seeding, batched saveAll", () -> transactionTemplate.executeWithoutResult(status -> {
+            List<User> users = new ArrayList<>(pairs);
+            List<Event> events = new ArrayList<>(pairs);
+            for (int i = 0; i < pairs; i++) {
+                User user = user("batched-" + i);
+                users.add(user);
+                events.add(event("batched-" + i, user));
+            }
+            userRepository.saveAll(users);
+            eventRepository.saveAll(events);
+        }));
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ?", Long.class, PREFIX + "%");
+        assertEquals(2 * pairs, ids.size());
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        assertEquals(2L * pairs, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events e JOIN users u " +
+                "ON e.created_by = u.id WHERE e.title LIKE ?", Long.class, PREFIX + "%"));
+        assertTrue(batched * 10 < rowAtATime,
+                batched + " statements batched vs " + rowAtATime + " row at a time");
+    }
+
+    // Runs the work and returns the number of JDBC statements it prepared
+    private long measure(String label, Runnable work) {
+        statistics.clear();
+        long start = System.nanoTime();
+        work.run();
+        long nanos = System.nanoTime() - start;
+        long statements = statistics.getPrepareStatementCount();
+        double rowsPerSecond = ROWS / (nanos / (double) TimeUnit.SECONDS.toNanos(1));
+        logger.info("{}: {} rows, {} statements, {} rows/s", label, ROWS, statements, Math.round(rowsPerSecond));
+        return statements;
+    }
+
+    private long countNotifications(String message) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications WHERE message = ?", Long.class, message);
+    }
+
+    private static User user(String suffix) {
+        User user = new User();
+        user.setEmail(PREFIX + suffix + "@aiu.edu");
+        user.setPassword("x");
+        user.setFullName("Bulk User");
+        user.setRole(UserRole.STUDENT);
+        return user;
+    }
+
+    private static Event event(String suffix, User createdBy) {
+        Event event = new Event();
+        event.setTitle(PREFIX + suffix);
+        event.setType(EventType.EVENT);
+        event.setStartDate(LocalDateTime.now().plusDays(30));
+        event.setLocation("Main Hall");
+        event.setPrice(0.0);
+        event.setCapacity(100);
+        event.setCreatedBy(createdBy);
+        return event;
+    }
+}
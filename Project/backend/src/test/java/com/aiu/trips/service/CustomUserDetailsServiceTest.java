@@ -0,0 +1,58 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.enums.UserRole;
+import com.aiu.trips.model.User;
+import com.aiu.trips.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CustomUserDetailsServiceTest {
+
+    private UserRepository userRepository;
+    private CustomUserDetailsService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        service = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+
+        user = new User();
+        user.setEmail("student@aiu.edu");
+        user.setPassword("hash");
+        user.setRole(UserRole.STUDENT);
+        when(userRepository.findByEmail("student@aiu.edu")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void testLoadUser_HitsDatabaseOnce() {
+        UserDetails first = service.loadUserByUsername("student@aiu.edu");
+        ((CredentialsContainer) first).eraseCredentials();
+
+        UserDetails second = service.loadUserByUsername("student@aiu.edu");
+        assertEquals("hash", second.getPassword());
+        verify(userRepository, times(1)).findByEmail("student@aiu.edu");
+    }
+
+    @Test
+    void testEvict_ReloadsChangedRole() {
+        assertEquals("STUDENT", service.loadUserByUsername("student@aiu.edu")
+                .getAuthorities().iterator().next().getAuthority());
+
+        user.setRole(UserRole.ADMIN);
+        service.evict("student@aiu.edu");
+
+        assertEquals("ADMIN", service.loadUserByUsername("student@aiu.edu")
+                .getAuthorities().iterator().next().getAuthority());
+        verify(userRepository, times(2)).findByEmail("student@aiu.edu");
+    }
+}
@@ -0,0 +1,137 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.config.TestConfig;
+import com.aiu.trips.enums.EmailStatus;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The outbox delivers to a local SMTP sink in batches within the provider rate,
+ * and keeps messages for a later attempt while the mail server is down
+ */
+@SpringBootTest(properties = {
+        // Own database, so the dispatcher of another test context never sees these rows
+        "spring.datasource.url=jdbc:h2:mem:emailoutbox;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "mail.outbox.batch-size=25",
+        "mail.outbox.max-per-minute=3000",
+        "mail.outbox.poll-interval-ms=100",
+        "mail.outbox.retry-base-ms=60000"
+})
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class EmailOutboxServiceTest {
+
+    private static final int USERS = 120;
+    private static final String PREFIX = "OUTBOX-";
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private GreenMail smtp;
+
+    @BeforeEach
+    void setUp() {
+        smtp = new GreenMail(ServerSetupTest.SMTP);
+        smtp.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        smtp.stop();
+        jdbcTemplate.update("DELETE FROM email_outbox");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void testEnqueueForAllUsers_DeliversInThrottledBatches() throws Exception {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[] { PREFIX + i + "@aiu.edu", "x", "Outbox User", "STUDENT", now });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, password, full_name, role, created_at) " +
+                "VALUES (?, ?, ?, ?, ?)", users);
+        long recipients = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        long batchesBefore = emailOutboxService.getMetrics().getBatches();
+
+        int queued = emailOutboxService.enqueueForAllUsers("Event Update", PREFIX + "venue changed");
+
+        assertEquals(recipients, queued);
+        await(() -> smtp.getReceivedMessages().length == recipients);
+        await(() -> countByStatus(EmailStatus.SENT) == recipients);
+        // At 50 a second with a burst of one batch, 120+ messages cannot go out in a single round
+        assertTrue(emailOutboxService.getMetrics().getThrottled() > 0);
+        assertTrue(emailOutboxService.getMetrics().getBatches() - batchesBefore >= recipients / 25);
+        assertTrue(emailOutboxService.getMetrics().getSentPerSecond() > 0);
+        assertEquals(PREFIX + "venue changed", smtp.getReceivedMessages()[0].getContent().toString().trim());
+    }
+
+    @Test
+    void testMailServerDown_RetriesWithBackoff() throws Exception {
+        smtp.stop();
+
+        emailOutboxService.enqueue(PREFIX + "retry@aiu.edu", "Reminder", PREFIX + "starts tomorrow");
+
+        await(() -> attempts(PREFIX + "retry@aiu.edu") == 1);
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT status, next_attempt_at, last_error FROM email_outbox WHERE recipient = ?",
+                PREFIX + "retry@aiu.edu");
+        assertEquals(EmailStatus.PENDING.name(), row.get("status"));
+        assertTrue(((Timestamp) row.get("next_attempt_at")).toLocalDateTime()
+                .isAfter(LocalDateTime.now().plusSeconds(30)));
+        assertNotNull(row.get("last_error"));
+
+        // Back up and due again: the next round delivers it
+        smtp = new GreenMail(ServerSetupTest.SMTP);
+        smtp.start();
+        jdbcTemplate.update("UPDATE email_outbox SET next_attempt_at = ? WHERE recipient = ?",
+                Timestamp.valueOf(LocalDateTime.now()), PREFIX + "retry@aiu.edu");
+        emailOutboxService.dispatchDue();
+
+        await(() -> smtp.getReceivedMessages().length == 1);
+        assertEquals(EmailStatus.SENT.name(), jdbcTemplate.queryForObject(
+                "SELECT status FROM email_outbox WHERE recipient = ?", String.class, PREFIX + "retry@aiu.edu"));
+        assertEquals(2, attempts(PREFIX + "retry@aiu.edu"));
+    }
+
+    private long countByStatus(EmailStatus status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM email_outbox WHERE status = ?", Long.class,
+                status.name());
+    }
+
+    private int attempts(String recipient) {
+        return jdbcTemplate.queryForObject("SELECT attempts FROM email_outbox WHERE recipient = ?", Integer.class,
+                recipient);
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(20);
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,63 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.dto.ActivityPageDTO;
+import com.aiu.trips.dto.EventFilterDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventCatalogCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final AtomicInteger loads = new AtomicInteger();
+    private final EventCatalogCache cache = new EventCatalogCache(new ObjectMapper(), clock::get);
+
+    @Test
+    void testFullCache_DropsExpiredPagesForNewKeys() {
+        fill("stale-");
+        clock.addAndGet(EventCatalogCache.TTL_NANOS + 1);
+
+        loads.set(0);
+        get("fresh");
+        get("fresh");
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testFullCacheOfLivePages_DropsOldestPage() {
+        fill("live-");
+
+        loads.set(0);
+        get("newcomer");
+        get("newcomer");
+        assertEquals(1, loads.get());
+
+        // The page loaded first made room; later ones are still served from the cache
+        get("live-1");
+        assertEquals(1, loads.get());
+        get("live-0");
+        assertEquals(2, loads.get());
+    }
+
+    private void fill(String cursorPrefix) {
+        for (int i = 0; i < EventCatalogCache.MAX_CACHED_PAGES; i++) {
+            get(cursorPrefix + i);
+            clock.incrementAndGet();
+        }
+    }
+
+    private void get(String cursor) {
+        EventFilterDTO filters = new EventFilterDTO();
+        filters.setCursor(cursor);
+        cache.get(filters, () -> {
+            loads.incrementAndGet();
+            return new ActivityPageDTO(List.of(), null);
+        });
+    }
+}
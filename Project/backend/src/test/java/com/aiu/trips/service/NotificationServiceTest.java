@@ -0,0 +1,226 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.config.TestConfig;
+import com.aiu.trips.dto.NotificationDTO;
+import com.aiu.trips.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Participant notices are fanned out per recipient off the calling thread,
+ * broadcasts are stored once and read through per-user cursors, and unread
+ * counters follow both
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class NotificationServiceTest {
+
+    private static final int USERS = 100;
+    private static final String PREFIX = "FANOUT-";
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationFanoutService notificationFanoutService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[] { PREFIX + i + "@aiu.edu", "x", "Fan-out User", "STUDENT", now });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, password, full_name, role, created_at) " +
+                "VALUES (?, ?, ?, ?, ?)", users);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM notifications WHERE message LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM broadcast_notifications WHERE message LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM notification_read_cursors WHERE user_id IN " +
+                "(SELECT id FROM users WHERE email LIKE ?)", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM notification_counters WHERE user_id IN " +
+                "(SELECT id FROM users WHERE email LIKE ?)", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM bookings WHERE booking_code LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM events WHERE title LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void testNotifyAllUsers_StoresOneBroadcastReadPerUser() {
+        long notificationsBefore = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications", Long.class);
+
+        notificationService.notifyAllUsers(PREFIX + "broadcast", "INFO");
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM broadcast_notifications WHERE message = ?",
+                Long.class, PREFIX + "broadcast"));
+        assertEquals(notificationsBefore, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications", Long.class));
+
+        NotificationDTO broadcast = findBroadcast(notificationService.getUnreadNotifications(PREFIX + "0@aiu.edu"));
+        assertNotNull(broadcast);
+        assertTrue(broadcast.getId() < 0);
+        assertNotNull(findBroadcast(notificationService.getUnreadNotifications(PREFIX + "1@aiu.edu")));
+
+        // Reading it moves only this user's cursor
+        notificationService.markAsRead(broadcast.getId(), PREFIX + "0@aiu.edu");
+        assertNull(findBroadcast(notificationService.getUnreadNotifications(PREFIX + "0@aiu.edu")));
+        assertTrue(findBroadcast(notificationService.getUserNotifications(PREFIX + "0@aiu.edu")).getIsRead());
+        assertNotNull(findBroadcast(notificationService.getUnreadNotifications(PREFIX + "1@aiu.edu")));
+
+        // Users who register later do not inherit older broadcasts
+        jdbcTemplate.update("INSERT INTO users (email, password, full_name, role, created_at) VALUES (?, ?, ?, ?, ?)",
+                PREFIX + "late@aiu.edu", "x", "Late User", "STUDENT",
+                Timestamp.valueOf(LocalDateTime.now().plusSeconds(1)));
+        assertNull(findBroadcast(notificationService.getUserNotifications(PREFIX + "late@aiu.edu")));
+    }
+
+    @Test
+    void testNotifyEventParticipants_NotifiesEachBookedUserOnce() throws Exception {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO events (title, type, start_date, location, price, capacity, " +
+                "available_seats, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                PREFIX + "event", "EVENT", now, "Hall", 10.0, 100, 97, "ACTIVE", now);
+        Long eventId = jdbcTemplate.queryForObject("SELECT id FROM events WHERE title = ?", Long.class,
+                PREFIX + "event");
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ? ORDER BY id",
+                Long.class, PREFIX + "%");
+        // The first user holds two bookings but should hear about the event once
+        long[] bookers = { userIds.get(0), userIds.get(0), userIds.get(1), userIds.get(2) };
+        for (int i = 0; i < bookers.length; i++) {
+            jdbcTemplate.update("INSERT INTO bookings (user_id, event_id, booking_code, status, booking_date, " +
+                    "amount_paid, payment_method) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    bookers[i], eventId, PREFIX + i, "CONFIRMED", now, 10.0, "CASH");
+        }
+        long jobsBefore = notificationFanoutService.getMetrics().getJobs();
+
+        notificationService.notifyEventParticipants(eventId, PREFIX + "updated", "INFO");
+
+        awaitJobs(jobsBefore + 1);
+        assertEquals(3, countNotifications(PREFIX + "updated"));
+    }
+
+    @Test
+    void testUnreadCount_FollowsNotificationsAndReads() throws Exception {
+        String email = PREFIX + "0@aiu.edu";
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+        assertEquals(0, notificationService.getUnreadCount(email));
+
+        notificationService.notifyUser(userId, PREFIX + "personal", "INFO");
+        notificationService.notifyUser(userId, PREFIX + "personal", "INFO");
+        notificationService.notifyAllUsers(PREFIX + "broadcast", "INFO");
+        assertEquals(3, notificationService.getUnreadCount(email));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO events (title, type, start_date, location, price, capacity, " +
+                "available_seats, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                PREFIX + "event", "EVENT", now, "Hall", 10.0, 100, 99, "ACTIVE", now);
+        Long eventId = jdbcTemplate.queryForObject("SELECT id FROM events WHERE title = ?", Long.class,
+                PREFIX + "event");
+        jdbcTemplate.update("INSERT INTO bookings (user_id, event_id, booking_code, status, booking_date, " +
+                "amount_paid, payment_method) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                userId, eventId, PREFIX + "0", "CONFIRMED", now, 10.0, "CASH");
+        long jobsBefore = notificationFanoutService.getMetrics().getJobs();
+        notificationService.notifyEventParticipants(eventId, PREFIX + "updated", "INFO");
+        awaitJobs(jobsBefore + 1);
+        assertEquals(4, notificationService.getUnreadCount(email));
+
+        NotificationDTO personal = notificationService.getUnreadNotifications(email).stream()
+                .filter(n -> !n.isBroadcast())
+                .findFirst()
+                .orElseThrow();
+        notificationService.markAsRead(personal.getId(), email);
+        notificationService.markAsRead(personal.getId(), email);
+        assertEquals(3, notificationService.getUnreadCount(email));
+
+        notificationService.markAllAsRead(email);
+        assertEquals(0, notificationService.getUnreadCount(email));
+        assertTrue(notificationService.getUnreadNotifications(email).isEmpty());
+    }
+
+    @Test
+    void testFirstReads_CreateCounterAndCursorOnceUnderConcurrency() throws Exception {
+        String email = PREFIX + "0@aiu.edu";
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+        // Rows written before the user had a counter are picked up when it is created
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < 2; i++) {
+            jdbcTemplate.update("INSERT INTO notifications (user_id, message, type, is_read, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?)", userId, PREFIX + "seeded", "INFO", false, now);
+        }
+        notificationService.notifyAllUsers(PREFIX + "broadcast", "INFO");
+        Long broadcastId = findBroadcast(notificationService.getUnreadNotifications(email)).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> reads = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                boolean count = i % 2 == 0;
+                reads.add(pool.submit(() -> {
+                    start.await();
+                    if (count) {
+                        notificationService.getUnreadCount(email);
+                    } else {
+                        notificationService.markAsRead(broadcastId, email);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> read : reads) {
+                read.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(2, notificationService.getUnreadCount(email));
+
+        // Broadcast ids past the latest one would move the cursor over broadcasts not sent yet
+        assertThrows(ResourceNotFoundException.class, () -> notificationService.markAsRead(broadcastId - 1, email));
+        assertThrows(ResourceNotFoundException.class, () -> notificationService.markAsRead(Long.MIN_VALUE, email));
+    }
+
+    private NotificationDTO findBroadcast(List<NotificationDTO> notifications) {
+        return notifications.stream()
+                .filter(n -> n.isBroadcast() && (PREFIX + "broadcast").equals(n.getMessage()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void awaitJobs(long jobs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (notificationFanoutService.getMetrics().getJobs() < jobs && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(notificationFanoutService.getMetrics().getJobs() >= jobs, "fan-out did not finish");
+    }
+
+    private long countNotifications(String message) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications WHERE message = ?", Long.class,
+                message);
+    }
+}
@@ -0,0 +1,98 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.config.TestConfig;
+import com.aiu.trips.enums.ExportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Per-booking exports page through every booking, across several export pages
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class ReportExportServiceTest {
+
+    // More than two export pages
+    private static final int BOOKINGS = 2_500;
+    private static final int EVENTS = 10;
+    private static final String PREFIX = "EXPORT-";
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long firstEventId;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (email, password, full_name, role, created_at) VALUES (?, ?, ?, ?, ?)",
+                PREFIX + "user@aiu.edu", "x", "Export User", "STUDENT", now);
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class,
+                PREFIX + "user@aiu.edu");
+        List<Object[]> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(new Object[] { PREFIX + i, "EVENT", now, "Hall", 10.0, 500, 500, "ACTIVE", now });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO events (title, type, start_date, location, price, capacity, " +
+                "available_seats, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", events);
+        List<Long> eventIds = jdbcTemplate.queryForList("SELECT id FROM events WHERE title LIKE ? ORDER BY id",
+                Long.class, PREFIX + "%");
+        firstEventId = eventIds.get(0);
+
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(new Object[] { userId, eventIds.get(i % EVENTS), PREFIX + i, "CONFIRMED", now, 10.0,
+                    "CASH" });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (user_id, event_id, booking_code, status, booking_date, " +
+                "amount_paid, payment_method) VALUES (?, ?, ?, ?, ?, ?, ?)", bookings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE booking_code LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM events WHERE title LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void testBookingExport_StreamsEveryRow() throws Exception {
+        long allBookings = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Long.class);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        reportExportService.exportBookings(null, ExportFormat.CSV, "Bookings", csv);
+        // Two comment lines and the header precede the rows
+        assertEquals(allBookings + 3, csv.toString(StandardCharsets.UTF_8).lines().count());
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        reportExportService.exportBookings(firstEventId, ExportFormat.JSON, "Bookings", json);
+        JsonNode root = new ObjectMapper().readTree(json.toByteArray());
+        assertEquals(BOOKINGS / EVENTS, root.get("bookings").size());
+        assertEquals(PREFIX + "0", root.get("bookings").get(0).get("event").asText());
+
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        reportExportService.exportBookings(firstEventId, ExportFormat.PDF, "Bookings", pdf);
+        assertTrue(pdf.toString(StandardCharsets.ISO_8859_1).startsWith("%PDF"));
+    }
+}
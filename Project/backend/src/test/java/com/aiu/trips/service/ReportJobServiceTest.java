@@ -0,0 +1,113 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.config.TestConfig;
+import com.aiu.trips.dto.ReportDTO;
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.ExportFormat;
+import com.aiu.trips.enums.ReportStatus;
+import com.aiu.trips.enums.ReportType;
+import com.aiu.trips.repository.ReportRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class ReportJobServiceTest {
+
+    private static final int BOOKINGS = 40;
+    private static final String PREFIX = "JOB-";
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (email, password, full_name, role, created_at) VALUES (?, ?, ?, ?, ?)",
+                PREFIX + "user@aiu.edu", "x", "Job User", "STUDENT", now);
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class,
+                PREFIX + "user@aiu.edu");
+        jdbcTemplate.update("INSERT INTO events (title, type, start_date, location, price, capacity, " +
+                "available_seats, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                PREFIX + "event", "EVENT", now, "Hall", 10.0, 100, 60, "ACTIVE", now);
+        Long eventId = jdbcTemplate.queryForObject("SELECT id FROM events WHERE title = ?", Long.class,
+                PREFIX + "event");
+
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            BookingStatus status = BookingStatus.values()[i % BookingStatus.values().length];
+            bookings.add(new Object[] { userId, eventId, PREFIX + i, status.name(), now, 10.0, "CASH" });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (user_id, event_id, booking_code, status, " +
+                "booking_date, amount_paid, payment_method) VALUES (?, ?, ?, ?, ?, ?, ?)", bookings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM reports WHERE generated_by IN (SELECT id FROM users WHERE email LIKE ?)",
+                PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM bookings WHERE booking_code LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM events WHERE title LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void testReportJob_RendersInBackgroundAndStoresFile() throws Exception {
+        ReportDTO job = reportJobService.submit(ReportType.PARTICIPANTS, ExportFormat.CSV, null,
+                PREFIX + "user@aiu.edu");
+        assertEquals(ReportStatus.PENDING, job.getStatus());
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(60);
+        while (!isFinished(reportJobService.getJob(job.getReportId()).getStatus())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        ReportDTO finished = reportJobService.getJob(job.getReportId());
+        assertEquals(ReportStatus.COMPLETED, finished.getStatus(), finished.getErrorMessage());
+        Path file = reportJobService.getResultFile(job.getReportId());
+        try (var lines = Files.lines(file)) {
+            assertEquals(BOOKINGS + 3, lines.count());
+        }
+        // Downloads through the reports interface stream the stored file
+        Resource download = reportService.exportReport(job.getReportId(), ExportFormat.CSV);
+        assertInstanceOf(FileSystemResource.class, download);
+        assertArrayEquals(Files.readAllBytes(file), download.getContentAsByteArray());
+        Files.deleteIfExists(file);
+
+        // A finished job cannot be claimed again, so a second copy in the queue does nothing
+        assertEquals(0, reportRepository.claimPending(job.getReportId()));
+    }
+
+    private boolean isFinished(ReportStatus status) {
+        return status == ReportStatus.COMPLETED || status == ReportStatus.FAILED;
+    }
+}
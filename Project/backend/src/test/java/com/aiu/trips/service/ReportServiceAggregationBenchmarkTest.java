@@ -0,0 +1,153 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.config.TestConfig;
+import com.aiu.trips.dto.SystemStatisticsDTO;
+import com.aiu.trips.enums.BookingStatus;
+import com.aiu.trips.enums.EventStatus;
+import com.aiu.trips.model.Booking;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.repository.BookingRepository;
+import com.aiu.trips.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the database-side report aggregates with the old load-everything path
+ * Runs with 20,000 bookings by default; pass -Dreport.benchmark.bookings=1000000 for the full benchmark
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class ReportServiceAggregationBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportServiceAggregationBenchmarkTest.class);
+
+    private static final int BOOKINGS = Integer.getInteger("report.benchmark.bookings", 20_000);
+    private static final int EVENTS = 200;
+    private static final int BATCH_SIZE = 5_000;
+    private static final String PREFIX = "BENCH-";
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final double[] expectedAmount = new double[BookingStatus.values().length];
+    private final long[] expectedCount = new long[BookingStatus.values().length];
+
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (email, password, full_name, role, created_at) VALUES (?, ?, ?, ?, ?)",
+                PREFIX + "user@aiu.edu", "x", "Benchmark User", "STUDENT", now);
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class,
+                PREFIX + "user@aiu.edu");
+
+        List<Object[]> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(new Object[] { PREFIX + i, "EVENT", now, "Hall", 10.0, 100, 100 - (i % 100),
+                    EventStatus.values()[i % EventStatus.values().length].name(), now });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO events (title, type, start_date, location, price, capacity, " +
+                "available_seats, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", events);
+        List<Long> eventIds = jdbcTemplate.queryForList("SELECT id FROM events WHERE title LIKE ?", Long.class,
+                PREFIX + "%");
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BOOKINGS; i++) {
+            BookingStatus status = BookingStatus.values()[i % BookingStatus.values().length];
+            double amount = 5.0 + (i % 7);
+            expectedCount[status.ordinal()]++;
+            expectedAmount[status.ordinal()] += amount;
+            batch.add(new Object[] { userId, eventIds.get(i % eventIds.size()), PREFIX + i, status.name(), now,
+                    amount, "CASH" });
+            if (batch.size() == BATCH_SIZE || i == BOOKINGS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO bookings (user_id, event_id, booking_code, status, " +
+                        "booking_date, amount_paid, payment_method) VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE booking_code LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM events WHERE title LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void testAggregatedReports_MatchEntityTotals() {
+        double expectedRevenue = expectedAmount[BookingStatus.CONFIRMED.ordinal()]
+                + expectedAmount[BookingStatus.ATTENDED.ordinal()];
+
+        long aggregateStart = System.nanoTime();
+        Map<String, Object> overall = reportService.getOverallReport();
+        SystemStatisticsDTO stats = reportService.getStatistics();
+        long aggregateMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - aggregateStart);
+
+        long entityStart = System.nanoTime();
+        double[] entityTotals = loadEverythingTotals();
+        long entityMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - entityStart);
+
+        logger.info("Reports over {} bookings: aggregate queries {} ms, entity scan {} ms",
+                BOOKINGS, aggregateMs, entityMs);
+
+        assertEquals((long) BOOKINGS, ((Number) overall.get("totalBookings")).longValue());
+        assertEquals(expectedRevenue, (Double) overall.get("totalIncome"), 0.001);
+        assertEquals(entityTotals[0], (Double) overall.get("totalIncome"), 0.001);
+        assertEquals((long) entityTotals[1], ((Number) overall.get("totalBookings")).longValue());
+        assertEquals((long) entityTotals[2], ((Number) overall.get("totalEvents")).longValue());
+        assertEquals((long) entityTotals[3], stats.getActiveEvents());
+        assertEquals(expectedRevenue, stats.getTotalRevenue(), 0.001);
+    }
+
+    @Test
+    void testEventReport_CountsOneEvent() {
+        Long eventId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM events WHERE title LIKE ?", Long.class,
+                PREFIX + "%");
+        List<Booking> bookings = bookingRepository.findByEvent_Id(eventId);
+
+        Map<String, Object> report = reportService.getEventReport(eventId);
+
+        assertEquals((long) bookings.size(), ((Number) report.get("totalParticipants")).longValue());
+        assertEquals(bookings.stream().filter(b -> BookingStatus.CANCELLED.equals(b.getStatus())).count(),
+                report.get("cancelledBookings"));
+    }
+
+    // The pre-aggregation path: revenue, bookings, events and active events from full entity loads
+    private double[] loadEverythingTotals() {
+        List<Event> events = eventRepository.findAll();
+        List<Booking> bookings = bookingRepository.findAll();
+        double revenue = bookings.stream()
+                .filter(b -> !BookingStatus.CANCELLED.equals(b.getStatus()))
+                .mapToDouble(Booking::getAmountPaid)
+                .sum();
+        long active = events.stream().filter(e -> EventStatus.ACTIVE.equals(e.getStatus())).count();
+        return new double[] { revenue, bookings.size(), events.size(), active };
+    }
+}
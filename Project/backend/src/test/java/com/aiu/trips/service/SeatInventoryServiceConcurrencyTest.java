@@ -0,0 +1,105 @@
+package com.aiu.trips.service;
+
+import com.aiu.trips.config.TestConfig;
+import com.aiu.trips.enums.EventType;
+import com.aiu.trips.model.Event;
+import com.aiu.trips.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Flash-sale benchmark for SeatInventoryService
+ * 5,000 concurrent reservations against a 500-seat event must confirm exactly 500
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+public class SeatInventoryServiceConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatInventoryServiceConcurrencyTest.class);
+
+    private static final int CAPACITY = 500;
+    private static final int BUYERS = 5000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        event = new Event();
+        event.setTitle("Flash Sale Concert");
+        event.setType(EventType.EVENT);
+        event.setStartDate(LocalDateTime.now().plusDays(7));
+        event.setLocation("Main Hall");
+        event.setPrice(10.0);
+        event.setCapacity(CAPACITY);
+        event = eventRepository.save(event);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteById(event.getId());
+    }
+
+    @Test
+    void testConcurrentReservations_NeverOversell() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < BUYERS; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return seatInventoryService.tryReserve(event.getId());
+            }));
+        }
+
+        long wallStart = System.nanoTime();
+        start.countDown();
+
+        int confirmed = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(60, TimeUnit.SECONDS)) {
+                confirmed++;
+            }
+        }
+        long wallMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - wallStart);
+        pool.shutdown();
+        logger.info("Seat inventory: {} reservations in {} ms", BUYERS, wallMs);
+
+        assertEquals(CAPACITY, confirmed);
+        assertEquals(0, eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void testRelease_NeverExceedsCapacity() {
+        assertFalse(seatInventoryService.release(event.getId()));
+        assertTrue(seatInventoryService.tryReserve(event.getId()));
+        assertTrue(seatInventoryService.release(event.getId()));
+        assertEquals(CAPACITY, eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats());
+    }
+}
@@ -17,9 +17,29 @@ export default function Navbar() {
   const profileRef = useRef<HTMLDivElement>(null);
 
   useEffect(() => {
-    if (isAuthenticated) {
-      fetchUnreadCount();
+    if (!isAuthenticated) {
+      return;
     }
+    fetchUnreadCount();
+
+    // New notifications are pushed over the stream instead of being polled for.
+    // On (re)connect the server announces how many missed notifications it replays;
+    // the refreshed count already includes those
+    let replayed = 0;
+    const stream = notificationApi.stream({
+      ready: (event) => {
+        replayed = Number(event.data) || 0;
+        fetchUnreadCount();
+      },
+      notification: () => {
+        if (replayed > 0) {
+          replayed--;
+        } else {
+          setUnreadCount((count) => count + 1);
+        }
+      },
+    });
+    return () => stream.close();
   }, [isAuthenticated]);
 
   // Close dropdowns when clicking outside
@@ -36,8 +56,8 @@ export default function Navbar() {
 
   const fetchUnreadCount = async () => {
     try {
-      const response = await notificationApi.getUnread();
-      setUnreadCount(response.data.length);
+      const response = await notificationApi.getUnreadCount();
+      setUnreadCount(response.data.count);
     } catch (error) {
       console.error('Error fetching notifications:', error);
     }
@@ -1,6 +1,6 @@
 'use client';
 
-import { useState } from 'react';
+import { useEffect, useState } from 'react';
 import QRCode from 'react-qr-code';
 import { bookingApi } from '@/lib/api';
 
@@ -12,6 +12,20 @@ interface BookingCardProps {
 export default function BookingCard({ booking, onUpdate }: BookingCardProps) {
   const [showQR, setShowQR] = useState(false);
   const [cancelling, setCancelling] = useState(false);
+  const [qrImageUrl, setQrImageUrl] = useState<string | null>(null);
+
+  useEffect(() => {
+    if (!showQR || qrImageUrl) return;
+    bookingApi.getQrImage(booking.bookingCode)
+      .then((response) => setQrImageUrl(URL.createObjectURL(response.data)))
+      .catch((error) => console.error('Error fetching QR code:', error));
+  }, [showQR, qrImageUrl, booking.bookingCode]);
+
+  useEffect(() => {
+    return () => {
+      if (qrImageUrl) URL.revokeObjectURL(qrImageUrl);
+    };
+  }, [qrImageUrl]);
 
   const handleCancel = async () => {
     if (!confirm('Are you sure you want to cancel this booking?')) return;
@@ -88,11 +102,11 @@ export default function BookingCard({ booking, onUpdate }: BookingCardProps) {
         )}
       </div>
 
-      {showQR && booking.qrCodePath && (
+      {showQR && qrImageUrl && (
         <div className="mt-4 flex justify-center">
           <div className="p-4 bg-white border-2 border-gray-200 rounded-lg">
             <img 
-              src={`data:image/png;base64,${booking.qrCodePath}`} 
+              src={qrImageUrl} 
               alt="QR Code" 
               className="w-48 h-48"
             />
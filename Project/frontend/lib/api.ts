@@ -43,13 +43,75 @@ export const bookingApi = {
   getMyBookings: () => api.get('/bookings/my-bookings'),
   getEventBookings: (eventId: number) => api.get(`/bookings/event/${eventId}`),
   getByCode: (code: string) => api.get(`/bookings/code/${code}`),
+  getQrImage: (code: string) => api.get(`/bookings/${code}/qr`, { responseType: 'blob' }),
 };
 
 // Notification endpoints
 export const notificationApi = {
   getAll: () => api.get('/notifications'),
   getUnread: () => api.get('/notifications/unread'),
+  getUnreadCount: () => api.get('/notifications/unread/count'),
   markAsRead: (id: number) => api.put(`/notifications/${id}/read`),
+  markAllAsRead: () => api.put('/notifications/read-all'),
+  stream: (listeners: NotificationStreamListeners) => openNotificationStream(listeners),
+};
+
+export type NotificationStreamListeners = Record<string, (event: MessageEvent) => void>;
+
+// EventSource cannot send the Authorization header, so the stream is opened with a
+// single-use ticket instead of the token. A ticket is spent on connect, so after an
+// error the stream is reopened with a new ticket and the last event id it saw, and
+// the server replays what was missed.
+const openNotificationStream = (listeners: NotificationStreamListeners) => {
+  let source: EventSource | null = null;
+  let lastEventId = '';
+  let closed = false;
+  let retry: ReturnType<typeof setTimeout> | undefined;
+
+  const scheduleReconnect = () => {
+    if (!closed) {
+      retry = setTimeout(connect, 3000);
+    }
+  };
+
+  const connect = async () => {
+    try {
+      const { data } = await api.post('/notifications/stream/ticket');
+      if (closed) {
+        return;
+      }
+      const params = new URLSearchParams({ ticket: data.ticket });
+      if (lastEventId) {
+        params.set('lastEventId', lastEventId);
+      }
+      const opened = new EventSource(`${API_BASE_URL}/notifications/stream?${params}`);
+      source = opened;
+      Object.entries(listeners).forEach(([name, listener]) => {
+        opened.addEventListener(name, (event) => {
+          const message = event as MessageEvent;
+          if (message.lastEventId) {
+            lastEventId = message.lastEventId;
+          }
+          listener(message);
+        });
+      });
+      opened.onerror = () => {
+        opened.close();
+        scheduleReconnect();
+      };
+    } catch {
+      scheduleReconnect();
+    }
+  };
+
+  connect();
+  return {
+    close: () => {
+      closed = true;
+      clearTimeout(retry);
+      source?.close();
+    },
+  };
 };
 
 // Report endpoints